@@ -11,12 +11,29 @@
 
 const BatchedBridge = require('BatchedBridge');
 
+// Keep in sync with BatchingEventEmitter.java
+const RECEIVE_EVENT = 0;
+const RECEIVE_TOUCHES = 1;
+
 const RCTEventEmitter = {
   register(eventEmitter: any) {
     BatchedBridge.registerCallableModule(
       'RCTEventEmitter',
       eventEmitter
     );
+    // Lets native deliver all the events of a frame in a single bridge call
+    BatchedBridge.registerCallableModule('RCTBatchedEventEmitter', {
+      receiveEvents(events: Array<Array<any>>) {
+        for (let i = 0; i < events.length; i++) {
+          const event = events[i];
+          if (event[0] === RECEIVE_TOUCHES) {
+            eventEmitter.receiveTouches(event[1], event[2], event[3]);
+          } else if (event[0] === RECEIVE_EVENT) {
+            eventEmitter.receiveEvent(event[1], event[2], event[3]);
+          }
+        }
+      },
+    });
   }
 };
 
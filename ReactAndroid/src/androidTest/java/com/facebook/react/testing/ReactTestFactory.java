@@ -11,12 +11,14 @@ import android.content.Context;
 
 import com.facebook.react.ReactInstanceManagerBuilder;
 import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.JSBundleLoader;
 import com.facebook.react.bridge.NativeModule;
 
 public interface ReactTestFactory {
   public static interface ReactInstanceEasyBuilder {
     ReactInstanceEasyBuilder setContext(Context context);
     ReactInstanceEasyBuilder addNativeModule(NativeModule module);
+    ReactInstanceEasyBuilder setJSBundleLoader(JSBundleLoader bundleLoader);
     CatalystInstance build();
   }
 
@@ -43,12 +43,20 @@ public class ReactTestHelper {
 
       private @Nullable Context mContext;
 
+      private @Nullable JSBundleLoader mBundleLoader;
+
       @Override
       public ReactInstanceEasyBuilder setContext(Context context) {
         mContext = context;
         return this;
       }
 
+      @Override
+      public ReactInstanceEasyBuilder setJSBundleLoader(JSBundleLoader bundleLoader) {
+        mBundleLoader = bundleLoader;
+        return this;
+      }
+
       @Override
       public ReactInstanceEasyBuilder addNativeModule(NativeModule nativeModule) {
         if (mNativeModuleRegistryBuilder == null) {
@@ -80,10 +88,12 @@ public class ReactTestHelper {
           .setReactQueueConfigurationSpec(ReactQueueConfigurationSpec.createDefault())
           .setJSExecutor(executor)
           .setRegistry(mNativeModuleRegistryBuilder.build())
-          .setJSBundleLoader(JSBundleLoader.createAssetLoader(
-              mContext,
-              "assets://AndroidTestBundle.js",
-              false/* Asynchronous */))
+          .setJSBundleLoader(mBundleLoader != null
+              ? mBundleLoader
+              : JSBundleLoader.createAssetLoader(
+                  mContext,
+                  "assets://AndroidTestBundle.js",
+                  false/* Asynchronous */))
           .setNativeModuleCallExceptionHandler(
             new NativeModuleCallExceptionHandler() {
                 @Override
@@ -133,6 +143,13 @@ public class ReactTestHelper {
           return this;
         }
 
+        @Override
+        public ReactTestFactory.ReactInstanceEasyBuilder setJSBundleLoader(
+            JSBundleLoader bundleLoader) {
+          builder.setJSBundleLoader(bundleLoader);
+          return this;
+        }
+
         @Override
         public CatalystInstance build() {
           final CatalystInstance instance = builder.build();
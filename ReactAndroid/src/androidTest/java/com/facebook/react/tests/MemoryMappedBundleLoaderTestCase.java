@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2014-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.tests;
+
+import java.util.Arrays;
+import java.util.List;
+
+import android.content.res.AssetFileDescriptor;
+
+import com.facebook.react.testing.FakeWebSocketModule;
+import com.facebook.react.testing.ReactIntegrationTestCase;
+import com.facebook.react.testing.ReactTestHelper;
+import com.facebook.react.testing.StringRecordingModule;
+import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.JSBundleLoader;
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.modules.appstate.AppStateModule;
+import com.facebook.react.modules.deviceinfo.DeviceInfoModule;
+import com.facebook.react.uimanager.UIImplementationProvider;
+import com.facebook.react.uimanager.UIManagerModule;
+import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.views.view.ReactViewManager;
+
+/**
+ * Test that a bundle loaded through {@link JSBundleLoader#createMemoryMappedAssetLoader} runs.
+ * Whether it was mapped or read depends on the native build, stock builds always read it.
+ */
+public class MemoryMappedBundleLoaderTestCase extends ReactIntegrationTestCase {
+
+  private static final String BUNDLE_ASSET = "AndroidTestBundle.js";
+
+  private interface TestJSLocaleModule extends JavaScriptModule {
+    void toUpper(String string);
+  }
+
+  private StringRecordingModule mStringRecordingModule;
+
+  private CatalystInstance mInstance;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+
+    List<ViewManager> viewManagers = Arrays.<ViewManager>asList(
+        new ReactViewManager());
+    final UIManagerModule mUIManager = new UIManagerModule(
+        getContext(),
+        viewManagers,
+        new UIImplementationProvider(),
+        0);
+    UiThreadUtil.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            mUIManager.onHostResume();
+          }
+        });
+    waitForIdleSync();
+
+    mStringRecordingModule = new StringRecordingModule();
+    mInstance = ReactTestHelper.catalystInstanceBuilder(this)
+        .setJSBundleLoader(JSBundleLoader.createMemoryMappedAssetLoader(
+            getContext(),
+            "assets://" + BUNDLE_ASSET,
+            false/* Asynchronous */))
+        .addNativeModule(mStringRecordingModule)
+        .addNativeModule(mUIManager)
+        .addNativeModule(new DeviceInfoModule(getContext()))
+        .addNativeModule(new AppStateModule(getContext()))
+        .addNativeModule(new FakeWebSocketModule())
+        .build();
+  }
+
+  public void testBundleAssetIsUncompressed() throws Exception {
+    // openFd only succeeds for uncompressed assets, which are the ones that can be memory-mapped
+    AssetFileDescriptor descriptor = getContext().getAssets().openFd(BUNDLE_ASSET);
+    assertTrue(descriptor.getLength() > 0);
+    descriptor.close();
+  }
+
+  public void testBundleRuns() {
+    TestJSLocaleModule testModule = mInstance.getJSModule(TestJSLocaleModule.class);
+
+    testModule.toUpper("mapped");
+    waitForBridgeAndUIIdle();
+
+    assertEquals(Arrays.asList("MAPPED"), mStringRecordingModule.getCalls());
+  }
+}
@@ -28,6 +28,7 @@ public class NativeModuleRegistryBuilder {
   private final ReactApplicationContext mReactApplicationContext;
   private final ReactInstanceManager mReactInstanceManager;
   private final boolean mLazyNativeModulesEnabled;
+  private final boolean mDeferEagerModulesCreation;
 
   private final Map<Class<? extends NativeModule>, ModuleHolder> mModules = new HashMap<>();
   private final Map<String, Class<? extends NativeModule>> namesToType = new HashMap<>();
@@ -36,9 +37,23 @@ public class NativeModuleRegistryBuilder {
     ReactApplicationContext reactApplicationContext,
     ReactInstanceManager reactInstanceManager,
     boolean lazyNativeModulesEnabled) {
+    this(reactApplicationContext, reactInstanceManager, lazyNativeModulesEnabled, false);
+  }
+
+  /**
+   * @param deferEagerModulesCreation whether modules that need eager init should be left for
+   *   {@link NativeModuleRegistry#createEagerModules} to create, instead of being created while
+   *   their package is processed
+   */
+  public NativeModuleRegistryBuilder(
+    ReactApplicationContext reactApplicationContext,
+    ReactInstanceManager reactInstanceManager,
+    boolean lazyNativeModulesEnabled,
+    boolean deferEagerModulesCreation) {
     mReactApplicationContext = reactApplicationContext;
     mReactInstanceManager = reactInstanceManager;
     mLazyNativeModulesEnabled = lazyNativeModulesEnabled;
+    mDeferEagerModulesCreation = deferEagerModulesCreation;
   }
 
   public void processPackage(ReactPackage reactPackage) {
@@ -73,7 +88,10 @@ public class NativeModuleRegistryBuilder {
           }
           moduleHolder = new ModuleHolder(module);
         } else {
-          moduleHolder = new ModuleHolder(reactModuleInfo, moduleSpec.getProvider());
+          moduleHolder = new ModuleHolder(
+            reactModuleInfo,
+            moduleSpec.getProvider(),
+            !mDeferEagerModulesCreation);
         }
 
         String name = moduleHolder.getName();
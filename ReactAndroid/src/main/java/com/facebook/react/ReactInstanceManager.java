@@ -30,6 +30,7 @@ import static com.facebook.systrace.Systrace.TRACE_TAG_REACT_JAVA_BRIDGE;
 import static com.facebook.systrace.Systrace.TRACE_TAG_REACT_JS_VM_CALLS;
 
 import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
@@ -50,6 +51,7 @@ import com.facebook.react.bridge.JSIModulesProvider;
 import com.facebook.react.bridge.JavaJSExecutor;
 import com.facebook.react.bridge.JavaScriptExecutor;
 import com.facebook.react.bridge.JavaScriptExecutorFactory;
+import com.facebook.react.bridge.MemoryPressureListener;
 import com.facebook.react.bridge.NativeModuleCallExceptionHandler;
 import com.facebook.react.bridge.NativeModuleRegistry;
 import com.facebook.react.bridge.NotThreadSafeBridgeIdleDebugListener;
@@ -90,6 +92,9 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import javax.annotation.Nullable;
 
 /**
@@ -113,6 +118,14 @@ import javax.annotation.Nullable;
 public class ReactInstanceManager {
 
   private static final String TAG = ReactInstanceManager.class.getSimpleName();
+
+  private static final int MAX_NATIVE_MODULES_INIT_THREADS = 4;
+  private static final ThreadFactory NATIVE_MODULES_INIT_THREAD_FACTORY = new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable runnable) {
+      return new Thread(runnable, "native_modules_init");
+    }
+  };
   /**
    * Listener interface for react instance events.
    */
@@ -154,9 +167,29 @@ public class ReactInstanceManager {
   // while true any spawned create thread should wait for proper clean up before initializing
   private volatile Boolean mHasStartedDestroying = false;
   private final MemoryPressureRouter mMemoryPressureRouter;
+  // Identifies whether the current context was preloaded and no root view has used it yet
+  private volatile boolean mIsWarmStandby = false;
+  private final MemoryPressureListener mWarmStandbyMemoryPressureListener =
+    new MemoryPressureListener() {
+      @Override
+      public void handleMemoryPressure(int level) {
+        // Hiding the UI is no reason to drop a context that is about to be used
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW &&
+            level != ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+          UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+              tearDownWarmStandbyContext();
+            }
+          });
+        }
+      }
+    };
   private final @Nullable NativeModuleCallExceptionHandler mNativeModuleCallExceptionHandler;
   private final boolean mLazyNativeModulesEnabled;
+  private final boolean mParallelNativeModulesInitEnabled;
   private final @Nullable JSIModulesProvider mJSIModulesProvider;
+  private final ReactQueueConfigurationSpec mReactQueueConfigurationSpec;
   private List<ViewManager> mViewManagers;
 
   private class ReactContextInitParams {
@@ -201,11 +234,13 @@ public class ReactInstanceManager {
     NativeModuleCallExceptionHandler nativeModuleCallExceptionHandler,
     @Nullable RedBoxHandler redBoxHandler,
     boolean lazyNativeModulesEnabled,
+    boolean parallelNativeModulesInitEnabled,
     boolean lazyViewManagersEnabled,
     @Nullable DevBundleDownloadListener devBundleDownloadListener,
     int minNumShakes,
     int minTimeLeftInFrameForNonBatchedOperationMs,
-    @Nullable JSIModulesProvider jsiModulesProvider) {
+    @Nullable JSIModulesProvider jsiModulesProvider,
+    ReactQueueConfigurationSpec reactQueueConfigurationSpec) {
     Log.d(ReactConstants.TAG, "ReactInstanceManager.ctor()");
     initializeSoLoaderIfNecessary(applicationContext);
 
@@ -233,6 +268,7 @@ public class ReactInstanceManager {
     mMemoryPressureRouter = new MemoryPressureRouter(applicationContext);
     mNativeModuleCallExceptionHandler = nativeModuleCallExceptionHandler;
     mLazyNativeModulesEnabled = lazyNativeModulesEnabled;
+    mParallelNativeModulesInitEnabled = parallelNativeModulesInitEnabled;
     synchronized (mPackages) {
       PrinterHolder.getPrinter()
           .logMessage(ReactDebugOverlayTags.RN_CORE, "RNCore: Use Split Packages");
@@ -254,6 +290,7 @@ public class ReactInstanceManager {
       mPackages.addAll(packages);
     }
     mJSIModulesProvider = jsiModulesProvider;
+    mReactQueueConfigurationSpec = reactQueueConfigurationSpec;
 
     // Instantiate ReactChoreographer in UI thread.
     ReactChoreographer.initialize();
@@ -327,6 +364,55 @@ public class ReactInstanceManager {
     recreateReactContextInBackgroundInner();
   }
 
+  /**
+   * Same as {@link #createReactContextInBackground()}, for applications that create the react
+   * context ahead of time in case a {@link ReactRootView} gets shown later. The context is kept
+   * in warm standby until the first root view is attached to it, which then starts its application
+   * right away. If the system runs low on memory before that, the unused context is torn down, and
+   * the next root view to start its application creates a new one.
+   *
+   * Called from UI thread.
+   */
+  @ThreadConfined(UI)
+  public void preloadReactContextInBackground() {
+    createReactContextInBackground();
+    mIsWarmStandby = true;
+    mMemoryPressureRouter.addMemoryPressureListener(mWarmStandbyMemoryPressureListener);
+  }
+
+  /**
+   * @return whether a context preloaded with {@link #preloadReactContextInBackground()} is waiting
+   *   for its first root view
+   */
+  public boolean isWarmStandby() {
+    return mIsWarmStandby;
+  }
+
+  @ThreadConfined(UI)
+  private void tearDownWarmStandbyContext() {
+    // The context may still be in use, or still being created in which case the next memory
+    // pressure event will try again
+    if (!mIsWarmStandby || !mAttachedRootViews.isEmpty() || mCreateReactContextThread != null) {
+      return;
+    }
+    Log.d(ReactConstants.TAG, "ReactInstanceManager.tearDownWarmStandbyContext()");
+    leaveWarmStandby();
+    ReactContext reactContext;
+    synchronized (mReactContextLock) {
+      reactContext = mCurrentReactContext;
+      mCurrentReactContext = null;
+    }
+    if (reactContext != null) {
+      tearDownReactContext(reactContext);
+    }
+    mHasStartedCreatingInitialContext = false;
+  }
+
+  private void leaveWarmStandby() {
+    mIsWarmStandby = false;
+    mMemoryPressureRouter.removeMemoryPressureListener(mWarmStandbyMemoryPressureListener);
+  }
+
   /**
    * Recreate the react application and context. This should be called if configuration has changed
    * or the developer has requested the app to be reloaded. It should only be called after an
@@ -618,6 +704,7 @@ public class ReactInstanceManager {
       mCreateReactContextThread = null;
     }
 
+    leaveWarmStandby();
     mMemoryPressureRouter.destroy(mApplicationContext);
 
     synchronized (mReactContextLock) {
@@ -708,6 +795,9 @@ public class ReactInstanceManager {
   public void attachRootView(ReactRootView rootView) {
     UiThreadUtil.assertOnUiThread();
     mAttachedRootViews.add(rootView);
+    if (mIsWarmStandby) {
+      leaveWarmStandby();
+    }
 
     // Reset view content as it's going to be populated by the application content from JS.
     rootView.removeAllViews();
@@ -1075,12 +1165,22 @@ public class ReactInstanceManager {
     }
 
     NativeModuleRegistry nativeModuleRegistry = processPackages(reactContext, mPackages, false);
+    if (mParallelNativeModulesInitEnabled) {
+      // Eager modules are created while the catalyst instance is built and the JS bundle loads.
+      // Their holders make any other thread that needs one of them wait for it to be created.
+      ExecutorService nativeModulesInitExecutor = Executors.newFixedThreadPool(
+        getNativeModulesInitThreadCount(),
+        NATIVE_MODULES_INIT_THREAD_FACTORY);
+      nativeModuleRegistry.createEagerModules(nativeModulesInitExecutor, mDevSupportManager);
+      // Lets the pool threads die once all the eager modules have been created
+      nativeModulesInitExecutor.shutdown();
+    }
 
     NativeModuleCallExceptionHandler exceptionHandler = mNativeModuleCallExceptionHandler != null
       ? mNativeModuleCallExceptionHandler
       : mDevSupportManager;
     CatalystInstanceImpl.Builder catalystInstanceBuilder = new CatalystInstanceImpl.Builder()
-      .setReactQueueConfigurationSpec(ReactQueueConfigurationSpec.createDefault())
+      .setReactQueueConfigurationSpec(mReactQueueConfigurationSpec)
       .setJSExecutor(jsExecutor)
       .setRegistry(nativeModuleRegistry)
       .setJSBundleLoader(jsBundleLoader)
@@ -1114,6 +1214,12 @@ public class ReactInstanceManager {
     return reactContext;
   }
 
+  private static int getNativeModulesInitThreadCount() {
+    // Leave a core to the JS thread loading the bundle
+    int threadCount = Runtime.getRuntime().availableProcessors() - 1;
+    return Math.max(1, Math.min(MAX_NATIVE_MODULES_INIT_THREADS, threadCount));
+  }
+
   private NativeModuleRegistry processPackages(
     ReactApplicationContext reactContext,
     List<ReactPackage> packages,
@@ -1121,7 +1227,8 @@ public class ReactInstanceManager {
     NativeModuleRegistryBuilder nativeModuleRegistryBuilder = new NativeModuleRegistryBuilder(
       reactContext,
       this,
-      mLazyNativeModulesEnabled);
+      mLazyNativeModulesEnabled,
+      mParallelNativeModulesInitEnabled);
 
     ReactMarker.logMarker(PROCESS_PACKAGES_START);
 
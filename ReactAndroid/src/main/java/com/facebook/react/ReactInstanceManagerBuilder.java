@@ -13,6 +13,7 @@ import com.facebook.react.bridge.JSCJavaScriptExecutorFactory;
 import com.facebook.react.bridge.JavaScriptExecutorFactory;
 import com.facebook.react.bridge.NativeModuleCallExceptionHandler;
 import com.facebook.react.bridge.NotThreadSafeBridgeIdleDebugListener;
+import com.facebook.react.bridge.queue.ReactQueueConfigurationSpec;
 import com.facebook.react.common.LifecycleState;
 import com.facebook.react.devsupport.RedBoxHandler;
 import com.facebook.react.devsupport.interfaces.DevBundleDownloadListener;
@@ -43,12 +44,14 @@ public class ReactInstanceManagerBuilder {
   private @Nullable DefaultHardwareBackBtnHandler mDefaultHardwareBackBtnHandler;
   private @Nullable RedBoxHandler mRedBoxHandler;
   private boolean mLazyNativeModulesEnabled;
+  private boolean mParallelNativeModulesInitEnabled;
   private boolean mLazyViewManagersEnabled;
   private @Nullable DevBundleDownloadListener mDevBundleDownloadListener;
   private @Nullable JavaScriptExecutorFactory mJavaScriptExecutorFactory;
   private int mMinNumShakes = 1;
   private int mMinTimeLeftInFrameForNonBatchedOperationMs = -1;
   private @Nullable JSIModulesProvider mJSIModulesProvider;
+  private @Nullable ReactQueueConfigurationSpec mReactQueueConfigurationSpec;
 
   /* package protected */ ReactInstanceManagerBuilder() {
   }
@@ -203,6 +206,17 @@ public class ReactInstanceManagerBuilder {
     return this;
   }
 
+  /**
+   * When lazy native modules are enabled, creates the modules annotated with needsEagerInit on a
+   * small thread pool while the JS bundle loads, instead of one after the other while processing
+   * packages.
+   */
+  public ReactInstanceManagerBuilder setParallelNativeModulesInitEnabled(
+    boolean parallelNativeModulesInitEnabled) {
+    mParallelNativeModulesInitEnabled = parallelNativeModulesInitEnabled;
+    return this;
+  }
+
   public ReactInstanceManagerBuilder setLazyViewManagersEnabled(boolean lazyViewManagersEnabled) {
     mLazyViewManagersEnabled = lazyViewManagersEnabled;
     return this;
@@ -225,6 +239,17 @@ public class ReactInstanceManagerBuilder {
     return this;
   }
 
+  /**
+   * Sets the threads the JS and native modules queues run on, including the native modules lanes
+   * that modules can be pinned to with ReactModule#queueLane. Uses
+   * {@link ReactQueueConfigurationSpec#createDefault} if null is passed.
+   */
+  public ReactInstanceManagerBuilder setReactQueueConfigurationSpec(
+    @Nullable ReactQueueConfigurationSpec reactQueueConfigurationSpec) {
+    mReactQueueConfigurationSpec = reactQueueConfigurationSpec;
+    return this;
+  }
+
   /**
    * Instantiates a new {@link ReactInstanceManager}.
    * Before calling {@code build}, the following must be called:
@@ -277,10 +302,14 @@ public class ReactInstanceManagerBuilder {
         mNativeModuleCallExceptionHandler,
         mRedBoxHandler,
         mLazyNativeModulesEnabled,
+        mParallelNativeModulesInitEnabled,
         mLazyViewManagersEnabled,
         mDevBundleDownloadListener,
         mMinNumShakes,
         mMinTimeLeftInFrameForNonBatchedOperationMs,
-      mJSIModulesProvider);
+        mJSIModulesProvider,
+        mReactQueueConfigurationSpec == null
+            ? ReactQueueConfigurationSpec.createDefault()
+            : mReactQueueConfigurationSpec);
   }
 }
@@ -19,6 +19,7 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.react.module.annotations.ReactModule;
@@ -96,7 +97,7 @@ public class NativeAnimatedModule extends ReactContextBaseJavaModule implements
       @Override
       protected void doFrameGuarded(final long frameTimeNanos) {
         NativeAnimatedNodesManager nodesManager = getNodesManager();
-        if (nodesManager.hasActiveAnimations()) {
+        if (nodesManager.hasPendingFrame() || nodesManager.hasActiveAnimations()) {
           nodesManager.runUpdates(frameTimeNanos);
         }
 
@@ -137,6 +138,7 @@ public class NativeAnimatedModule extends ReactContextBaseJavaModule implements
       @Override
       public void execute(NativeViewHierarchyManager nativeViewHierarchyManager) {
         NativeAnimatedNodesManager nodesManager = getNodesManager();
+        nodesManager.waitForPendingFrame();
         for (UIThreadOperation operation : preOperations) {
           operation.execute(nodesManager);
         }
@@ -146,6 +148,7 @@ public class NativeAnimatedModule extends ReactContextBaseJavaModule implements
       @Override
       public void execute(NativeViewHierarchyManager nativeViewHierarchyManager) {
         NativeAnimatedNodesManager nodesManager = getNodesManager();
+        nodesManager.waitForPendingFrame();
         for (UIThreadOperation operation : operations) {
           operation.execute(nodesManager);
         }
@@ -163,6 +166,31 @@ public class NativeAnimatedModule extends ReactContextBaseJavaModule implements
     // do nothing
   }
 
+  @Override
+  public void onCatalystInstanceDestroy() {
+    UiThreadUtil.runOnUiThread(new Runnable() {
+      @Override
+      public void run() {
+        if (mNodesManager != null) {
+          mNodesManager.setOffUIThreadEvaluationEnabled(false);
+        }
+      }
+    });
+  }
+
+  /**
+   * Moves the evaluation of animation frames off the UI thread, see
+   * {@link NativeAnimatedNodesManager#setOffUIThreadEvaluationEnabled}. Disabled by default.
+   */
+  public void setOffUIThreadEvaluationEnabled(final boolean enabled) {
+    UiThreadUtil.runOnUiThread(new Runnable() {
+      @Override
+      public void run() {
+        getNodesManager().setOffUIThreadEvaluationEnabled(enabled);
+      }
+    });
+  }
+
   @Override
   public String getName() {
     return NAME;
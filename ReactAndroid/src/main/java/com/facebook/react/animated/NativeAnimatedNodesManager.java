@@ -7,6 +7,9 @@
 
 package com.facebook.react.animated;
 
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
 import android.util.SparseArray;
 
 import com.facebook.common.logging.FLog;
@@ -18,6 +21,7 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.react.uimanager.IllegalViewOperationException;
 import com.facebook.react.uimanager.UIImplementation;
 import com.facebook.react.uimanager.UIManagerModule;
@@ -27,11 +31,9 @@ import com.facebook.react.uimanager.events.EventDispatcherListener;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.Queue;
 
 import javax.annotation.Nullable;
 
@@ -46,10 +48,45 @@ import javax.annotation.Nullable;
  * we expect to reach a special type of the node: PropsAnimatedNode that is then responsible for
  * calculating property map which can be sent to native view hierarchy to update the view.
  *
- * IMPORTANT: This class should be accessed only from the UI Thread
+ * IMPORTANT: This class should be accessed only from the UI Thread. The only exception is the
+ * evaluation of animation frames, which can optionally be moved to a dedicated animation thread
+ * (see {@link #setOffUIThreadEvaluationEnabled}).
  */
 /*package*/ class NativeAnimatedNodesManager implements EventDispatcherListener {
 
+  private static final String ANIMATION_THREAD_NAME = "native_animated";
+  private static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60L;
+  private static final long MAX_FRAME_INTERVAL_NANOS = 100000000L;
+
+  /**
+   * Flat, topologically ordered list of nodes to update for a given list of starting nodes. It is
+   * computed by {@link #updateNodes} and reused for as long as the shape of the graph and the
+   * starting nodes stay the same, which turns most animation frames into a single linear pass.
+   */
+  private static class UpdateSchedule {
+    private final ArrayList<AnimatedNode> mRoots = new ArrayList<>();
+    private final ArrayList<AnimatedNode> mOrderedNodes = new ArrayList<>();
+    private int mGraphVersion = -1;
+
+    private boolean isValidFor(List<AnimatedNode> roots, int graphVersion) {
+      if (mGraphVersion != graphVersion || mRoots.size() != roots.size()) {
+        return false;
+      }
+      for (int i = 0; i < roots.size(); i++) {
+        if (mRoots.get(i) != roots.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void invalidate() {
+      mGraphVersion = -1;
+      mRoots.clear();
+      mOrderedNodes.clear();
+    }
+  }
+
   private final SparseArray<AnimatedNode> mAnimatedNodes = new SparseArray<>();
   private final SparseArray<AnimationDriver> mActiveAnimations = new SparseArray<>();
   private final SparseArray<AnimatedNode> mUpdatedNodes = new SparseArray<>();
@@ -60,7 +97,48 @@ import javax.annotation.Nullable;
   private final UIImplementation mUIImplementation;
   private int mAnimatedGraphBFSColor = 0;
   // Used to avoid allocating a new array on every frame in `runUpdates` and `onEventDispatch`.
-  private final List<AnimatedNode> mRunUpdateNodeList = new LinkedList<>();
+  private final ArrayList<AnimatedNode> mRunUpdateNodeList = new ArrayList<>();
+  // Used to avoid allocating a new queue on every frame in `updateNodes`. It's always left empty.
+  private final ArrayDeque<AnimatedNode> mNodesQueue = new ArrayDeque<>();
+  // Schedules are kept separately for frame updates and for events so that a gesture updating
+  // nodes through events doesn't evict the schedule of an animation running at the same time.
+  private final UpdateSchedule mFrameUpdateSchedule = new UpdateSchedule();
+  private final UpdateSchedule mEventUpdateSchedule = new UpdateSchedule();
+  // Bumped on every change to the shape of the graph, which makes all cached schedules stale.
+  private int mGraphVersion = 0;
+
+  // State used for evaluating frames on the animation thread, see `setOffUIThreadEvaluationEnabled`
+  private final Object mFrameEvaluationLock = new Object();
+  // Props nodes updated by the frame evaluated on the animation thread, waiting to be applied to
+  // their views on the UI thread
+  private final ArrayList<PropsAnimatedNode> mPendingViewUpdates = new ArrayList<>();
+  private final Runnable mFrameEvaluationRunnable = new Runnable() {
+    @Override
+    public void run() {
+      RuntimeException exception = null;
+      mDeferViewUpdates = true;
+      try {
+        evaluateFrame(mPendingFrameTimeNanos);
+      } catch (RuntimeException e) {
+        exception = e;
+      } finally {
+        mDeferViewUpdates = false;
+      }
+      synchronized (mFrameEvaluationLock) {
+        mFrameEvaluationException = exception;
+        mIsEvaluatingFrame = false;
+        mFrameEvaluationLock.notifyAll();
+      }
+    }
+  };
+  private @Nullable HandlerThread mAnimationThread;
+  private @Nullable Handler mAnimationThreadHandler;
+  private boolean mIsEvaluatingFrame = false; // guarded by mFrameEvaluationLock
+  private @Nullable RuntimeException mFrameEvaluationException; // guarded by mFrameEvaluationLock
+  private boolean mHasPendingFrame = false;
+  private boolean mDeferViewUpdates = false;
+  private long mPendingFrameTimeNanos;
+  private long mLastFrameTimeNanos;
 
   public NativeAnimatedNodesManager(UIManagerModule uiManager) {
     mUIImplementation = uiManager.getUIImplementation();
@@ -76,6 +154,64 @@ import javax.annotation.Nullable;
     return mActiveAnimations.size() > 0 || mUpdatedNodes.size() > 0;
   }
 
+  /**
+   * Returns whether a frame evaluated on the animation thread hasn't been applied to the views yet,
+   * in which case {@link #runUpdates} needs to be called on the next frame even if there are no
+   * active animations. This method should be checked before {@link #hasActiveAnimations}, which is
+   * only safe to call when there is no such frame.
+   */
+  public boolean hasPendingFrame() {
+    return mHasPendingFrame;
+  }
+
+  /**
+   * When enabled, animation drivers and animated nodes are evaluated on a dedicated animation
+   * thread, one frame ahead of the UI thread. The UI thread only applies the resulting property
+   * updates to the views on the next frame, which leaves it more time for layout and drawing at the
+   * cost of one frame of additional latency. Disabled by default.
+   */
+  public void setOffUIThreadEvaluationEnabled(boolean enabled) {
+    UiThreadUtil.assertOnUiThread();
+    if (enabled == (mAnimationThreadHandler != null)) {
+      return;
+    }
+    if (enabled) {
+      HandlerThread animationThread =
+        new HandlerThread(ANIMATION_THREAD_NAME, Process.THREAD_PRIORITY_DISPLAY);
+      animationThread.start();
+      mAnimationThread = animationThread;
+      enableOffUIThreadEvaluation(new Handler(animationThread.getLooper()));
+    } else {
+      waitForPendingFrame();
+      if (mAnimationThread != null) {
+        mAnimationThread.quit();
+        mAnimationThread = null;
+      }
+      mAnimationThreadHandler = null;
+    }
+  }
+
+  /**
+   * Enables off-UI-thread evaluation with frames evaluated by the given handler, which lets tests
+   * decide when and on which thread the evaluation of a frame runs.
+   */
+  @VisibleForTesting
+  /* package */ void enableOffUIThreadEvaluation(Handler animationThreadHandler) {
+    UiThreadUtil.assertOnUiThread();
+    mAnimationThreadHandler = animationThreadHandler;
+    mLastFrameTimeNanos = 0;
+  }
+
+  /**
+   * Waits for the frame that is being evaluated on the animation thread, if any, and applies its
+   * updates to the views. Needs to be called on the UI thread before the graph is modified.
+   */
+  public void waitForPendingFrame() {
+    if (mHasPendingFrame) {
+      applyPendingFrame(true);
+    }
+  }
+
   public void createAnimatedNode(int tag, ReadableMap config) {
     if (mAnimatedNodes.get(tag) != null) {
       throw new JSApplicationIllegalArgumentException("Animated node with tag " + tag +
@@ -113,11 +249,13 @@ import javax.annotation.Nullable;
     node.mTag = tag;
     mAnimatedNodes.put(tag, node);
     mUpdatedNodes.put(tag, node);
+    mGraphVersion++;
   }
 
   public void dropAnimatedNode(int tag) {
     mAnimatedNodes.remove(tag);
     mUpdatedNodes.remove(tag);
+    mGraphVersion++;
   }
 
   public void startListeningToAnimatedNodeValue(int tag, AnimatedNodeValueListener listener) {
@@ -274,6 +412,7 @@ import javax.annotation.Nullable;
     }
     parentNode.addChild(childNode);
     mUpdatedNodes.put(childNodeTag, childNode);
+    mGraphVersion++;
   }
 
   public void disconnectAnimatedNodes(int parentNodeTag, int childNodeTag) {
@@ -289,6 +428,7 @@ import javax.annotation.Nullable;
     }
     parentNode.removeChild(childNode);
     mUpdatedNodes.put(childNodeTag, childNode);
+    mGraphVersion++;
   }
 
   public void connectAnimatedNodeToView(int animatedNodeTag, int viewTag) {
@@ -401,17 +541,19 @@ import javax.annotation.Nullable;
   }
 
   private void handleEvent(Event event) {
+    waitForPendingFrame();
     if (!mEventDrivers.isEmpty()) {
       // If the event has a different name in native convert it to it's JS name.
       String eventName = mCustomEventNamesResolver.resolveCustomEventName(event.getEventName());
       List<EventAnimationDriver> driversForKey = mEventDrivers.get(event.getViewTag() + eventName);
       if (driversForKey != null) {
-        for (EventAnimationDriver driver : driversForKey) {
+        for (int i = 0; i < driversForKey.size(); i++) {
+          EventAnimationDriver driver = driversForKey.get(i);
           stopAnimationsForNode(driver.mValueNode);
           event.dispatch(driver);
           mRunUpdateNodeList.add(driver.mValueNode);
         }
-        updateNodes(mRunUpdateNodeList);
+        updateNodes(mRunUpdateNodeList, mEventUpdateSchedule);
         mRunUpdateNodeList.clear();
       }
     }
@@ -428,9 +570,93 @@ import javax.annotation.Nullable;
    * an attribute {@code mActiveIncomingNodes}. The second BFS runs in topological order over the
    * sub-graph of *active* nodes. This is done by adding node to the BFS queue only if all its
    * "predecessors" have already been visited.
+   *
+   * The order in which the second BFS visited the nodes is stored in an {@link UpdateSchedule}, and
+   * as long as the graph isn't modified and the same nodes start the traversal on the next frame,
+   * both BFSes are skipped and the nodes are simply updated in the stored order.
+   *
+   * With off-UI-thread evaluation enabled this method instead applies the view updates of the frame
+   * evaluated on the animation thread and schedules the evaluation of the next one.
    */
   public void runUpdates(long frameTimeNanos) {
     UiThreadUtil.assertOnUiThread();
+    Handler animationThreadHandler = mAnimationThreadHandler;
+    if (animationThreadHandler == null) {
+      evaluateFrame(frameTimeNanos);
+      return;
+    }
+
+    if (mHasPendingFrame && !applyPendingFrame(false)) {
+      // The animation thread hasn't finished evaluating the previous frame yet, skip this one
+      return;
+    }
+
+    long frameIntervalNanos = frameTimeNanos - mLastFrameTimeNanos;
+    if (frameIntervalNanos <= 0 || frameIntervalNanos > MAX_FRAME_INTERVAL_NANOS) {
+      frameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+    }
+    mLastFrameTimeNanos = frameTimeNanos;
+    if (!hasActiveAnimations()) {
+      return;
+    }
+
+    // Evaluate the next frame on the animation thread while the UI thread is busy with this one
+    mPendingFrameTimeNanos = frameTimeNanos + frameIntervalNanos;
+    mHasPendingFrame = true;
+    synchronized (mFrameEvaluationLock) {
+      mIsEvaluatingFrame = true;
+    }
+    animationThreadHandler.post(mFrameEvaluationRunnable);
+  }
+
+  /**
+   * Applies the view updates of the frame evaluated on the animation thread. If the evaluation is
+   * still in progress this either waits for it or, if {@code waitForEvaluation} is false, returns
+   * false without doing anything.
+   */
+  private boolean applyPendingFrame(boolean waitForEvaluation) {
+    RuntimeException exception;
+    synchronized (mFrameEvaluationLock) {
+      if (mIsEvaluatingFrame && !waitForEvaluation) {
+        return false;
+      }
+      boolean interrupted = false;
+      while (mIsEvaluatingFrame) {
+        try {
+          mFrameEvaluationLock.wait();
+        } catch (InterruptedException e) {
+          // The graph can't be touched before the animation thread is done with it, keep waiting
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      exception = mFrameEvaluationException;
+      mFrameEvaluationException = null;
+    }
+
+    mHasPendingFrame = false;
+    if (exception != null) {
+      mPendingViewUpdates.clear();
+      throw exception;
+    }
+    for (int i = 0; i < mPendingViewUpdates.size(); i++) {
+      try {
+        mPendingViewUpdates.get(i).applyViewUpdates();
+      } catch (IllegalViewOperationException e) {
+        // See `updateNode` for why this exception is ignored
+        FLog.e(
+          ReactConstants.TAG,
+          "Native animation workaround, frame lost as result of race condition",
+          e);
+      }
+    }
+    mPendingViewUpdates.clear();
+    return true;
+  }
+
+  private void evaluateFrame(long frameTimeNanos) {
     boolean hasFinishedAnimations = false;
 
     for (int i = 0; i < mUpdatedNodes.size(); i++) {
@@ -451,7 +677,7 @@ import javax.annotation.Nullable;
       }
     }
 
-    updateNodes(mRunUpdateNodeList);
+    updateNodes(mRunUpdateNodeList, mFrameUpdateSchedule);
     mRunUpdateNodeList.clear();
 
     // Cleanup finished animations. Iterate over the array of animations and override ones that has
@@ -471,7 +697,17 @@ import javax.annotation.Nullable;
     }
   }
 
-  private void updateNodes(List<AnimatedNode> nodes) {
+  private void updateNodes(ArrayList<AnimatedNode> nodes, UpdateSchedule schedule) {
+    if (schedule.isValidFor(nodes, mGraphVersion)) {
+      ArrayList<AnimatedNode> orderedNodes = schedule.mOrderedNodes;
+      for (int i = 0; i < orderedNodes.size(); i++) {
+        updateNode(orderedNodes.get(i));
+      }
+      return;
+    }
+
+    schedule.invalidate();
+    ArrayList<AnimatedNode> orderedNodes = schedule.mOrderedNodes;
     int activeNodesCount = 0;
     int updatedNodesCount = 0;
 
@@ -487,8 +723,9 @@ import javax.annotation.Nullable;
       mAnimatedGraphBFSColor++;
     }
 
-    Queue<AnimatedNode> nodesQueue = new ArrayDeque<>();
-    for (AnimatedNode node : nodes) {
+    ArrayDeque<AnimatedNode> nodesQueue = mNodesQueue;
+    for (int i = 0; i < nodes.size(); i++) {
+      AnimatedNode node = nodes.get(i);
       if (node.mBFSColor != mAnimatedGraphBFSColor) {
         node.mBFSColor = mAnimatedGraphBFSColor;
         activeNodesCount++;
@@ -527,7 +764,8 @@ import javax.annotation.Nullable;
 
     // find nodes with zero "incoming nodes", those can be either nodes from `mUpdatedNodes` or
     // ones connected to active animations
-    for (AnimatedNode node : nodes) {
+    for (int i = 0; i < nodes.size(); i++) {
+      AnimatedNode node = nodes.get(i);
       if (node.mActiveIncomingNodes == 0 && node.mBFSColor != mAnimatedGraphBFSColor) {
         node.mBFSColor = mAnimatedGraphBFSColor;
         updatedNodesCount++;
@@ -538,25 +776,8 @@ import javax.annotation.Nullable;
     // Run main "update" loop
     while (!nodesQueue.isEmpty()) {
       AnimatedNode nextNode = nodesQueue.poll();
-      nextNode.update();
-      if (nextNode instanceof PropsAnimatedNode) {
-        // Send property updates to native view manager
-        try {
-          ((PropsAnimatedNode) nextNode).updateView();
-        } catch (IllegalViewOperationException e) {
-            // An exception is thrown if the view hasn't been created yet. This can happen because views are
-            // created in batches. If this particular view didn't make it into a batch yet, the view won't
-            // exist and an exception will be thrown when attempting to start an animation on it.
-            //
-            // Eat the exception rather than crashing. The impact is that we may drop one or more frames of the
-            // animation.
-            FLog.e(ReactConstants.TAG, "Native animation workaround, frame lost as result of race condition", e);
-          }
-      }
-      if (nextNode instanceof ValueAnimatedNode) {
-        // Potentially send events to JS when the node's value is updated
-        ((ValueAnimatedNode) nextNode).onValueUpdate();
-      }
+      orderedNodes.add(nextNode);
+      updateNode(nextNode);
       if (nextNode.mChildren != null) {
         for (int i = 0; i < nextNode.mChildren.size(); i++) {
           AnimatedNode child = nextNode.mChildren.get(i);
@@ -575,8 +796,43 @@ import javax.annotation.Nullable;
     // visited in the step above so that all the nodes properties `mActiveIncomingNodes` are set to
     // zero
     if (activeNodesCount != updatedNodesCount) {
+      schedule.invalidate();
       throw new IllegalStateException("Looks like animated nodes graph has cycles, there are "
         + activeNodesCount + " but toposort visited only " + updatedNodesCount);
     }
+
+    schedule.mRoots.addAll(nodes);
+    schedule.mGraphVersion = mGraphVersion;
+  }
+
+  private void updateNode(AnimatedNode nextNode) {
+    nextNode.update();
+    if (mDeferViewUpdates) {
+      // Evaluating on the animation thread, view updates will be applied on the UI thread
+      if (nextNode instanceof PropsAnimatedNode
+          && ((PropsAnimatedNode) nextNode).collectViewUpdates()) {
+        mPendingViewUpdates.add((PropsAnimatedNode) nextNode);
+      }
+    } else if (nextNode instanceof PropsAnimatedNode) {
+      // Send property updates to native view manager
+      try {
+        ((PropsAnimatedNode) nextNode).updateView();
+      } catch (IllegalViewOperationException e) {
+        // An exception is thrown if the view hasn't been created yet. This can happen because views
+        // are created in batches. If this particular view didn't make it into a batch yet, the view
+        // won't exist and an exception will be thrown when attempting to start an animation on it.
+        //
+        // Eat the exception rather than crashing. The impact is that we may drop one or more frames
+        // of the animation.
+        FLog.e(
+          ReactConstants.TAG,
+          "Native animation workaround, frame lost as result of race condition",
+          e);
+      }
+    }
+    if (nextNode instanceof ValueAnimatedNode) {
+      // Potentially send events to JS when the node's value is updated
+      ((ValueAnimatedNode) nextNode).onValueUpdate();
+    }
   }
 }
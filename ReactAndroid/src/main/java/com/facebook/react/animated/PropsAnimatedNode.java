@@ -79,8 +79,19 @@ import javax.annotation.Nullable;
   }
 
   public final void updateView() {
+    if (collectViewUpdates()) {
+      applyViewUpdates();
+    }
+  }
+
+  /**
+   * Recomputes the property map of the connected view from the values of the mapped nodes without
+   * touching the view, which makes it safe to call from a thread other than the UI thread. Returns
+   * false if there is no view connected to this node.
+   */
+  /*package*/ final boolean collectViewUpdates() {
     if (mConnectedViewTag == -1) {
-      return;
+      return false;
     }
     for (Map.Entry<String, Integer> entry : mPropNodeMapping.entrySet()) {
       @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(entry.getValue());
@@ -95,7 +106,17 @@ import javax.annotation.Nullable;
             node.getClass());
       }
     }
+    return true;
+  }
 
+  /**
+   * Sends the property map computed by the last call to {@link #collectViewUpdates} to the
+   * connected view. Must be called from the UI thread.
+   */
+  /*package*/ final void applyViewUpdates() {
+    if (mConnectedViewTag == -1) {
+      return;
+    }
     mUIImplementation.synchronouslyUpdateViewOnUIThread(
       mConnectedViewTag,
       mDiffMap);
@@ -121,7 +121,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
       jsExecutor,
       mReactQueueConfiguration.getJSQueueThread(),
       mNativeModulesQueueThread,
-      mNativeModuleRegistry.getJavaModules(this),
+      mNativeModuleRegistry.getJavaModules(this, mReactQueueConfiguration),
       mNativeModuleRegistry.getCxxModules());
     Log.d(ReactConstants.TAG, "Initializing React Xplat Bridge after initializeBridge");
 
@@ -173,7 +173,8 @@ public class CatalystInstanceImpl implements CatalystInstance {
   public void extendNativeModules(NativeModuleRegistry modules) {
     //Extend the Java-visible registry of modules
     mNativeModuleRegistry.registerModules(modules);
-    Collection<JavaModuleWrapper> javaModules = modules.getJavaModules(this);
+    Collection<JavaModuleWrapper> javaModules =
+      modules.getJavaModules(this, mReactQueueConfiguration);
     Collection<ModuleHolder> cxxModules = modules.getCxxModules();
     //Extend the Cxx-visible registry of modules wrapped in appropriate interfaces
     jniExtendNativeModules(javaModules, cxxModules);
@@ -212,8 +213,16 @@ public class CatalystInstanceImpl implements CatalystInstance {
   }
 
   /* package */ void loadScriptFromAssets(AssetManager assetManager, String assetURL, boolean loadSynchronously) {
+    loadScriptFromAssets(assetManager, assetURL, loadSynchronously, false);
+  }
+
+  /* package */ void loadScriptFromAssets(
+      AssetManager assetManager,
+      String assetURL,
+      boolean loadSynchronously,
+      boolean memoryMap) {
     mSourceURL = assetURL;
-    jniLoadScriptFromAssets(assetManager, assetURL, loadSynchronously);
+    jniLoadScriptFromAssets(assetManager, assetURL, loadSynchronously, memoryMap);
   }
 
   /* package */ void loadScriptFromFile(String fileName, String sourceURL, boolean loadSynchronously) {
@@ -223,7 +232,11 @@ public class CatalystInstanceImpl implements CatalystInstance {
 
   private native void jniSetSourceURL(String sourceURL);
   private native void jniRegisterSegment(int segmentId, String path);
-  private native void jniLoadScriptFromAssets(AssetManager assetManager, String assetURL, boolean loadSynchronously);
+  private native void jniLoadScriptFromAssets(
+      AssetManager assetManager,
+      String assetURL,
+      boolean loadSynchronously,
+      boolean memoryMap);
   private native void jniLoadScriptFromFile(String fileName, String sourceURL, boolean loadSynchronously);
 
   @Override
@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.FileLock;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
+import com.facebook.react.common.annotations.VisibleForTesting;
+
+/**
+ * Keeps a copy of a JS bundle asset in app storage, so that it can be loaded as a file on the
+ * following launches: the file is memory-mapped whether or not the asset is compressed in the APK,
+ * indexed RAM bundles are read module by module, and JS engines that support precompiled bundles
+ * can evaluate them straight from the file.
+ *
+ * The copy is named after the SHA-256 hash of the bundle content. A small metadata file records
+ * which copy matches the installed APK, identified by its last update time, so that the asset only
+ * needs to be hashed again after the app gets updated. Copies that don't match the current bundle
+ * anymore are deleted when the cache is updated.
+ *
+ * Updates are serialized across instances and processes. Files are written under unique temporary
+ * names and renamed once complete, so that an interrupted update never leaves a partial copy or
+ * metadata file behind.
+ */
+/* package */ class JSBundleFileCache {
+
+  private static final String CACHE_DIR_NAME = "RNBundleCache";
+  private static final String METADATA_SUFFIX = ".meta";
+  private static final String BUNDLE_SUFFIX = ".bundle";
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final String LOCK_SUFFIX = ".lock";
+  private static final String ASSETS_PREFIX = "assets://";
+  // Marks file RAM bundles, whose modules are separate assets next to the entry asset
+  private static final String UNBUNDLE_MAGIC_FILE = "js-modules/UNBUNDLE";
+
+  private static final Object sUpdateLock = new Object();
+
+  private final Context mContext;
+  private final String mAssetName;
+  private final File mCacheDir;
+
+  /* package */ JSBundleFileCache(Context context, String assetUrl) {
+    mContext = context.getApplicationContext();
+    mAssetName = assetUrl.startsWith(ASSETS_PREFIX)
+      ? assetUrl.substring(ASSETS_PREFIX.length())
+      : assetUrl;
+    mCacheDir = new File(mContext.getFilesDir(), CACHE_DIR_NAME);
+  }
+
+  /**
+   * File RAM bundles can't be cached: the modules they load lazily are read from the assets, which
+   * is only set up when the entry file is loaded from the assets too.
+   *
+   * @return whether the bundle can be loaded from a cached copy
+   */
+  /* package */ boolean isCacheable() {
+    int separator = mAssetName.lastIndexOf('/');
+    String magicFileName = separator == -1
+      ? UNBUNDLE_MAGIC_FILE
+      : mAssetName.substring(0, separator + 1) + UNBUNDLE_MAGIC_FILE;
+    try {
+      mContext.getAssets().open(magicFileName).close();
+      return false;
+    } catch (IOException e) {
+      return true;
+    }
+  }
+
+  /**
+   * @return the cached copy of the bundle, or null if there is none for the installed APK
+   */
+  /* package */ @Nullable File getCachedBundle() {
+    File metadataFile = getMetadataFile();
+    if (!metadataFile.exists()) {
+      return null;
+    }
+    try {
+      BufferedReader reader = new BufferedReader(new FileReader(metadataFile));
+      try {
+        String apkUpdateTime = reader.readLine();
+        String hash = reader.readLine();
+        if (hash == null || !apkUpdateTime.equals(String.valueOf(getApkUpdateTime()))) {
+          return null;
+        }
+        File bundleFile = getBundleFile(hash);
+        return bundleFile.exists() ? bundleFile : null;
+      } finally {
+        reader.close();
+      }
+    } catch (IOException | PackageManager.NameNotFoundException e) {
+      FLog.w(ReactConstants.TAG, "Unable to read the JS bundle cache metadata", e);
+      return null;
+    }
+  }
+
+  /**
+   * Brings the cached copy of the bundle up to date with the installed APK on a background thread.
+   */
+  /* package */ void updateInBackground() {
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          update();
+        } catch (IOException | NoSuchAlgorithmException | PackageManager.NameNotFoundException e) {
+          FLog.w(ReactConstants.TAG, "Unable to cache the JS bundle " + mAssetName, e);
+        }
+      }
+    }, "js_bundle_cache").start();
+  }
+
+  @VisibleForTesting
+  /* package */ void update()
+      throws IOException, NoSuchAlgorithmException, PackageManager.NameNotFoundException {
+    long apkUpdateTime = getApkUpdateTime();
+    if (!mCacheDir.exists() && !mCacheDir.mkdirs()) {
+      throw new IOException("Unable to create " + mCacheDir);
+    }
+
+    // A file lock is held on behalf of the whole process, so it only serializes updates made by
+    // different processes, updates made by this one are serialized by a static lock.
+    synchronized (sUpdateLock) {
+      RandomAccessFile lockFile =
+        new RandomAccessFile(new File(mCacheDir, getFilePrefix() + LOCK_SUFFIX), "rw");
+      try {
+        FileLock lock = lockFile.getChannel().lock();
+        try {
+          if (getCachedBundle() == null) {
+            updateLocked(apkUpdateTime);
+          }
+        } finally {
+          lock.release();
+        }
+      } finally {
+        lockFile.close();
+      }
+    }
+  }
+
+  private void updateLocked(long apkUpdateTime) throws IOException, NoSuchAlgorithmException {
+    // Copy the asset while hashing it, the copy is renamed after its hash once complete
+    File tempFile = createTempFile();
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    try {
+      InputStream input = new DigestInputStream(mContext.getAssets().open(mAssetName), digest);
+      try {
+        OutputStream output = new FileOutputStream(tempFile);
+        try {
+          byte[] buffer = new byte[64 * 1024];
+          int read;
+          while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+          }
+        } finally {
+          output.close();
+        }
+      } finally {
+        input.close();
+      }
+    } catch (IOException e) {
+      tempFile.delete();
+      throw e;
+    }
+
+    String hash = toHexString(digest.digest());
+    File bundleFile = getBundleFile(hash);
+    if (bundleFile.exists() ? !tempFile.delete() : !tempFile.renameTo(bundleFile)) {
+      throw new IOException("Unable to move " + tempFile + " to " + bundleFile);
+    }
+
+    File tempMetadataFile = createTempFile();
+    Writer writer = new FileWriter(tempMetadataFile);
+    try {
+      writer.write(apkUpdateTime + "\n" + hash + "\n");
+    } finally {
+      writer.close();
+    }
+    if (!tempMetadataFile.renameTo(getMetadataFile())) {
+      tempMetadataFile.delete();
+      throw new IOException("Unable to move " + tempMetadataFile + " to " + getMetadataFile());
+    }
+
+    // Invalidate the copies of older versions of the bundle, along with temporary files left over
+    // by updates that got interrupted
+    File[] files = mCacheDir.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        String name = file.getName();
+        if (name.startsWith(getFilePrefix() + "-") &&
+            (name.endsWith(BUNDLE_SUFFIX) || name.endsWith(TEMP_SUFFIX)) &&
+            !file.equals(bundleFile)) {
+          file.delete();
+        }
+      }
+    }
+  }
+
+  private File createTempFile() throws IOException {
+    return File.createTempFile(getFilePrefix() + "-", TEMP_SUFFIX, mCacheDir);
+  }
+
+  private long getApkUpdateTime() throws PackageManager.NameNotFoundException {
+    return mContext.getPackageManager()
+      .getPackageInfo(mContext.getPackageName(), 0)
+      .lastUpdateTime;
+  }
+
+  private String getFilePrefix() {
+    return mAssetName.replace('/', '_');
+  }
+
+  private File getMetadataFile() {
+    return new File(mCacheDir, getFilePrefix() + METADATA_SUFFIX);
+  }
+
+  private File getBundleFile(String hash) {
+    return new File(mCacheDir, getFilePrefix() + "-" + hash + BUNDLE_SUFFIX);
+  }
+
+  private static String toHexString(byte[] bytes) {
+    StringBuilder builder = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      builder.append(Character.forDigit((b >> 4) & 0xf, 16));
+      builder.append(Character.forDigit(b & 0xf, 16));
+    }
+    return builder.toString();
+  }
+}
@@ -7,6 +7,8 @@
 
 package com.facebook.react.bridge;
 
+import java.io.File;
+
 import android.content.Context;
 import com.facebook.react.common.DebugServerException;
 
@@ -35,8 +37,62 @@ public abstract class JSBundleLoader {
   }
 
   /**
-   * This loader loads bundle from file system. The bundle will be read in native code to save on
-   * passing large strings from java to native memory.
+   * Same as {@link #createAssetLoader}, but the bundle is memory-mapped straight from the APK
+   * instead of being read into a heap buffer, which lowers the time it takes to load it and the
+   * peak memory use at startup. This requires the bundle asset to be stored uncompressed, e.g.
+   * with {@code aaptOptions { noCompress "bundle" }}, and a JSC build that evaluates scripts of a
+   * given length in place. Otherwise the asset is read as usual.
+   *
+   * Only builds of the bridge that define {@code WITH_FBJSCEXTENSIONS} map the bundle. The stock
+   * Android.mk and BUCK builds don't, so with them this loads the bundle like
+   * {@link #createAssetLoader}.
+   */
+  public static JSBundleLoader createMemoryMappedAssetLoader(
+      final Context context,
+      final String assetUrl,
+      final boolean loadSynchronously) {
+    return new JSBundleLoader() {
+      @Override
+      public String loadScript(CatalystInstanceImpl instance) {
+        instance.loadScriptFromAssets(context.getAssets(), assetUrl, loadSynchronously, true);
+        return assetUrl;
+      }
+    };
+  }
+
+  /**
+   * Same as {@link #createAssetLoader}, but the bundle is copied to app storage the first time it's
+   * loaded after the app is installed or updated, and loaded from that copy on the following
+   * launches, see {@link JSBundleFileCache}. Source URLs reported to JS stay the asset URL. File
+   * RAM bundles are always loaded from the assets.
+   */
+  public static JSBundleLoader createCachedAssetLoader(
+      final Context context,
+      final String assetUrl,
+      final boolean loadSynchronously) {
+    return new JSBundleLoader() {
+      @Override
+      public String loadScript(CatalystInstanceImpl instance) {
+        JSBundleFileCache cache = new JSBundleFileCache(context, assetUrl);
+        if (!cache.isCacheable()) {
+          instance.loadScriptFromAssets(context.getAssets(), assetUrl, loadSynchronously);
+          return assetUrl;
+        }
+        File cachedBundle = cache.getCachedBundle();
+        if (cachedBundle != null) {
+          instance.loadScriptFromFile(cachedBundle.getPath(), assetUrl, loadSynchronously);
+        } else {
+          instance.loadScriptFromAssets(context.getAssets(), assetUrl, loadSynchronously);
+          cache.updateInBackground();
+        }
+        return assetUrl;
+      }
+    };
+  }
+
+  /**
+   * This loader loads bundle from file system. The bundle is memory-mapped in native code to save
+   * on passing large strings from java to native memory and on copying it to the heap.
    */
   public static JSBundleLoader createFileLoader(final String fileName) {
     return createFileLoader(fileName, fileName, false);
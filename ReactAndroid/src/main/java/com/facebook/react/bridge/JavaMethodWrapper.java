@@ -209,6 +209,8 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
   private @Nullable String mSignature;
   private @Nullable Object[] mArguments;
   private @Nullable int mJSArgumentsNeeded;
+  private @Nullable ReactMethodInvoker mInvoker;
+  private int mInvokerMethodIndex = -1;
 
   public JavaMethodWrapper(JavaModuleWrapper module, Method method, boolean isSync) {
     mModuleWrapper = module;
@@ -247,6 +249,14 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
     }
   }
 
+  /**
+   * Makes this method be called through the given generated invoker rather than through reflection.
+   */
+  /* package */ void setInvoker(ReactMethodInvoker invoker, int methodIndex) {
+    mInvoker = invoker;
+    mInvokerMethodIndex = methodIndex;
+  }
+
   public Method getMethod() {
     return mMethod;
   }
@@ -353,6 +363,19 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
           traceName + " got " + parameters.size() + " arguments, expected " + mJSArgumentsNeeded);
       }
 
+      if (mInvoker != null) {
+        // Exceptions thrown by the method itself are let through, like the reflection path does
+        try {
+          mInvoker.invoke(mModuleWrapper.getModule(), mInvokerMethodIndex, jsInstance, parameters);
+        } catch (ReactMethodInvoker.ArgumentExtractionException e) {
+          throw new NativeArgumentsParseException(
+            e.getMessage() + " (constructing arguments for " + traceName + " at argument index " +
+              getAffectedRange(e.getJSArgumentIndex(), e.getJSArgumentsNeeded()) + ")",
+            e.getCause());
+        }
+        return;
+      }
+
       int i = 0, jsArgumentsConsumed = 0;
       try {
         for (; i < mArgumentExtractors.length; i++) {
@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.Set;
 
 import com.facebook.proguard.annotations.DoNotStrip;
+import com.facebook.react.bridge.queue.MessageQueueThread;
 import com.facebook.systrace.Systrace;
 import com.facebook.systrace.SystraceMessage;
 
@@ -52,13 +53,23 @@ public class JavaModuleWrapper {
   private final Class<? extends NativeModule> mModuleClass;
   private final ArrayList<NativeModule.NativeMethod> mMethods;
   private final ArrayList<MethodDescriptor> mDescs;
+  private final @Nullable MessageQueueThread mMessageQueueThread;
 
   public JavaModuleWrapper(JSInstance jsInstance, Class<? extends NativeModule> moduleClass, ModuleHolder moduleHolder) {
+    this(jsInstance, moduleClass, moduleHolder, null);
+  }
+
+  public JavaModuleWrapper(
+      JSInstance jsInstance,
+      Class<? extends NativeModule> moduleClass,
+      ModuleHolder moduleHolder,
+      @Nullable MessageQueueThread messageQueueThread) {
     mJSInstance = jsInstance;
     mModuleHolder = moduleHolder;
     mModuleClass = moduleClass;
     mMethods = new ArrayList<>();
     mDescs = new ArrayList();
+    mMessageQueueThread = messageQueueThread;
   }
 
   @DoNotStrip
@@ -71,6 +82,15 @@ public class JavaModuleWrapper {
     return mModuleHolder.getName();
   }
 
+  /**
+   * Queue the module's asynchronous methods are invoked on, or null to use the default native
+   * modules queue.
+   */
+  @DoNotStrip
+  public @Nullable MessageQueueThread getMessageQueueThread() {
+    return mMessageQueueThread;
+  }
+
   @DoNotStrip
   private void findMethods() {
     Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "findMethods");
@@ -86,6 +106,7 @@ public class JavaModuleWrapper {
       classForMethods = superClass;
     }
     Method[] targetMethods = classForMethods.getDeclaredMethods();
+    ReactMethodInvoker invoker = findGeneratedInvoker(mModuleClass);
 
     for (Method targetMethod : targetMethods) {
       ReactMethod annotation = targetMethod.getAnnotation(ReactMethod.class);
@@ -99,6 +120,12 @@ public class JavaModuleWrapper {
         }
         MethodDescriptor md = new MethodDescriptor();
         JavaMethodWrapper method = new JavaMethodWrapper(this, targetMethod, annotation.isBlockingSynchronousMethod());
+        if (invoker != null && !annotation.isBlockingSynchronousMethod()) {
+          int invokerMethodIndex = invoker.getMethodIndex(methodName);
+          if (invokerMethodIndex != -1) {
+            method.setInvoker(invoker, invokerMethodIndex);
+          }
+        }
         md.name = methodName;
         md.type = method.getType();
         if (md.type == BaseJavaModule.METHOD_TYPE_SYNC) {
@@ -112,6 +139,21 @@ public class JavaModuleWrapper {
     Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
   }
 
+  private static @Nullable ReactMethodInvoker findGeneratedInvoker(
+      Class<? extends NativeModule> moduleClass) {
+    String moduleClassName = moduleClass.getName();
+    try {
+      Class<?> invokerClass =
+          Class.forName(moduleClassName + ReactMethodInvoker.INVOKER_CLASS_SUFFIX);
+      return (ReactMethodInvoker) invokerClass.newInstance();
+    } catch (ClassNotFoundException e) {
+      // Modules without a generated invoker are called through reflection
+      return null;
+    } catch (InstantiationException | IllegalAccessException e) {
+      throw new RuntimeException("Unable to instantiate method invoker for " + moduleClassName, e);
+    }
+  }
+
   @DoNotStrip
   public List<MethodDescriptor> getMethodDescriptors() {
     if (mDescs.isEmpty()) {
@@ -37,6 +37,8 @@ public class ModuleHolder {
   private final String mName;
   private final boolean mCanOverrideExistingModule;
   private final boolean mHasConstants;
+  private final boolean mNeedsEagerInit;
+  private final String mQueueLane;
 
   private @Nullable Provider<? extends NativeModule> mProvider;
   // Outside of the constructur, these should only be checked or set when synchronized on this
@@ -46,13 +48,29 @@ public class ModuleHolder {
   private @GuardedBy("this") boolean mInitializable;
   private @GuardedBy("this") boolean mIsCreating;
   private @GuardedBy("this") boolean mIsInitializing;
+  // Set if creating the module failed, so that threads that waited for it fail as well
+  private @Nullable @GuardedBy("this") RuntimeException mCreationFailure;
 
   public ModuleHolder(ReactModuleInfo moduleInfo, Provider<? extends NativeModule> provider) {
+    this(moduleInfo, provider, true);
+  }
+
+  /**
+   * @param createEagerModule whether to create the module right away if it needs eager init. If
+   *   false, it's up to the caller to create it through {@link #getModule()}, see
+   *   {@link NativeModuleRegistry#createEagerModules}.
+   */
+  public ModuleHolder(
+      ReactModuleInfo moduleInfo,
+      Provider<? extends NativeModule> provider,
+      boolean createEagerModule) {
     mName = moduleInfo.name();
     mCanOverrideExistingModule = moduleInfo.canOverrideExistingModule();
     mHasConstants = moduleInfo.hasConstants();
+    mNeedsEagerInit = moduleInfo.needsEagerInit();
+    mQueueLane = moduleInfo.queueLane();
     mProvider = provider;
-    if (moduleInfo.needsEagerInit()) {
+    if (mNeedsEagerInit && createEagerModule) {
       mModule = create();
     }
   }
@@ -61,6 +79,8 @@ public class ModuleHolder {
     mName = nativeModule.getName();
     mCanOverrideExistingModule = nativeModule.canOverrideExistingModule();
     mHasConstants = true;
+    mNeedsEagerInit = true;
+    mQueueLane = "";
     mModule = nativeModule;
     PrinterHolder.getPrinter()
         .logMessage(ReactDebugOverlayTags.NATIVE_MODULE, "NativeModule init: %s", mName);
@@ -106,6 +126,17 @@ public class ModuleHolder {
     return mCanOverrideExistingModule;
   }
 
+  /**
+   * Name of the native modules queue lane the module runs on, empty for the default queue.
+   */
+  public String getQueueLane() {
+    return mQueueLane;
+  }
+
+  public boolean getNeedsEagerInit() {
+    return mNeedsEagerInit;
+  }
+
   public boolean getHasConstants() {
     return mHasConstants;
   }
@@ -117,6 +148,8 @@ public class ModuleHolder {
     synchronized (this) {
       if (mModule != null) {
         return mModule;
+      } else if (mCreationFailure != null) {
+        throw creationFailed();
       // if mModule has not been set, and no one is creating it. Then this thread should call create
       } else if (!mIsCreating) {
         shouldCreate = true;
@@ -126,12 +159,20 @@ public class ModuleHolder {
       }
     }
     if (shouldCreate) {
-      module = create();
-      // Once module is built (and initialized if markInitializable has been called), modify mModule
-      // And signal any waiting threads that it is acceptable to read the field now
-      synchronized (this) {
-        mIsCreating = false;
-        this.notifyAll();
+      try {
+        module = create();
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          mCreationFailure = e;
+        }
+        throw e;
+      } finally {
+        // Once module is built (and initialized if markInitializable has been called), or failed to
+        // build, signal any waiting threads that it is acceptable to read the fields now
+        synchronized (this) {
+          mIsCreating = false;
+          this.notifyAll();
+        }
       }
       return module;
     } else {
@@ -146,11 +187,22 @@ public class ModuleHolder {
             continue;
           }
         }
+        if (mCreationFailure != null) {
+          throw creationFailed();
+        }
         return Assertions.assertNotNull(mModule);
       }
     }
   }
 
+  @GuardedBy("this")
+  private RuntimeException creationFailed() {
+    // Keeps the stack of the thread that needed the module along with the one of the failure
+    return new RuntimeException(
+        "Native module " + mName + " failed to be created",
+        mCreationFailure);
+  }
+
   private NativeModule create() {
     SoftAssertions.assertCondition(mModule == null, "Creating an already created module.");
     ReactMarker.logMarker(CREATE_MODULE_START, mName, mInstanceKey);
@@ -12,8 +12,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.Executor;
 
 import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.bridge.queue.MessageQueueThread;
+import com.facebook.react.bridge.queue.ReactQueueConfiguration;
 import com.facebook.systrace.Systrace;
 
 /**
@@ -50,12 +53,23 @@ public class NativeModuleRegistry {
   }
 
   /* package */ Collection<JavaModuleWrapper> getJavaModules(
-      JSInstance jsInstance) {
+      JSInstance jsInstance,
+      ReactQueueConfiguration queueConfiguration) {
+    MessageQueueThread defaultQueueThread = queueConfiguration.getNativeModulesQueueThread();
     ArrayList<JavaModuleWrapper> javaModules = new ArrayList<>();
     for (Map.Entry<Class<? extends NativeModule>, ModuleHolder> entry : mModules.entrySet()) {
       Class<? extends NativeModule> type = entry.getKey();
       if (!CxxModuleWrapperBase.class.isAssignableFrom(type)) {
-        javaModules.add(new JavaModuleWrapper(jsInstance, type, entry.getValue()));
+        ModuleHolder moduleHolder = entry.getValue();
+        MessageQueueThread laneQueueThread = null;
+        if (!moduleHolder.getQueueLane().isEmpty()) {
+          laneQueueThread =
+            queueConfiguration.getNativeModulesQueueThread(moduleHolder.getQueueLane());
+          if (laneQueueThread == defaultQueueThread) {
+            laneQueueThread = null;
+          }
+        }
+        javaModules.add(new JavaModuleWrapper(jsInstance, type, moduleHolder, laneQueueThread));
       }
     }
     return javaModules;
@@ -128,6 +142,36 @@ public class NativeModuleRegistry {
     }
   }
 
+  /**
+   * Creates, on the given executor, the modules that need eager init and haven't been created yet.
+   * Each module is created in its own task, so independent modules are built in parallel when the
+   * executor has several threads. A module that depends on another one being created, or that JS
+   * requires in the meantime, waits for it in {@link ModuleHolder#getModule()}. Modules are
+   * initialized as soon as they are created if the JS instance is already initialized, or when it
+   * gets initialized otherwise.
+   *
+   * Exceptions thrown while creating a module are passed to the given handler rather than left to
+   * kill the executor thread. Threads that need the module later get an exception as well.
+   */
+  public void createEagerModules(
+      Executor executor,
+      final NativeModuleCallExceptionHandler exceptionHandler) {
+    for (final ModuleHolder moduleHolder : mModules.values()) {
+      if (moduleHolder.getNeedsEagerInit() && !moduleHolder.hasInstance()) {
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              moduleHolder.getModule();
+            } catch (RuntimeException e) {
+              exceptionHandler.handleException(e);
+            }
+          }
+        });
+      }
+    }
+  }
+
   public void onBatchComplete() {
     for (ModuleHolder moduleHolder : mBatchCompleteListenerModules) {
       if (moduleHolder.hasInstance()) {
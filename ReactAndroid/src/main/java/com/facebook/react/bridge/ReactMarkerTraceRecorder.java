@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import android.util.JsonWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * {@link ReactMarker.MarkerListener} that records markers with a monotonic timestamp and the thread
+ * they were logged on, so that a timeline of startup can be collected from devices without
+ * attaching Systrace. Register it with {@link ReactMarker#addListener}.
+ *
+ * Markers are kept in a ring buffer of fixed capacity that is allocated up front, so recording a
+ * marker doesn't allocate; once the buffer is full the oldest markers are overwritten. Pairs of
+ * {@code _START} and {@code _END} markers are only matched into spans when the timeline is
+ * exported, in the Chrome trace event format, which can be loaded in chrome://tracing.
+ */
+public class ReactMarkerTraceRecorder implements ReactMarker.MarkerListener {
+
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  private static final ReactMarkerConstants[] MARKERS = ReactMarkerConstants.values();
+  private static final String START_SUFFIX = "_START";
+  private static final String END_SUFFIX = "_END";
+  private static final int NOT_A_START_MARKER = -1;
+
+  // The END marker matching every START marker, by ordinal
+  private static final int[] END_MARKERS = new int[MARKERS.length];
+  static {
+    for (ReactMarkerConstants marker : MARKERS) {
+      END_MARKERS[marker.ordinal()] = NOT_A_START_MARKER;
+      String name = marker.name();
+      if (name.endsWith(START_SUFFIX)) {
+        String endName = getSpanName(marker) + END_SUFFIX;
+        for (ReactMarkerConstants endMarker : MARKERS) {
+          if (endMarker.name().equals(endName)) {
+            END_MARKERS[marker.ordinal()] = endMarker.ordinal();
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  private final int mCapacity;
+  private final int[] mMarkers;
+  private final @Nullable String[] mTags;
+  private final int[] mInstanceKeys;
+  private final long[] mTimestampsNs;
+  private final long[] mThreadIds;
+  private final String[] mThreadNames;
+  private int mNextIndex;
+  private int mCount;
+
+  public ReactMarkerTraceRecorder() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public ReactMarkerTraceRecorder(int capacity) {
+    mCapacity = capacity;
+    mMarkers = new int[capacity];
+    mTags = new String[capacity];
+    mInstanceKeys = new int[capacity];
+    mTimestampsNs = new long[capacity];
+    mThreadIds = new long[capacity];
+    mThreadNames = new String[capacity];
+  }
+
+  @Override
+  public void logMarker(ReactMarkerConstants name, @Nullable String tag, int instanceKey) {
+    Thread thread = Thread.currentThread();
+    record(name, tag, instanceKey, System.nanoTime(), thread.getId(), thread.getName());
+  }
+
+  /* package */ synchronized void record(
+      ReactMarkerConstants marker,
+      @Nullable String tag,
+      int instanceKey,
+      long timestampNs,
+      long threadId,
+      String threadName) {
+    int index = mNextIndex;
+    mMarkers[index] = marker.ordinal();
+    mTags[index] = tag;
+    mInstanceKeys[index] = instanceKey;
+    mTimestampsNs[index] = timestampNs;
+    mThreadIds[index] = threadId;
+    mThreadNames[index] = threadName;
+    mNextIndex = (index + 1) % mCapacity;
+    if (mCount < mCapacity) {
+      mCount++;
+    }
+  }
+
+  public synchronized void clear() {
+    mNextIndex = 0;
+    mCount = 0;
+  }
+
+  /**
+   * Writes the recorded timeline to the given file, see {@link #writeChromeTrace(Writer)}.
+   */
+  public void writeChromeTrace(File file) throws IOException {
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writeChromeTrace(writer);
+    } finally {
+      writer.close();
+    }
+  }
+
+  /**
+   * Writes the recorded timeline as a Chrome trace event JSON object. A START marker followed by
+   * its END marker with the same instance key becomes a complete event on the thread the START
+   * marker was logged on, and markers that can't be paired become instant events. Timestamps are in
+   * microseconds on the {@link System#nanoTime()} clock.
+   */
+  public synchronized void writeChromeTrace(Writer writer) throws IOException {
+    int oldestIndex = (mNextIndex - mCount + mCapacity) % mCapacity;
+    boolean[] isPaired = new boolean[mCapacity];
+    int[] endIndices = new int[mCapacity];
+    Map<Long, ArrayDeque<Integer>> openSpans = new HashMap<>();
+    for (int i = 0; i < mCount; i++) {
+      int index = (oldestIndex + i) % mCapacity;
+      int marker = mMarkers[index];
+      if (END_MARKERS[marker] != NOT_A_START_MARKER) {
+        Long key = getSpanKey(END_MARKERS[marker], mInstanceKeys[index]);
+        ArrayDeque<Integer> starts = openSpans.get(key);
+        if (starts == null) {
+          starts = new ArrayDeque<>();
+          openSpans.put(key, starts);
+        }
+        starts.push(index);
+      } else {
+        ArrayDeque<Integer> starts = openSpans.get(getSpanKey(marker, mInstanceKeys[index]));
+        if (starts != null && !starts.isEmpty()) {
+          int startIndex = starts.pop();
+          isPaired[startIndex] = true;
+          isPaired[index] = true;
+          endIndices[startIndex] = index;
+        }
+      }
+    }
+
+    JsonWriter jsonWriter = new JsonWriter(writer);
+    jsonWriter.beginObject().name("traceEvents").beginArray();
+    Map<Long, String> threadNames = new HashMap<>();
+    for (int i = 0; i < mCount; i++) {
+      int index = (oldestIndex + i) % mCapacity;
+      threadNames.put(mThreadIds[index], mThreadNames[index]);
+      ReactMarkerConstants marker = MARKERS[mMarkers[index]];
+      if (!isPaired[index]) {
+        writeEvent(jsonWriter, index, marker.name(), "i", mTags[index]);
+        jsonWriter.name("s").value("t");
+        jsonWriter.endObject();
+      } else if (END_MARKERS[marker.ordinal()] != NOT_A_START_MARKER) {
+        int endIndex = endIndices[index];
+        String tag = mTags[index] != null ? mTags[index] : mTags[endIndex];
+        writeEvent(jsonWriter, index, getSpanName(marker), "X", tag);
+        jsonWriter.name("dur").value(toMicros(mTimestampsNs[endIndex] - mTimestampsNs[index]));
+        jsonWriter.endObject();
+      }
+    }
+    for (Map.Entry<Long, String> threadName : threadNames.entrySet()) {
+      jsonWriter.beginObject()
+        .name("name").value("thread_name")
+        .name("ph").value("M")
+        .name("pid").value(0)
+        .name("tid").value(threadName.getKey())
+        .name("args").beginObject().name("name").value(threadName.getValue()).endObject()
+        .endObject();
+    }
+    jsonWriter.endArray().endObject();
+    writer.flush();
+  }
+
+  private void writeEvent(
+      JsonWriter jsonWriter,
+      int index,
+      String name,
+      String phase,
+      @Nullable String tag) throws IOException {
+    jsonWriter.beginObject()
+      .name("name").value(name)
+      .name("cat").value("react_marker")
+      .name("ph").value(phase)
+      .name("ts").value(toMicros(mTimestampsNs[index]))
+      .name("pid").value(0)
+      .name("tid").value(mThreadIds[index]);
+    jsonWriter.name("args").beginObject();
+    if (tag != null) {
+      jsonWriter.name("tag").value(tag);
+    }
+    if (mInstanceKeys[index] != 0) {
+      jsonWriter.name("instanceKey").value(mInstanceKeys[index]);
+    }
+    jsonWriter.endObject();
+  }
+
+  private static Long getSpanKey(int endMarker, int instanceKey) {
+    return ((long) endMarker << 32) | (instanceKey & 0xffffffffL);
+  }
+
+  private static String getSpanName(ReactMarkerConstants startMarker) {
+    String name = startMarker.name();
+    return name.substring(0, name.length() - START_SUFFIX.length());
+  }
+
+  private static double toMicros(long nanos) {
+    return nanos / 1000.0;
+  }
+}
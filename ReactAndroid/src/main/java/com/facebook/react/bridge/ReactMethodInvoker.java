@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+/**
+ * Base class for the invokers generated by ReactModuleSpecProcessor for native modules annotated
+ * with {@link com.facebook.react.module.annotations.ReactModule}. A generated invoker calls the
+ * module's {@link ReactMethod}s directly through a switch statement, extracting the arguments from
+ * the JS arguments array without going through reflection and without boxing primitive arguments.
+ *
+ * {@link JavaModuleWrapper} looks up the invoker for a module class by appending
+ * {@link #INVOKER_CLASS_SUFFIX} to its name, and falls back to reflection for modules, or for
+ * individual methods, that don't have a generated invoker.
+ */
+public abstract class ReactMethodInvoker {
+
+  public static final String INVOKER_CLASS_SUFFIX = "$$ReactMethodInvoker";
+
+  /**
+   * Returns the index under which {@link #invoke} dispatches the method with the given name, or -1
+   * if the method can't be invoked by this invoker.
+   */
+  public abstract int getMethodIndex(String methodName);
+
+  /**
+   * Invokes the method with the given index on the given module. The number of JS arguments is
+   * expected to have been validated by the caller. Arguments that don't have the type of their
+   * parameter make this throw an {@link ArgumentExtractionException} before the method is called.
+   */
+  public abstract void invoke(
+      NativeModule module,
+      int methodIndex,
+      JSInstance jsInstance,
+      ReadableNativeArray arguments);
+
+  protected static @Nullable Callback extractCallback(
+      JSInstance jsInstance,
+      ReadableNativeArray arguments,
+      int atIndex) {
+    if (arguments.isNull(atIndex)) {
+      return null;
+    }
+    return new CallbackImpl(jsInstance, (int) arguments.getDouble(atIndex));
+  }
+
+  protected static Promise extractPromise(
+      JSInstance jsInstance,
+      ReadableNativeArray arguments,
+      int atIndex) {
+    return new PromiseImpl(
+        extractCallback(jsInstance, arguments, atIndex),
+        extractCallback(jsInstance, arguments, atIndex + 1));
+  }
+
+  protected static Dynamic extractDynamic(ReadableNativeArray arguments, int atIndex) {
+    return DynamicFromArray.create(arguments, atIndex);
+  }
+
+  /**
+   * Thrown by {@link #invoke} when a JS argument couldn't be converted to the type of its
+   * parameter, so that it can be told apart from exceptions thrown by the invoked method itself.
+   */
+  public static class ArgumentExtractionException extends RuntimeException {
+
+    private final int mJSArgumentIndex;
+    private final int mJSArgumentsNeeded;
+
+    public ArgumentExtractionException(
+        UnexpectedNativeTypeException cause,
+        int jsArgumentIndex,
+        int jsArgumentsNeeded) {
+      super(cause.getMessage(), cause);
+      mJSArgumentIndex = jsArgumentIndex;
+      mJSArgumentsNeeded = jsArgumentsNeeded;
+    }
+
+    /** Index of the first JS argument of the parameter that couldn't be extracted */
+    public int getJSArgumentIndex() {
+      return mJSArgumentIndex;
+    }
+
+    /** Number of JS arguments the parameter takes, 2 for promises */
+    public int getJSArgumentsNeeded() {
+      return mJSArgumentsNeeded;
+    }
+  }
+}
@@ -10,6 +10,7 @@ package com.facebook.react.bridge;
 import com.facebook.jni.HybridData;
 import com.facebook.proguard.annotations.DoNotStrip;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import com.facebook.infer.annotation.Assertions;
@@ -32,12 +33,22 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
   //WriteOnce but not in the constructor fields
   private @Nullable Object[] mLocalArray;
   private @Nullable ReadableType[] mLocalTypeArray;
+  private volatile @Nullable TypedValueBuffer mTypedValues;
+  private @Nullable Object[] mNestedValues;
 
   private static int jniPassCounter = 0;
   private static boolean mUseNativeAccessor = false;
+  private static boolean mUseTypedValueBuffer = false;
   public static void setUseNativeAccessor(boolean useNativeAccessor) {
     mUseNativeAccessor = useNativeAccessor;
   }
+  /**
+   * Makes arrays read their values from a {@link TypedValueBuffer} filled by a single JNI call
+   * instead of importing them into an array of boxed values.
+   */
+  public static void setUseTypedValueBuffer(boolean useTypedValueBuffer) {
+    mUseTypedValueBuffer = useTypedValueBuffer;
+  }
   public static int getJNIPassCounter() {
     return jniPassCounter;
   }
@@ -75,12 +86,52 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
   }
   private native Object[] importTypeArray();
 
+  private TypedValueBuffer getTypedValues() {
+    // Fast, non-blocking check for the common case. The field is volatile as the buffer is read
+    // without holding the lock.
+    TypedValueBuffer typedValues = mTypedValues;
+    if (typedValues != null) {
+      return typedValues;
+    }
+    synchronized (this) {
+      // Make sure no concurrent call already updated
+      if (mTypedValues == null) {
+        jniPassCounter++;
+        mTypedValues = new TypedValueBuffer(Assertions.assertNotNull(importTypedValues()));
+      }
+      return mTypedValues;
+    }
+  }
+  private native ByteBuffer importTypedValues();
+
+  private @Nullable Object getTypedNestedValue(int index) {
+    TypedValueBuffer typedValues = getTypedValues();
+    if (typedValues.isNull(index)) {
+      return null;
+    }
+    synchronized (this) {
+      if (mNestedValues == null) {
+        mNestedValues = new Object[typedValues.size()];
+      }
+      if (mNestedValues[index] == null) {
+        jniPassCounter++;
+        mNestedValues[index] = typedValues.getType(index) == ReadableType.Array
+          ? getArrayNative(index)
+          : getMapNative(index);
+      }
+      return mNestedValues[index];
+    }
+  }
+
   @Override
   public int size() {
     if (mUseNativeAccessor) {
       jniPassCounter++;
       return sizeNative();
     }
+    if (mUseTypedValueBuffer) {
+      return getTypedValues().size();
+    }
     return getLocalArray().length;
   }
   private native int sizeNative();
@@ -91,6 +142,9 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
       jniPassCounter++;
       return isNullNative(index);
     }
+    if (mUseTypedValueBuffer) {
+      return getTypedValues().isNull(index);
+    }
     return getLocalArray()[index] == null;
   }
   private native boolean isNullNative(int index);
@@ -101,6 +155,9 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
       jniPassCounter++;
       return getBooleanNative(index);
     }
+    if (mUseTypedValueBuffer) {
+      return getTypedValues().getBoolean(index);
+    }
     return ((Boolean) getLocalArray()[index]).booleanValue();
   }
   private native boolean getBooleanNative(int index);
@@ -111,6 +168,9 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
       jniPassCounter++;
       return getDoubleNative(index);
     }
+    if (mUseTypedValueBuffer) {
+      return getTypedValues().getDouble(index);
+    }
     return ((Double) getLocalArray()[index]).doubleValue();
   }
   private native double getDoubleNative(int index);
@@ -121,6 +181,9 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
       jniPassCounter++;
       return getIntNative(index);
     }
+    if (mUseTypedValueBuffer) {
+      return (int) getTypedValues().getDouble(index);
+    }
     return ((Double) getLocalArray()[index]).intValue();
   }
   private native int getIntNative(int index);
@@ -131,6 +194,9 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
       jniPassCounter++;
       return getStringNative(index);
     }
+    if (mUseTypedValueBuffer) {
+      return getTypedValues().getString(index);
+    }
     return (String) getLocalArray()[index];
   }
   private native String getStringNative(int index);
@@ -141,6 +207,9 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
       jniPassCounter++;
       return getArrayNative(index);
     }
+    if (mUseTypedValueBuffer) {
+      return (ReadableNativeArray) getTypedNestedValue(index);
+    }
     return (ReadableNativeArray) getLocalArray()[index];
   }
   private native ReadableNativeArray getArrayNative(int index);
@@ -151,6 +220,9 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
       jniPassCounter++;
       return getMapNative(index);
     }
+    if (mUseTypedValueBuffer) {
+      return (ReadableNativeMap) getTypedNestedValue(index);
+    }
     return (ReadableNativeMap) getLocalArray()[index];
   }
   private native ReadableNativeMap getMapNative(int index);
@@ -161,6 +233,9 @@ public class ReadableNativeArray extends NativeArray implements ReadableArray {
       jniPassCounter++;
       return getTypeNative(index);
     }
+    if (mUseTypedValueBuffer) {
+      return getTypedValues().getType(index);
+    }
     return getLocalTypeArray()[index];
   }
 
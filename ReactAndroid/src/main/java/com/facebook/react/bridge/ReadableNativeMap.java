@@ -10,8 +10,8 @@ package com.facebook.react.bridge;
 import com.facebook.jni.HybridData;
 import com.facebook.proguard.annotations.DoNotStrip;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
-import java.util.Iterator;
 
 import com.facebook.infer.annotation.Assertions;
 import javax.annotation.Nullable;
@@ -31,66 +31,91 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
   }
 
   private @Nullable String[] mKeys;
-  private @Nullable HashMap<String,Object> mLocalMap;
-  private @Nullable HashMap<String,ReadableType> mLocalTypeMap;
+  private volatile @Nullable LocalValues mLocalValues;
+  private volatile @Nullable TypedValues mTypedValues;
+  private @Nullable Object[] mNestedValues;
   private static boolean mUseNativeAccessor;
+  private static boolean mUseTypedValueBuffer;
   private static int mJniCallCounter;
   public static void setUseNativeAccessor(boolean useNativeAccessor) {
     mUseNativeAccessor = useNativeAccessor;
   }
+  /**
+   * Makes maps read their values from a {@link TypedValueBuffer} filled by a single JNI call instead
+   * of importing them as boxed values.
+   */
+  public static void setUseTypedValueBuffer(boolean useTypedValueBuffer) {
+    mUseTypedValueBuffer = useTypedValueBuffer;
+  }
   public static int getJNIPassCounter() {
     return mJniCallCounter;
   }
 
-  private HashMap<String,Object> getLocalMap() {
-    // Fast return for the common case
-    if (mLocalMap != null) {
-      return mLocalMap;
+  private LocalValues getLocalValues() {
+    // Fast, lock-free return for the common case. LocalValues is immutable so once it's published
+    // through the volatile field any thread can read it without synchronizing.
+    LocalValues localValues = mLocalValues;
+    if (localValues != null) {
+      return localValues;
     }
-    // Check and when necessary get keys atomicaly
+    // Imports need to happen atomically, as they go through native state shared by the JNI calls
     synchronized (this) {
       if (mKeys == null) {
         mKeys = Assertions.assertNotNull(importKeys());
         mJniCallCounter++;
       }
-      if (mLocalMap == null) {
+      if (mLocalValues == null) {
         Object[] values = Assertions.assertNotNull(importValues());
         mJniCallCounter++;
-        mLocalMap = new HashMap<>();
-        for(int i = 0; i< mKeys.length; i++) {
-          mLocalMap.put(mKeys[i], values[i]);
-        }
+        mLocalValues = new LocalValues(mKeys, values);
       }
+      return mLocalValues;
     }
-    return mLocalMap;
   }
   private native String[] importKeys();
   private native Object[] importValues();
 
-  private HashMap<String,ReadableType> getLocalTypeMap() {
-    // Fast and non-blocking return for common case
-    if (mLocalTypeMap != null) {
-      return mLocalTypeMap;
+  private TypedValues getTypedValues() {
+    // Fast, lock-free return for the common case, TypedValues is published like LocalValues
+    TypedValues typedValues = mTypedValues;
+    if (typedValues != null) {
+      return typedValues;
     }
-    // Check and when necessary get keys
     synchronized (this) {
       if (mKeys == null) {
         mKeys = Assertions.assertNotNull(importKeys());
         mJniCallCounter++;
       }
-      // check that no other thread has already updated
-      if (mLocalTypeMap == null) {
-        Object[] types = Assertions.assertNotNull(importTypes());
+      if (mTypedValues == null) {
+        TypedValueBuffer buffer =
+          new TypedValueBuffer(Assertions.assertNotNull(importTypedValues()));
         mJniCallCounter++;
-        mLocalTypeMap = new HashMap<>();
-        for(int i = 0; i< mKeys.length; i++) {
-          mLocalTypeMap.put(mKeys[i], (ReadableType) types[i]);
-        }
+        mTypedValues = new TypedValues(mKeys, buffer);
+      }
+      return mTypedValues;
+    }
+  }
+  private native ByteBuffer importTypedValues();
+
+  private @Nullable Object getTypedNestedValue(String name) {
+    TypedValues typedValues = getTypedValues();
+    int index = typedValues.getExistingIndex(name);
+    if (typedValues.mBuffer.isNull(index)) {
+      return null;
+    }
+    synchronized (this) {
+      if (mNestedValues == null) {
+        mNestedValues = new Object[typedValues.mKeys.length];
       }
+      if (mNestedValues[index] == null) {
+        mJniCallCounter++;
+        mNestedValues[index] = typedValues.mBuffer.getType(index) == ReadableType.Array
+          ? getArrayNative(name)
+          : getMapNative(name);
+      }
+      return mNestedValues[index];
     }
-    return mLocalTypeMap;
   }
-  private native Object[] importTypes();
 
   @Override
   public boolean hasKey(String name) {
@@ -98,7 +123,10 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       mJniCallCounter++;
       return hasKeyNative(name);
     }
-    return getLocalMap().containsKey(name);
+    if (mUseTypedValueBuffer) {
+      return getTypedValues().indexOf(name) != -1;
+    }
+    return getLocalValues().indexOf(name) != -1;
   }
   private native boolean hasKeyNative(String name);
 
@@ -108,24 +136,25 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       mJniCallCounter++;
       return isNullNative(name);
     }
-    if (getLocalMap().containsKey(name)) {
-      return getLocalMap().get(name) == null;
+    if (mUseTypedValueBuffer) {
+      TypedValues typedValues = getTypedValues();
+      return typedValues.mBuffer.isNull(typedValues.getExistingIndex(name));
     }
-    throw new NoSuchKeyException(name);
+    LocalValues localValues = getLocalValues();
+    return localValues.mValues[localValues.getExistingIndex(name)] == null;
   }
   private native boolean isNullNative(String name);
 
   private Object getValue(String name) {
-    if (hasKey(name) && !(isNull(name))) {
-      return Assertions.assertNotNull(getLocalMap().get(name));
+    Object value = getNullableValue(name);
+    if (value == null) {
+      throw new NoSuchKeyException(name);
     }
-    throw new NoSuchKeyException(name);
+    return value;
   }
   private @Nullable Object getNullableValue(String name) {
-    if (hasKey(name)) {
-      return getLocalMap().get(name);
-    }
-    throw new NoSuchKeyException(name);
+    LocalValues localValues = getLocalValues();
+    return localValues.mValues[localValues.getExistingIndex(name)];
   }
 
   @Override
@@ -134,6 +163,10 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       mJniCallCounter++;
       return getBooleanNative(name);
     }
+    if (mUseTypedValueBuffer) {
+      TypedValues typedValues = getTypedValues();
+      return typedValues.mBuffer.getBoolean(typedValues.getExistingIndex(name));
+    }
     return ((Boolean) getValue(name)).booleanValue();
   }
   private native boolean getBooleanNative(String name);
@@ -144,6 +177,10 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       mJniCallCounter++;
       return getDoubleNative(name);
     }
+    if (mUseTypedValueBuffer) {
+      TypedValues typedValues = getTypedValues();
+      return typedValues.mBuffer.getDouble(typedValues.getExistingIndex(name));
+    }
     return ((Double) getValue(name)).doubleValue();
   }
   private native double getDoubleNative(String name);
@@ -154,6 +191,10 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       mJniCallCounter++;
       return getIntNative(name);
     }
+    if (mUseTypedValueBuffer) {
+      TypedValues typedValues = getTypedValues();
+      return (int) typedValues.mBuffer.getDouble(typedValues.getExistingIndex(name));
+    }
     // All numbers coming out of native are doubles, so cast here then truncate
     return ((Double) getValue(name)).intValue();
   }
@@ -165,6 +206,10 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       mJniCallCounter++;
       return getStringNative(name);
     }
+    if (mUseTypedValueBuffer) {
+      TypedValues typedValues = getTypedValues();
+      return typedValues.mBuffer.getString(typedValues.getExistingIndex(name));
+    }
     return (String) getNullableValue(name);
   }
   private native String getStringNative(String name);
@@ -175,6 +220,9 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       mJniCallCounter++;
       return getArrayNative(name);
     }
+    if (mUseTypedValueBuffer) {
+      return (ReadableArray) getTypedNestedValue(name);
+    }
     return (ReadableArray) getNullableValue(name);
   }
   private native ReadableNativeArray getArrayNative(String name);
@@ -185,6 +233,9 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       mJniCallCounter++;
       return getMapNative(name);
     }
+    if (mUseTypedValueBuffer) {
+      return (ReadableNativeMap) getTypedNestedValue(name);
+    }
     return (ReadableNativeMap) getNullableValue(name);
   }
   private native ReadableNativeMap getMapNative(String name);
@@ -195,10 +246,12 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       mJniCallCounter++;
       return getTypeNative(name);
     }
-    if (getLocalTypeMap().containsKey(name)) {
-      return Assertions.assertNotNull(getLocalTypeMap().get(name));
+    if (mUseTypedValueBuffer) {
+      TypedValues typedValues = getTypedValues();
+      return typedValues.mBuffer.getType(typedValues.getExistingIndex(name));
     }
-    throw new NoSuchKeyException(name);
+    LocalValues localValues = getLocalValues();
+    return localValues.getType(localValues.getExistingIndex(name));
   }
   private native ReadableType getTypeNative(String name);
 
@@ -209,7 +262,36 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
 
   @Override
   public ReadableMapKeySetIterator keySetIterator() {
-    return new ReadableNativeMapKeySetIterator(this);
+    if (mUseNativeAccessor) {
+      return new ReadableNativeMapKeySetIterator(this);
+    }
+    // Iterate over the imported keys rather than calling into native for every key. This also
+    // hands out the same String instances that the values are looked up by, which makes the
+    // lookups of the values that are read while iterating cheaper.
+    final String[] keys = getImportedKeys();
+    return new ReadableMapKeySetIterator() {
+      private int mIndex = 0;
+
+      @Override
+      public boolean hasNextKey() {
+        return mIndex < keys.length;
+      }
+
+      @Override
+      public String nextKey() {
+        if (mIndex >= keys.length) {
+          throw new NoSuchKeyException("No more keys to iterate over");
+        }
+        return keys[mIndex++];
+      }
+    };
+  }
+
+  private String[] getImportedKeys() {
+    if (mUseTypedValueBuffer) {
+      return getTypedValues().mKeys;
+    }
+    return getLocalValues().mKeys;
   }
 
   @Override
@@ -250,32 +332,153 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
       return hashMap;
     }
 
-    // we can almost just return getLocalMap(), but we need to convert nested arrays and maps to the
-    // correct types first
-    HashMap<String, Object> hashMap = new HashMap<>(getLocalMap());
-    Iterator iterator = hashMap.keySet().iterator();
-
-    while (iterator.hasNext()) {
-      String key = (String) iterator.next();
-      switch (getType(key)) {
-        case Null:
-        case Boolean:
-        case Number:
-        case String:
-          break;
-        case Map:
-          hashMap.put(key, Assertions.assertNotNull(getMap(key)).toHashMap());
-          break;
-        case Array:
-          hashMap.put(key, Assertions.assertNotNull(getArray(key)).toArrayList());
-          break;
-        default:
-          throw new IllegalArgumentException("Could not convert object with key: " + key + ".");
+    if (mUseTypedValueBuffer) {
+      TypedValues typedValues = getTypedValues();
+      String[] keys = typedValues.mKeys;
+      TypedValueBuffer buffer = typedValues.mBuffer;
+      HashMap<String, Object> hashMap = new HashMap<>();
+      for (int i = 0; i < keys.length; i++) {
+        String key = keys[i];
+        switch (buffer.getType(i)) {
+          case Null:
+            hashMap.put(key, null);
+            break;
+          case Boolean:
+            hashMap.put(key, buffer.getBoolean(i));
+            break;
+          case Number:
+            hashMap.put(key, buffer.getDouble(i));
+            break;
+          case String:
+            hashMap.put(key, buffer.getString(i));
+            break;
+          case Map:
+            hashMap.put(key, Assertions.assertNotNull(getMap(key)).toHashMap());
+            break;
+          case Array:
+            hashMap.put(key, Assertions.assertNotNull(getArray(key)).toArrayList());
+            break;
+          default:
+            throw new IllegalArgumentException("Could not convert object with key: " + key + ".");
+        }
       }
+      return hashMap;
+    }
+
+    LocalValues localValues = getLocalValues();
+    HashMap<String, Object> hashMap = new HashMap<>();
+    for (int i = 0; i < localValues.mKeys.length; i++) {
+      // nested arrays and maps need to be converted to the correct types
+      Object value = localValues.mValues[i];
+      if (value instanceof ReadableNativeMap) {
+        value = ((ReadableNativeMap) value).toHashMap();
+      } else if (value instanceof ReadableNativeArray) {
+        value = ((ReadableNativeArray) value).toArrayList();
+      }
+      hashMap.put(localValues.mKeys[i], value);
     }
     return hashMap;
   }
 
+  /**
+   * Immutable snapshot of the keys and values imported from native. Most maps, e.g. the props of a
+   * single view update, only have a few keys, which are faster to find by scanning the parallel
+   * key and value arrays than by hashing. Only larger maps get an index from key to position.
+   */
+  private static final class LocalValues {
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    private final String[] mKeys;
+    private final Object[] mValues;
+    private final @Nullable HashMap<String, Integer> mKeyIndices;
+
+    private LocalValues(String[] keys, Object[] values) {
+      mKeys = keys;
+      mValues = values;
+      if (keys.length > LINEAR_SCAN_THRESHOLD) {
+        mKeyIndices = new HashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+          mKeyIndices.put(keys[i], i);
+        }
+      } else {
+        mKeyIndices = null;
+      }
+    }
+
+    private int indexOf(String name) {
+      if (mKeyIndices != null) {
+        Integer index = mKeyIndices.get(name);
+        return index == null ? -1 : index;
+      }
+      for (int i = 0; i < mKeys.length; i++) {
+        if (mKeys[i].equals(name)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private int getExistingIndex(String name) {
+      int index = indexOf(name);
+      if (index == -1) {
+        throw new NoSuchKeyException(name);
+      }
+      return index;
+    }
+
+    private ReadableType getType(int index) {
+      Object value = mValues[index];
+      if (value == null) {
+        return ReadableType.Null;
+      } else if (value instanceof Boolean) {
+        return ReadableType.Boolean;
+      } else if (value instanceof Double) {
+        return ReadableType.Number;
+      } else if (value instanceof String) {
+        return ReadableType.String;
+      } else if (value instanceof ReadableMap) {
+        return ReadableType.Map;
+      } else if (value instanceof ReadableArray) {
+        return ReadableType.Array;
+      }
+      throw new IllegalArgumentException("Could not get type of object with key: " + mKeys[index]);
+    }
+  }
+
+  /**
+   * Immutable pair of the keys and the {@link TypedValueBuffer} imported from native. They are
+   * published together so that any thread that sees the buffer also sees the keys.
+   */
+  private static final class TypedValues {
+    private final String[] mKeys;
+    private final TypedValueBuffer mBuffer;
+
+    private TypedValues(String[] keys, TypedValueBuffer buffer) {
+      mKeys = keys;
+      mBuffer = buffer;
+    }
+
+    /**
+     * Maps are generally small enough for a linear scan to beat hashing the key.
+     */
+    private int indexOf(String name) {
+      for (int i = 0; i < mKeys.length; i++) {
+        if (mKeys[i].equals(name)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private int getExistingIndex(String name) {
+      int index = indexOf(name);
+      if (index == -1) {
+        throw new NoSuchKeyException(name);
+      }
+      return index;
+    }
+  }
+
   /**
    * Implementation of a {@link ReadableNativeMap} iterator in native memory.
    */
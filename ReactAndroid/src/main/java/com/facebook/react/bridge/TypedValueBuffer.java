@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+import javax.annotation.Nullable;
+
+/**
+ * Read-only view over the values of a {@link ReadableNativeArray} or {@link ReadableNativeMap}
+ * serialized by native code into a single direct {@link ByteBuffer}. Values are read straight from
+ * the buffer when accessed, so numbers and booleans are never boxed and no intermediate collection
+ * is built. Strings are decoded on first access and then cached.
+ *
+ * The buffer uses the native byte order and has the following layout:
+ *  - a header of 8 bytes, the first 4 of which hold the number of values
+ *  - an entry of 16 bytes per value: the {@link ReadableType} ordinal of the value (4 bytes), the
+ *    length in bytes of the value if it's a string (4 bytes), and a payload (8 bytes) holding the
+ *    double value of numbers, 0 or 1 for booleans, or the offset of the UTF-8 bytes of strings
+ *  - the UTF-8 bytes of all the strings
+ *
+ * Nested arrays and maps are only tagged with their type and need to be fetched separately.
+ */
+/* package */ class TypedValueBuffer {
+
+  private static final int HEADER_SIZE = 8;
+  private static final int ENTRY_SIZE = 16;
+  private static final int LENGTH_OFFSET = 4;
+  private static final int PAYLOAD_OFFSET = 8;
+  private static final ReadableType[] TYPES = ReadableType.values();
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final ByteBuffer mBuffer;
+  private final int mSize;
+  private @Nullable String[] mStrings;
+
+  /* package */ TypedValueBuffer(ByteBuffer buffer) {
+    mBuffer = buffer.order(ByteOrder.nativeOrder());
+    mSize = mBuffer.getInt(0);
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public ReadableType getType(int index) {
+    return TYPES[mBuffer.getInt(getEntryOffset(index))];
+  }
+
+  public boolean isNull(int index) {
+    return getType(index) == ReadableType.Null;
+  }
+
+  public boolean getBoolean(int index) {
+    int entryOffset = getEntryOffset(index, ReadableType.Boolean);
+    return mBuffer.getLong(entryOffset + PAYLOAD_OFFSET) != 0;
+  }
+
+  public double getDouble(int index) {
+    int entryOffset = getEntryOffset(index, ReadableType.Number);
+    return mBuffer.getDouble(entryOffset + PAYLOAD_OFFSET);
+  }
+
+  public @Nullable String getString(int index) {
+    if (isNull(index)) {
+      return null;
+    }
+    int entryOffset = getEntryOffset(index, ReadableType.String);
+    synchronized (this) {
+      if (mStrings == null) {
+        mStrings = new String[mSize];
+      }
+      String string = mStrings[index];
+      if (string == null) {
+        byte[] bytes = new byte[mBuffer.getInt(entryOffset + LENGTH_OFFSET)];
+        mBuffer.position((int) mBuffer.getLong(entryOffset + PAYLOAD_OFFSET));
+        mBuffer.get(bytes);
+        string = new String(bytes, UTF_8);
+        mStrings[index] = string;
+      }
+      return string;
+    }
+  }
+
+  private int getEntryOffset(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return HEADER_SIZE + index * ENTRY_SIZE;
+  }
+
+  private int getEntryOffset(int index, ReadableType expectedType) {
+    int entryOffset = getEntryOffset(index);
+    ReadableType type = TYPES[mBuffer.getInt(entryOffset)];
+    if (type != expectedType) {
+      throw new UnexpectedNativeTypeException(
+        "Value at index " + index + " is a " + type + ", expected a " + expectedType);
+    }
+    return entryOffset;
+  }
+}
@@ -31,6 +31,7 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
   private final Looper mLooper;
   private final MessageQueueThreadHandler mHandler;
   private final String mAssertionErrorMessage;
+  private final MessageQueueThreadStatsRecorder mStatsRecorder;
   private volatile boolean mIsFinished = false;
 
   private MessageQueueThreadImpl(
@@ -41,6 +42,7 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
     mLooper = looper;
     mHandler = new MessageQueueThreadHandler(looper, exceptionHandler);
     mAssertionErrorMessage = "Expected to be called from the '" + getName() + "' thread!";
+    mStatsRecorder = new MessageQueueThreadStatsRecorder(name);
   }
 
   /**
@@ -56,6 +58,9 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
           "Tried to enqueue runnable on already finished thread: '" + getName() +
               "... dropping Runnable.");
     }
+    if (MessageQueueThreadInstrumentation.isEnabled()) {
+      runnable = mStatsRecorder.wrap(runnable);
+    }
     mHandler.post(runnable);
   }
 
@@ -141,7 +146,11 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
       case MAIN_UI:
         return createForMainThread(spec.getName(), exceptionHandler);
       case NEW_BACKGROUND:
-        return startNewBackgroundThread(spec.getName(), spec.getStackSize(), exceptionHandler);
+        return startNewBackgroundThread(
+          spec.getName(),
+          spec.getStackSize(),
+          spec.getThreadPriority(),
+          exceptionHandler);
       default:
         throw new RuntimeException("Unknown thread type: " + spec.getThreadType());
     }
@@ -179,13 +188,14 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
   private static MessageQueueThreadImpl startNewBackgroundThread(
       final String name,
       long stackSize,
+      final int threadPriority,
       QueueThreadExceptionHandler exceptionHandler) {
     final SimpleSettableFuture<Looper> looperFuture = new SimpleSettableFuture<>();
     Thread bgThread = new Thread(null,
         new Runnable() {
           @Override
           public void run() {
-            Process.setThreadPriority(Process.THREAD_PRIORITY_DISPLAY);
+            Process.setThreadPriority(threadPriority);
             Looper.prepare();
 
             looperFuture.set(Looper.myLooper());
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Static class that allows to collect latency and depth stats of the {@link MessageQueueThreadImpl}
+ * queues (JS, native modules and UI), to diagnose jank caused by runnables waiting on busy bridge
+ * threads.
+ *
+ * Instrumentation is off, and costs nothing, as long as no listener is registered. While enabled,
+ * every queue reports a {@link MessageQueueThreadStats} to the listeners, from its own thread, at
+ * most once per reporting interval and only if it ran runnables in the meantime. Only runnables
+ * enqueued while instrumentation is enabled are accounted for.
+ */
+public class MessageQueueThreadInstrumentation {
+
+  public interface QueueStatsListener {
+    void onQueueStats(MessageQueueThreadStats stats);
+  }
+
+  public static final long DEFAULT_REPORTING_INTERVAL_MS = 1000;
+
+  // Use a list instead of a set here because we expect the number of listeners
+  // to be very small, and we want listeners to be called in a deterministic
+  // order. Listeners are called from the queue threads without holding the lock, so that a
+  // listener can't stall the other queues or deadlock with them.
+  private static final List<QueueStatsListener> sListeners = new CopyOnWriteArrayList<>();
+  private static volatile boolean sEnabled = false;
+  private static volatile long sReportingIntervalMs = DEFAULT_REPORTING_INTERVAL_MS;
+
+  public static void addListener(QueueStatsListener listener) {
+    synchronized (sListeners) {
+      if (!sListeners.contains(listener)) {
+        sListeners.add(listener);
+      }
+      sEnabled = true;
+    }
+  }
+
+  public static void removeListener(QueueStatsListener listener) {
+    synchronized (sListeners) {
+      sListeners.remove(listener);
+      sEnabled = !sListeners.isEmpty();
+    }
+  }
+
+  public static void clearListeners() {
+    synchronized (sListeners) {
+      sListeners.clear();
+      sEnabled = false;
+    }
+  }
+
+  public static void setReportingIntervalMs(long reportingIntervalMs) {
+    sReportingIntervalMs = reportingIntervalMs;
+  }
+
+  /* package */ static boolean isEnabled() {
+    return sEnabled;
+  }
+
+  /* package */ static long getReportingIntervalMs() {
+    return sReportingIntervalMs;
+  }
+
+  /* package */ static void reportStats(MessageQueueThreadStats stats) {
+    for (QueueStatsListener listener : sListeners) {
+      listener.onQueueStats(stats);
+    }
+  }
+}
@@ -7,6 +7,8 @@
 
 package com.facebook.react.bridge.queue;
 
+import android.os.Process;
+
 /**
  * Spec for creating a MessageQueueThread.
  */
@@ -18,6 +20,8 @@ public class MessageQueueThreadSpec {
   // The Thread constructor interprets zero the same as not specifying a stack size
   public static final long DEFAULT_STACK_SIZE_BYTES = 0;
 
+  public static final int DEFAULT_THREAD_PRIORITY = Process.THREAD_PRIORITY_DISPLAY;
+
   protected static enum ThreadType {
     MAIN_UI,
     NEW_BACKGROUND,
@@ -35,6 +39,17 @@ public class MessageQueueThreadSpec {
     return new MessageQueueThreadSpec(ThreadType.NEW_BACKGROUND, name, stackSize);
   }
 
+  /**
+   * @param threadPriority a Linux thread priority as accepted by
+   *   {@link Process#setThreadPriority(int)}, e.g. {@link Process#THREAD_PRIORITY_BACKGROUND}
+   */
+  public static MessageQueueThreadSpec newBackgroundThreadSpec(
+      String name,
+      long stackSize,
+      int threadPriority) {
+    return new MessageQueueThreadSpec(ThreadType.NEW_BACKGROUND, name, stackSize, threadPriority);
+  }
+
   public static MessageQueueThreadSpec mainThreadSpec() {
     return MAIN_UI_SPEC;
   }
@@ -42,15 +57,25 @@ public class MessageQueueThreadSpec {
   private final ThreadType mThreadType;
   private final String mName;
   private final long mStackSize;
+  private final int mThreadPriority;
 
   private MessageQueueThreadSpec(ThreadType threadType, String name) {
     this(threadType, name, DEFAULT_STACK_SIZE_BYTES);
   }
 
   private MessageQueueThreadSpec(ThreadType threadType, String name, long stackSize) {
+    this(threadType, name, stackSize, DEFAULT_THREAD_PRIORITY);
+  }
+
+  private MessageQueueThreadSpec(
+      ThreadType threadType,
+      String name,
+      long stackSize,
+      int threadPriority) {
     mThreadType = threadType;
     mName = name;
     mStackSize = stackSize;
+    mThreadPriority = threadPriority;
   }
 
   public ThreadType getThreadType() {
@@ -64,4 +89,8 @@ public class MessageQueueThreadSpec {
   public long getStackSize() {
     return mStackSize;
   }
+
+  public int getThreadPriority() {
+    return mThreadPriority;
+  }
 }
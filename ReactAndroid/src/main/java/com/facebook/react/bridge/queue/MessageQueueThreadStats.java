@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge.queue;
+
+/**
+ * Snapshot of the runnables a {@link MessageQueueThread} processed during a reporting interval,
+ * see {@link MessageQueueThreadInstrumentation}.
+ *
+ * Latencies are bucketed in histograms with power of two bucket boundaries in microseconds: bucket
+ * 0 counts latencies below 1us, bucket i counts latencies in [2^(i-1), 2^i) us, and the last
+ * bucket counts all the latencies that don't fit in the previous ones.
+ */
+public class MessageQueueThreadStats {
+
+  public static final int HISTOGRAM_BUCKET_COUNT = 24;
+
+  private final String mQueueName;
+  private final long mIntervalMs;
+  private final int mRunnableCount;
+  private final int mMaxDepth;
+  private final int[] mWaitTimeHistogram;
+  private final int[] mExecutionTimeHistogram;
+
+  /* package */ MessageQueueThreadStats(
+      String queueName,
+      long intervalMs,
+      int runnableCount,
+      int maxDepth,
+      int[] waitTimeHistogram,
+      int[] executionTimeHistogram) {
+    mQueueName = queueName;
+    mIntervalMs = intervalMs;
+    mRunnableCount = runnableCount;
+    mMaxDepth = maxDepth;
+    mWaitTimeHistogram = waitTimeHistogram;
+    mExecutionTimeHistogram = executionTimeHistogram;
+  }
+
+  /**
+   * @return the name of the queue, as given by its {@link MessageQueueThreadSpec}
+   */
+  public String getQueueName() {
+    return mQueueName;
+  }
+
+  /**
+   * @return the length of the interval these stats cover
+   */
+  public long getIntervalMs() {
+    return mIntervalMs;
+  }
+
+  /**
+   * @return the number of runnables that ran during the interval
+   */
+  public int getRunnableCount() {
+    return mRunnableCount;
+  }
+
+  /**
+   * @return the largest number of runnables that were waiting in the queue at once
+   */
+  public int getMaxDepth() {
+    return mMaxDepth;
+  }
+
+  /**
+   * @return the number of runnables whose time between being enqueued and starting to run falls in
+   *   each bucket
+   */
+  public int[] getWaitTimeHistogram() {
+    return mWaitTimeHistogram;
+  }
+
+  /**
+   * @return the number of runnables whose execution time falls in each bucket
+   */
+  public int[] getExecutionTimeHistogram() {
+    return mExecutionTimeHistogram;
+  }
+
+  /**
+   * @return the exclusive upper bound, in microseconds, of the given histogram bucket, or
+   *   {@link Long#MAX_VALUE} for the last bucket
+   */
+  public static long getBucketUpperBoundUs(int bucket) {
+    return bucket == HISTOGRAM_BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+  }
+
+  /* package */ static int getBucket(long durationUs) {
+    if (durationUs <= 0) {
+      return 0;
+    }
+    int bucket = 64 - Long.numberOfLeadingZeros(durationUs);
+    return Math.min(bucket, HISTOGRAM_BUCKET_COUNT - 1);
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Accumulates the stats of a single {@link MessageQueueThreadImpl} and hands them over to
+ * {@link MessageQueueThreadInstrumentation} once per reporting interval. Runnables are wrapped when
+ * enqueued, from any thread; everything else happens on the queue thread.
+ */
+/* package */ class MessageQueueThreadStatsRecorder {
+
+  private final String mQueueName;
+  private final AtomicInteger mDepth = new AtomicInteger();
+  private final AtomicInteger mMaxDepth = new AtomicInteger();
+
+  private int[] mWaitTimeHistogram = new int[MessageQueueThreadStats.HISTOGRAM_BUCKET_COUNT];
+  private int[] mExecutionTimeHistogram = new int[MessageQueueThreadStats.HISTOGRAM_BUCKET_COUNT];
+  private int mRunnableCount;
+  private long mIntervalStartNs;
+
+  /* package */ MessageQueueThreadStatsRecorder(String queueName) {
+    mQueueName = queueName;
+  }
+
+  /* package */ Runnable wrap(Runnable runnable) {
+    onEnqueued();
+    return new InstrumentedRunnable(runnable, System.nanoTime());
+  }
+
+  private void onEnqueued() {
+    int depth = mDepth.incrementAndGet();
+    int maxDepth = mMaxDepth.get();
+    while (depth > maxDepth && !mMaxDepth.compareAndSet(maxDepth, depth)) {
+      maxDepth = mMaxDepth.get();
+    }
+  }
+
+  /* package */ void onStarted(long enqueueTimeNs, long startTimeNs) {
+    mDepth.decrementAndGet();
+    if (mRunnableCount == 0) {
+      mIntervalStartNs = startTimeNs;
+    }
+    mWaitTimeHistogram[getBucket(startTimeNs - enqueueTimeNs)]++;
+  }
+
+  /* package */ void onFinished(long startTimeNs, long endTimeNs) {
+    mExecutionTimeHistogram[getBucket(endTimeNs - startTimeNs)]++;
+    mRunnableCount++;
+  }
+
+  /**
+   * @return the stats accumulated since the last snapshot, or null if the current reporting
+   *   interval isn't over yet at the given time
+   */
+  /* package */ @Nullable MessageQueueThreadStats takeSnapshotIfDue(
+      long nowNs,
+      long reportingIntervalMs) {
+    long intervalMs = TimeUnit.NANOSECONDS.toMillis(nowNs - mIntervalStartNs);
+    if (mRunnableCount == 0 || intervalMs < reportingIntervalMs) {
+      return null;
+    }
+    MessageQueueThreadStats stats = new MessageQueueThreadStats(
+      mQueueName,
+      intervalMs,
+      mRunnableCount,
+      mMaxDepth.getAndSet(mDepth.get()),
+      mWaitTimeHistogram,
+      mExecutionTimeHistogram);
+    mWaitTimeHistogram = new int[MessageQueueThreadStats.HISTOGRAM_BUCKET_COUNT];
+    mExecutionTimeHistogram = new int[MessageQueueThreadStats.HISTOGRAM_BUCKET_COUNT];
+    mRunnableCount = 0;
+    return stats;
+  }
+
+  private static int getBucket(long durationNs) {
+    return MessageQueueThreadStats.getBucket(TimeUnit.NANOSECONDS.toMicros(durationNs));
+  }
+
+  private class InstrumentedRunnable implements Runnable {
+
+    private final Runnable mRunnable;
+    private final long mEnqueueTimeNs;
+
+    private InstrumentedRunnable(Runnable runnable, long enqueueTimeNs) {
+      mRunnable = runnable;
+      mEnqueueTimeNs = enqueueTimeNs;
+    }
+
+    @Override
+    public void run() {
+      long startTimeNs = System.nanoTime();
+      onStarted(mEnqueueTimeNs, startTimeNs);
+      try {
+        mRunnable.run();
+      } finally {
+        long endTimeNs = System.nanoTime();
+        onFinished(startTimeNs, endTimeNs);
+        MessageQueueThreadStats stats = takeSnapshotIfDue(
+          endTimeNs,
+          MessageQueueThreadInstrumentation.getReportingIntervalMs());
+        if (stats != null) {
+          MessageQueueThreadInstrumentation.reportStats(stats);
+        }
+      }
+    }
+  }
+}
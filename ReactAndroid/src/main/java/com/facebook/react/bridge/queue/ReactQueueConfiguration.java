@@ -15,11 +15,18 @@ package com.facebook.react.bridge.queue;
  *
  * UI Queue Thread: The standard Android main UI thread and Looper. Not configurable.
  * Native Modules Queue Thread: The thread and Looper that native modules are invoked on.
+ * Native Modules Lanes: Optional additional threads that specific native modules can be pinned to
+ * (see ReactModule#queueLane), so that slow modules don't delay calls to the other ones.
  * JS Queue Thread: The thread and Looper that JS is executed on.
  */
 public interface ReactQueueConfiguration {
   MessageQueueThread getUIQueueThread();
   MessageQueueThread getNativeModulesQueueThread();
+  /**
+   * @return the thread of the given native modules lane, or the default native modules thread if
+   *   there is no lane with that name
+   */
+  MessageQueueThread getNativeModulesQueueThread(String lane);
   MessageQueueThread getJSQueueThread();
   void destroy();
 }
@@ -7,6 +7,8 @@
 
 package com.facebook.react.bridge.queue;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import android.os.Looper;
@@ -18,14 +20,17 @@ public class ReactQueueConfigurationImpl implements ReactQueueConfiguration {
   private final MessageQueueThreadImpl mUIQueueThread;
   private final MessageQueueThreadImpl mNativeModulesQueueThread;
   private final MessageQueueThreadImpl mJSQueueThread;
+  private final Map<String, MessageQueueThreadImpl> mNativeModulesLaneThreads;
 
   private ReactQueueConfigurationImpl(
       MessageQueueThreadImpl uiQueueThread,
       MessageQueueThreadImpl nativeModulesQueueThread,
-      MessageQueueThreadImpl jsQueueThread) {
+      MessageQueueThreadImpl jsQueueThread,
+      Map<String, MessageQueueThreadImpl> nativeModulesLaneThreads) {
     mUIQueueThread = uiQueueThread;
     mNativeModulesQueueThread = nativeModulesQueueThread;
     mJSQueueThread = jsQueueThread;
+    mNativeModulesLaneThreads = nativeModulesLaneThreads;
   }
 
   @Override
@@ -38,6 +43,12 @@ public class ReactQueueConfigurationImpl implements ReactQueueConfiguration {
     return mNativeModulesQueueThread;
   }
 
+  @Override
+  public MessageQueueThread getNativeModulesQueueThread(String lane) {
+    MessageQueueThreadImpl laneThread = mNativeModulesLaneThreads.get(lane);
+    return laneThread != null ? laneThread : mNativeModulesQueueThread;
+  }
+
   @Override
   public MessageQueueThread getJSQueueThread() {
     return mJSQueueThread;
@@ -54,6 +65,11 @@ public class ReactQueueConfigurationImpl implements ReactQueueConfiguration {
     if (mJSQueueThread.getLooper() != Looper.getMainLooper()) {
       mJSQueueThread.quitSynchronous();
     }
+    for (MessageQueueThreadImpl laneThread : mNativeModulesLaneThreads.values()) {
+      if (laneThread.getLooper() != Looper.getMainLooper()) {
+        laneThread.quitSynchronous();
+      }
+    }
   }
 
   public static ReactQueueConfigurationImpl create(
@@ -78,9 +94,20 @@ public class ReactQueueConfigurationImpl implements ReactQueueConfiguration {
           MessageQueueThreadImpl.create(spec.getNativeModulesQueueThreadSpec(), exceptionHandler);
     }
 
+    Map<String, MessageQueueThreadImpl> nativeModulesLaneThreads = new HashMap<>();
+    for (Map.Entry<String, MessageQueueThreadSpec> laneSpec :
+        spec.getNativeModulesLaneSpecs().entrySet()) {
+      MessageQueueThreadImpl laneThread = specsToThreads.get(laneSpec.getValue());
+      if (laneThread == null) {
+        laneThread = MessageQueueThreadImpl.create(laneSpec.getValue(), exceptionHandler);
+      }
+      nativeModulesLaneThreads.put(laneSpec.getKey(), laneThread);
+    }
+
     return new ReactQueueConfigurationImpl(
       uiThread,
       nativeModulesThread,
-      jsThread);
+      jsThread,
+      Collections.unmodifiableMap(nativeModulesLaneThreads));
   }
 }
@@ -9,6 +9,10 @@ package com.facebook.react.bridge.queue;
 
 import android.os.Build;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.annotation.Nullable;
 
 import com.facebook.infer.annotation.Assertions;
@@ -25,12 +29,15 @@ public class ReactQueueConfigurationSpec {
 
   private final MessageQueueThreadSpec mNativeModulesQueueThreadSpec;
   private final MessageQueueThreadSpec mJSQueueThreadSpec;
+  private final Map<String, MessageQueueThreadSpec> mNativeModulesLaneSpecs;
 
   private ReactQueueConfigurationSpec(
     MessageQueueThreadSpec nativeModulesQueueThreadSpec,
-    MessageQueueThreadSpec jsQueueThreadSpec) {
+    MessageQueueThreadSpec jsQueueThreadSpec,
+    Map<String, MessageQueueThreadSpec> nativeModulesLaneSpecs) {
     mNativeModulesQueueThreadSpec = nativeModulesQueueThreadSpec;
     mJSQueueThreadSpec = jsQueueThreadSpec;
+    mNativeModulesLaneSpecs = nativeModulesLaneSpecs;
   }
 
   public MessageQueueThreadSpec getNativeModulesQueueThreadSpec() {
@@ -41,6 +48,13 @@ public class ReactQueueConfigurationSpec {
     return mJSQueueThreadSpec;
   }
 
+  /**
+   * @return the specs of the additional native modules lanes, keyed by lane name
+   */
+  public Map<String, MessageQueueThreadSpec> getNativeModulesLaneSpecs() {
+    return mNativeModulesLaneSpecs;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -59,6 +73,7 @@ public class ReactQueueConfigurationSpec {
 
     private @Nullable MessageQueueThreadSpec mNativeModulesQueueSpec;
     private @Nullable MessageQueueThreadSpec mJSQueueSpec;
+    private final Map<String, MessageQueueThreadSpec> mNativeModulesLaneSpecs = new HashMap<>();
 
     public Builder setNativeModulesQueueThreadSpec(MessageQueueThreadSpec spec) {
       Assertions.assertCondition(
@@ -74,10 +89,25 @@ public class ReactQueueConfigurationSpec {
       return this;
     }
 
+    /**
+     * Adds a native modules lane: a separate thread that modules pinned to the lane with
+     * ReactModule#queueLane are invoked on instead of the native modules queue thread. Calls to a
+     * single module keep their order, but calls to modules on different lanes may run in any order
+     * relative to each other. Lane priorities are set through the thread priority of their spec.
+     */
+    public Builder addNativeModulesLaneSpec(String lane, MessageQueueThreadSpec spec) {
+      Assertions.assertCondition(
+        !mNativeModulesLaneSpecs.containsKey(lane),
+        "Setting native modules lane " + lane + " multiple times!");
+      mNativeModulesLaneSpecs.put(lane, spec);
+      return this;
+    }
+
     public ReactQueueConfigurationSpec build() {
       return new ReactQueueConfigurationSpec(
         Assertions.assertNotNull(mNativeModulesQueueSpec),
-        Assertions.assertNotNull(mJSQueueSpec));
+        Assertions.assertNotNull(mJSQueueSpec),
+        Collections.unmodifiableMap(new HashMap<>(mNativeModulesLaneSpecs)));
     }
   }
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Map from int keys to objects, like {@link android.util.SparseArray} but hash based. Keys are kept
+ * in a primitive int[] and found by open addressing with linear probing, so getting, putting and
+ * removing a key take constant time on average, rather than a binary search plus shifting the
+ * arrays on every insertion or removal. Removals shift the following entries back instead of
+ * leaving tombstones, so lookups don't slow down as keys come and go.
+ *
+ * Null values can't be stored, putting null removes the key. Not thread safe.
+ */
+public class IntObjectMap<V> {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+  // Tables are at most half full, which keeps probe sequences short
+  private int[] mKeys;
+  private Object[] mValues;
+  private int mMask;
+  private int mSize;
+
+  public IntObjectMap() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public IntObjectMap(int initialCapacity) {
+    int tableSize = Integer.highestOneBit(Math.max(initialCapacity, 1) * 2 - 1) << 1;
+    allocateTables(tableSize);
+  }
+
+  public @Nullable V get(int key) {
+    int index = indexOf(key);
+    if (index == -1) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    V value = (V) mValues[index];
+    return value;
+  }
+
+  public boolean containsKey(int key) {
+    return indexOf(key) != -1;
+  }
+
+  public void put(int key, @Nullable V value) {
+    if (value == null) {
+      remove(key);
+      return;
+    }
+
+    int index = getHomeIndex(key);
+    while (mValues[index] != null) {
+      if (mKeys[index] == key) {
+        mValues[index] = value;
+        return;
+      }
+      index = (index + 1) & mMask;
+    }
+    mKeys[index] = key;
+    mValues[index] = value;
+    mSize++;
+    if (mSize * 2 > mValues.length) {
+      resize(mValues.length * 2);
+    }
+  }
+
+  public void remove(int key) {
+    int gap = indexOf(key);
+    if (gap == -1) {
+      return;
+    }
+
+    // Move the entries that follow in the same cluster into the gap whenever their home index
+    // doesn't lie between the gap and their current index, so that probing for them still works
+    int index = gap;
+    while (true) {
+      index = (index + 1) & mMask;
+      if (mValues[index] == null) {
+        break;
+      }
+      int homeIndex = getHomeIndex(mKeys[index]);
+      if (((index - homeIndex) & mMask) >= ((index - gap) & mMask)) {
+        mKeys[gap] = mKeys[index];
+        mValues[gap] = mValues[index];
+        gap = index;
+      }
+    }
+    mValues[gap] = null;
+    mSize--;
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  public void clear() {
+    Arrays.fill(mValues, null);
+    mSize = 0;
+  }
+
+  private int indexOf(int key) {
+    int index = getHomeIndex(key);
+    while (mValues[index] != null) {
+      if (mKeys[index] == key) {
+        return index;
+      }
+      index = (index + 1) & mMask;
+    }
+    return -1;
+  }
+
+  private int getHomeIndex(int key) {
+    // React tags are mostly sequential, spread them over the table
+    int hash = key * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mMask;
+  }
+
+  private void resize(int tableSize) {
+    int[] oldKeys = mKeys;
+    Object[] oldValues = mValues;
+    allocateTables(tableSize);
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int index = getHomeIndex(oldKeys[i]);
+        while (mValues[index] != null) {
+          index = (index + 1) & mMask;
+        }
+        mKeys[index] = oldKeys[i];
+        mValues[index] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocateTables(int tableSize) {
+    mKeys = new int[tableSize];
+    mValues = new Object[tableSize];
+    mMask = tableSize - 1;
+  }
+}
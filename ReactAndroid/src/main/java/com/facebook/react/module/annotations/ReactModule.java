@@ -44,4 +44,12 @@ public @interface ReactModule {
    *  correct annotation is not included
    */
   boolean hasConstants() default true;
+
+  /**
+   * Name of the native modules queue lane this module's asynchronous methods run on. Lanes are
+   * configured through {@code ReactQueueConfigurationSpec.Builder#addNativeModulesLaneSpec}, and
+   * the spec is passed to {@code ReactInstanceManagerBuilder#setReactQueueConfigurationSpec}; if
+   * empty, or if no lane with this name is configured, the default native modules queue is used.
+   */
+  String queueLane() default "";
 }
@@ -12,16 +12,27 @@ public class ReactModuleInfo {
   private final boolean mCanOverrideExistingModule;
   private final boolean mNeedsEagerInit;
   private final boolean mHasConstants;
+  private final String mQueueLane;
 
   public ReactModuleInfo(
     String name,
     boolean canOverrideExistingModule,
     boolean needsEagerInit,
     boolean hasConstants) {
+    this(name, canOverrideExistingModule, needsEagerInit, hasConstants, "");
+  }
+
+  public ReactModuleInfo(
+    String name,
+    boolean canOverrideExistingModule,
+    boolean needsEagerInit,
+    boolean hasConstants,
+    String queueLane) {
     mName = name;
     mCanOverrideExistingModule = canOverrideExistingModule;
     mNeedsEagerInit = needsEagerInit;
     mHasConstants = hasConstants;
+    mQueueLane = queueLane;
   }
 
   public String name() {
@@ -39,4 +50,11 @@ public class ReactModuleInfo {
   public boolean hasConstants() {
     return mHasConstants;
   }
+
+  /**
+   * Name of the native modules queue lane the module runs on, empty for the default queue.
+   */
+  public String queueLane() {
+    return mQueueLane;
+  }
 }
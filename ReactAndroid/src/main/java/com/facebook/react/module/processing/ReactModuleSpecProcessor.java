@@ -13,8 +13,10 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.MirroredTypesException;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
@@ -28,7 +30,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 import com.facebook.infer.annotation.SuppressFieldNotInitialized;
+import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.module.annotations.ReactModuleList;
 import com.facebook.react.module.model.ReactModuleInfo;
@@ -42,12 +47,15 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
+import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.tools.Diagnostic.Kind.ERROR;
 
 /**
  * Generates a list of ReactModuleInfo for modules annotated with {@link ReactModule} in
- * {@link ReactPackage}s annotated with {@link ReactModuleList}.
+ * {@link ReactPackage}s annotated with {@link ReactModuleList}, and a ReactMethodInvoker for each
+ * module annotated with {@link ReactModule} that lets the bridge call its {@link ReactMethod}s
+ * without reflection.
  */
 @SupportedAnnotationTypes({
   "com.facebook.react.module.annotations.ReactModule",
@@ -62,6 +70,20 @@ public class ReactModuleSpecProcessor extends AbstractProcessor {
     Class.class,
     ReactModuleInfo.class);
   private static final TypeName INSTANTIATED_MAP_TYPE = ParameterizedTypeName.get(HashMap.class);
+  private static final ClassName REACT_METHOD_INVOKER_TYPE =
+    ClassName.get("com.facebook.react.bridge", "ReactMethodInvoker");
+  private static final ClassName NATIVE_MODULE_TYPE =
+    ClassName.get("com.facebook.react.bridge", "NativeModule");
+  private static final ClassName JS_INSTANCE_TYPE =
+    ClassName.get("com.facebook.react.bridge", "JSInstance");
+  private static final ClassName READABLE_NATIVE_ARRAY_TYPE =
+    ClassName.get("com.facebook.react.bridge", "ReadableNativeArray");
+  private static final ClassName UNEXPECTED_NATIVE_TYPE_EXCEPTION_TYPE =
+    ClassName.get("com.facebook.react.bridge", "UnexpectedNativeTypeException");
+  private static final ClassName ARGUMENT_EXTRACTION_EXCEPTION_TYPE =
+    REACT_METHOD_INVOKER_TYPE.nestedClass("ArgumentExtractionException");
+  // Keep the suffix in sync with ReactMethodInvoker.INVOKER_CLASS_SUFFIX
+  private static final String INVOKER_CLASS_SUFFIX = "$$ReactMethodInvoker";
 
   @SuppressFieldNotInitialized
   private Filer mFiler;
@@ -81,6 +103,14 @@ public class ReactModuleSpecProcessor extends AbstractProcessor {
 
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Set<? extends Element> reactModuleElements = roundEnv.getElementsAnnotatedWith(
+      ReactModule.class);
+    for (Element reactModuleElement : reactModuleElements) {
+      if (reactModuleElement instanceof TypeElement) {
+        generateMethodInvoker((TypeElement) reactModuleElement);
+      }
+    }
+
     Set<? extends Element> reactModuleListElements = roundEnv.getElementsAnnotatedWith(
       ReactModuleList.class);
     for (Element reactModuleListElement : reactModuleListElements) {
@@ -184,7 +214,8 @@ public class ReactModuleSpecProcessor extends AbstractProcessor {
           .append("\"").append(reactModule.name()).append("\"").append(", ")
           .append(reactModule.canOverrideExistingModule()).append(", ")
           .append(reactModule.needsEagerInit()).append(", ")
-          .append(hasConstants)
+          .append(hasConstants).append(", ")
+          .append("\"").append(reactModule.queueLane()).append("\"")
           .append(")")
           .toString();
 
@@ -195,6 +226,208 @@ public class ReactModuleSpecProcessor extends AbstractProcessor {
     return builder.build();
   }
 
+  /**
+   * Generates a ReactMethodInvoker with a case for every asynchronous {@link ReactMethod} declared
+   * by the given module whose arguments can be extracted without reflection. Other methods, like
+   * synchronous ones, keep being invoked through reflection.
+   */
+  private void generateMethodInvoker(TypeElement typeElement) {
+    if (typeElement.getModifiers().contains(PRIVATE)
+        || typeElement.getKind() != ElementKind.CLASS) {
+      return;
+    }
+
+    CodeBlock.Builder indexCode = CodeBlock.builder().beginControlFlow("switch (methodName)");
+    CodeBlock.Builder invokeCode = CodeBlock.builder()
+      .addStatement(
+        "$T typedModule = ($T) module",
+        ClassName.get(typeElement),
+        ClassName.get(typeElement))
+      .beginControlFlow("switch (methodIndex)");
+    int methodCount = 0;
+    for (Element element : typeElement.getEnclosedElements()) {
+      if (element.getKind() != ElementKind.METHOD || element.getModifiers().contains(PRIVATE)) {
+        continue;
+      }
+      ReactMethod reactMethod = element.getAnnotation(ReactMethod.class);
+      if (reactMethod == null || reactMethod.isBlockingSynchronousMethod()) {
+        continue;
+      }
+      ExecutableElement method = (ExecutableElement) element;
+      CodeBlock invocation = getCodeBlockForInvocation(method);
+      if (invocation == null) {
+        continue;
+      }
+      indexCode.addStatement("case $S: return $L", method.getSimpleName(), methodCount);
+      invokeCode
+        .beginControlFlow("case $L:", methodCount)
+        .add(invocation)
+        .addStatement("break")
+        .endControlFlow();
+      methodCount++;
+    }
+    if (methodCount == 0) {
+      return;
+    }
+    indexCode
+      .addStatement("default: return -1")
+      .endControlFlow();
+    invokeCode
+      .add("default:\n")
+      .indent()
+      .addStatement(
+        "throw new $T($S + methodIndex)",
+        IllegalArgumentException.class,
+        "Unknown method index: ")
+      .unindent()
+      .endControlFlow();
+
+    MethodSpec getMethodIndexMethod = MethodSpec.methodBuilder("getMethodIndex")
+      .addAnnotation(Override.class)
+      .addModifiers(PUBLIC)
+      .addParameter(String.class, "methodName")
+      .returns(TypeName.INT)
+      .addCode(indexCode.build())
+      .build();
+    MethodSpec invokeMethod = MethodSpec.methodBuilder("invoke")
+      .addAnnotation(Override.class)
+      .addModifiers(PUBLIC)
+      .addParameter(NATIVE_MODULE_TYPE, "module")
+      .addParameter(TypeName.INT, "methodIndex")
+      .addParameter(JS_INSTANCE_TYPE, "jsInstance")
+      .addParameter(READABLE_NATIVE_ARRAY_TYPE, "arguments")
+      .addCode(invokeCode.build())
+      .build();
+
+    // The invoker is looked up at runtime by appending the suffix to the binary name of the module
+    // class, so nested modules need to keep the `Outer$Inner` part in the generated class name
+    String packageName = mElements.getPackageOf(typeElement).getQualifiedName().toString();
+    String binaryName = mElements.getBinaryName(typeElement).toString();
+    String simpleName = packageName.isEmpty()
+      ? binaryName
+      : binaryName.substring(packageName.length() + 1);
+    TypeSpec invokerTypeSpec = TypeSpec.classBuilder(simpleName + INVOKER_CLASS_SUFFIX)
+      .addModifiers(Modifier.PUBLIC)
+      .superclass(REACT_METHOD_INVOKER_TYPE)
+      .addMethod(getMethodIndexMethod)
+      .addMethod(invokeMethod)
+      .build();
+
+    JavaFile javaFile = JavaFile.builder(packageName, invokerTypeSpec)
+      .addFileComment("Generated by " + getClass().getName())
+      .build();
+
+    try {
+      javaFile.writeTo(mFiler);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Returns the code that calls the given method with its arguments extracted from the JS arguments
+   * array the same way JavaMethodWrapper does, or null if any of its parameters is of a type that
+   * isn't supported here. Arguments are all extracted before the method is called, so that only
+   * extraction failures are reported as ArgumentExtractionExceptions.
+   */
+  private static @Nullable CodeBlock getCodeBlockForInvocation(ExecutableElement method) {
+    List<? extends VariableElement> parameters = method.getParameters();
+    CodeBlock.Builder extractionCode = CodeBlock.builder();
+    CodeBlock.Builder arguments = CodeBlock.builder();
+    int jsArgumentIndex = 0;
+    for (int i = 0; i < parameters.size(); i++) {
+      String argument = "arg" + i;
+      if (i > 0) {
+        arguments.add(", ");
+      }
+      arguments.add("$N", argument);
+      extractionCode.addStatement("jsArgumentIndex = $L", jsArgumentIndex);
+      switch (parameters.get(i).asType().toString()) {
+        case "boolean":
+        case "java.lang.Boolean":
+          extractionCode.addStatement("$N = arguments.getBoolean($L)", argument, jsArgumentIndex);
+          break;
+        case "int":
+        case "java.lang.Integer":
+          extractionCode.addStatement(
+            "$N = (int) arguments.getDouble($L)",
+            argument,
+            jsArgumentIndex);
+          break;
+        case "double":
+        case "java.lang.Double":
+          extractionCode.addStatement("$N = arguments.getDouble($L)", argument, jsArgumentIndex);
+          break;
+        case "float":
+        case "java.lang.Float":
+          extractionCode.addStatement(
+            "$N = (float) arguments.getDouble($L)",
+            argument,
+            jsArgumentIndex);
+          break;
+        case "java.lang.String":
+          extractionCode.addStatement("$N = arguments.getString($L)", argument, jsArgumentIndex);
+          break;
+        case "com.facebook.react.bridge.ReadableMap":
+          extractionCode.addStatement("$N = arguments.getMap($L)", argument, jsArgumentIndex);
+          break;
+        case "com.facebook.react.bridge.ReadableArray":
+          extractionCode.addStatement("$N = arguments.getArray($L)", argument, jsArgumentIndex);
+          break;
+        case "com.facebook.react.bridge.Dynamic":
+          extractionCode.addStatement(
+            "$N = extractDynamic(arguments, $L)",
+            argument,
+            jsArgumentIndex);
+          break;
+        case "com.facebook.react.bridge.Callback":
+          extractionCode.addStatement(
+            "$N = extractCallback(jsInstance, arguments, $L)",
+            argument,
+            jsArgumentIndex);
+          break;
+        case "com.facebook.react.bridge.Promise":
+          if (i != parameters.size() - 1) {
+            return null;
+          }
+          // Promises take two JS arguments, the resolve and the reject callbacks
+          extractionCode
+            .addStatement("jsArgumentsNeeded = 2")
+            .addStatement(
+              "$N = extractPromise(jsInstance, arguments, $L)",
+              argument,
+              jsArgumentIndex);
+          jsArgumentIndex++;
+          break;
+        default:
+          return null;
+      }
+      jsArgumentIndex++;
+    }
+
+    CodeBlock.Builder builder = CodeBlock.builder();
+    if (!parameters.isEmpty()) {
+      for (int i = 0; i < parameters.size(); i++) {
+        builder.addStatement("$T arg$L", TypeName.get(parameters.get(i).asType()), i);
+      }
+      builder
+        .addStatement("int jsArgumentIndex = 0")
+        .addStatement("int jsArgumentsNeeded = 1")
+        .beginControlFlow("try")
+        .add(extractionCode.build())
+        .nextControlFlow("catch ($T e)", UNEXPECTED_NATIVE_TYPE_EXCEPTION_TYPE)
+        .addStatement(
+          "throw new $T(e, jsArgumentIndex, jsArgumentsNeeded)",
+          ARGUMENT_EXTRACTION_EXCEPTION_TYPE)
+        .endControlFlow();
+    }
+    builder.addStatement(
+      "typedModule.$N($L)",
+      method.getSimpleName().toString(),
+      arguments.build());
+    return builder.build();
+  }
+
   private static class ReactModuleSpecException extends Exception {
 
     public final String mMessage;
@@ -3,8 +3,10 @@
 package com.facebook.react.processing;
 
 import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 import static javax.tools.Diagnostic.Kind.ERROR;
 import static javax.tools.Diagnostic.Kind.WARNING;
 
@@ -17,6 +19,7 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
 import com.facebook.react.uimanager.annotations.ReactPropertyHolder;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -55,7 +58,8 @@ import javax.lang.model.util.Types;
  * exported properties with the @ReactProp or @ReactGroupProp annotation. It generates a class
  * per shadow node/view manager that is named {@code <classname>$$PropSetter}. This class contains methods
  * to retrieve the name and type of all methods and a way to set these properties without
- * reflection.
+ * reflection. Properties are numbered in the generated class, so that they are set by switching on
+ * their id rather than on their name.
  */
 @SupportedAnnotationTypes("com.facebook.react.uimanager.annotations.ReactPropertyHolder")
 @SupportedSourceVersion(SourceVersion.RELEASE_7)
@@ -79,17 +83,23 @@ public class ReactPropertyProcessor extends AbstractProcessor {
       ClassName.get(
           "com.facebook.react.uimanager",
           "ViewManagerPropertyUpdater",
-          "ViewManagerSetter");
+          "IndexedViewManagerSetter");
   private static final ClassName SHADOW_NODE_SETTER_TYPE =
       ClassName.get(
           "com.facebook.react.uimanager",
           "ViewManagerPropertyUpdater",
-          "ShadowNodeSetter");
+          "IndexedShadowNodeSetter");
 
   private static final TypeName PROPERTY_MAP_TYPE =
       ParameterizedTypeName.get(Map.class, String.class, String.class);
   private static final TypeName CONCRETE_PROPERTY_MAP_TYPE =
       ParameterizedTypeName.get(HashMap.class, String.class, String.class);
+  private static final TypeName PROPERTY_IDS_TYPE =
+      ParameterizedTypeName.get(Map.class, String.class, Integer.class);
+  private static final TypeName CONCRETE_PROPERTY_IDS_TYPE =
+      ParameterizedTypeName.get(HashMap.class, String.class, Integer.class);
+
+  private static final String PROPERTY_IDS_FIELD = "PROPERTY_IDS";
 
   private final Map<ClassName, ClassInfo> mClasses;
 
@@ -264,7 +274,11 @@ public class ReactPropertyProcessor extends AbstractProcessor {
     TypeSpec holderClass = TypeSpec.classBuilder(holderClassName)
         .addSuperinterface(superType)
         .addModifiers(PUBLIC)
-        .addMethod(generateSetPropertySpec(classInfo, properties))
+        .addField(PROPERTY_IDS_TYPE, PROPERTY_IDS_FIELD, PRIVATE, STATIC, FINAL)
+        .addStaticBlock(generatePropertyIds(properties))
+        .addMethod(generateGetPropertyIdSpec())
+        .addMethod(generateSetPropertySpec(classInfo, properties, false))
+        .addMethod(generateSetPropertySpec(classInfo, properties, true))
         .addMethod(getMethods)
         .build();
 
@@ -294,9 +308,43 @@ public class ReactPropertyProcessor extends AbstractProcessor {
     }
   }
 
+  private static CodeBlock generatePropertyIds(List<PropertyInfo> properties) {
+    CodeBlock.Builder builder = CodeBlock.builder()
+        .addStatement(
+            "$T propertyIds = new $T($L)",
+            PROPERTY_IDS_TYPE,
+            CONCRETE_PROPERTY_IDS_TYPE,
+            properties.size() * 2);
+    for (int i = 0, size = properties.size(); i < size; i++) {
+      builder.addStatement("propertyIds.put($S, $L)", properties.get(i).mProperty.name(), i);
+    }
+    return builder
+        .addStatement(
+            "$L = $T.unmodifiableMap(propertyIds)",
+            PROPERTY_IDS_FIELD,
+            Collections.class)
+        .build();
+  }
+
+  private static MethodSpec generateGetPropertyIdSpec() {
+    return MethodSpec.methodBuilder("getPropertyId")
+        .addModifiers(PUBLIC)
+        .addAnnotation(Override.class)
+        .returns(TypeName.INT)
+        .addParameter(STRING_TYPE, "name")
+        .addStatement("$T propertyId = $L.get(name)", Integer.class, PROPERTY_IDS_FIELD)
+        .addStatement("return propertyId != null ? propertyId : -1")
+        .build();
+  }
+
+  /**
+   * @param byId whether to generate the method that switches on the property id, rather than the
+   *   one looking the id of the property name up and delegating to it
+   */
   private static MethodSpec generateSetPropertySpec(
       ClassInfo classInfo,
-      List<PropertyInfo> properties) {
+      List<PropertyInfo> properties,
+      boolean byId) {
     MethodSpec.Builder builder = MethodSpec.methodBuilder("setProperty")
         .addModifiers(PUBLIC)
         .addAnnotation(Override.class)
@@ -314,11 +362,25 @@ public class ReactPropertyProcessor extends AbstractProcessor {
         break;
     }
 
-    return builder
+    if (byId) {
+      builder.addParameter(TypeName.INT, "propertyId");
+    }
+    builder
         .addParameter(STRING_TYPE, "name")
-        .addParameter(PROPS_TYPE, "props")
-        .addCode(generateSetProperty(classInfo, properties))
-        .build();
+        .addParameter(PROPS_TYPE, "props");
+
+    if (byId) {
+      return builder.addCode(generateSetProperty(classInfo, properties)).build();
+    }
+    switch (classInfo.getType()) {
+      case VIEW_MANAGER:
+        builder.addStatement("setProperty(manager, view, getPropertyId(name), name, props)");
+        break;
+      case SHADOW_NODE:
+        builder.addStatement("setProperty(node, getPropertyId(name), name, props)");
+        break;
+    }
+    return builder.build();
   }
 
   private static CodeBlock generateSetProperty(ClassInfo info, List<PropertyInfo> properties) {
@@ -328,11 +390,11 @@ public class ReactPropertyProcessor extends AbstractProcessor {
 
     CodeBlock.Builder builder = CodeBlock.builder();
 
-    builder.add("switch (name) {\n").indent();
+    builder.add("switch (propertyId) {\n").indent();
     for (int i = 0, size = properties.size(); i < size; i++) {
       PropertyInfo propertyInfo = properties.get(i);
       builder
-          .add("case \"$L\":\n", propertyInfo.mProperty.name())
+          .add("case $L:\n", i)
           .indent();
 
       switch (info.getType()) {
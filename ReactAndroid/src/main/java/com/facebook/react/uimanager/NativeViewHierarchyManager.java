@@ -8,8 +8,8 @@
 package com.facebook.react.uimanager;
 
 import android.content.res.Resources;
+import android.support.v4.view.ViewCompat;
 import android.util.Log;
-import android.util.SparseArray;
 import android.util.SparseBooleanArray;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -28,6 +28,7 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.SoftAssertions;
 import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.common.IntObjectMap;
 import com.facebook.react.touch.JSResponderHandler;
 import com.facebook.react.uimanager.common.SizeMonitoringFrameLayout;
 import com.facebook.react.uimanager.layoutanimation.LayoutAnimationController;
@@ -64,9 +65,15 @@ public class NativeViewHierarchyManager {
 
   private static final String TAG = NativeViewHierarchyManager.class.getSimpleName();
 
+  /**
+   * Number of ints used by a single record in the buffer passed to
+   * {@link #updateLayout(int[], int)}: parentTag, tag, x, y, width and height.
+   */
+  public static final int LAYOUT_RECORD_SIZE = 6;
+
   private final AnimationRegistry mAnimationRegistry;
-  private final SparseArray<View> mTagsToViews;
-  private final SparseArray<ViewManager> mTagsToViewManagers;
+  private final IntObjectMap<View> mTagsToViews;
+  private final IntObjectMap<ViewManager> mTagsToViewManagers;
   private final SparseBooleanArray mRootTags;
   private final ViewManagerRegistry mViewManagers;
   private final JSResponderHandler mJSResponderHandler = new JSResponderHandler();
@@ -83,8 +90,8 @@ public class NativeViewHierarchyManager {
   public NativeViewHierarchyManager(ViewManagerRegistry viewManagers, RootViewManager manager) {
     mAnimationRegistry = new AnimationRegistry();
     mViewManagers = viewManagers;
-    mTagsToViews = new SparseArray<>();
-    mTagsToViewManagers = new SparseArray<>();
+    mTagsToViews = new IntObjectMap<>();
+    mTagsToViewManagers = new IntObjectMap<>();
     mRootTags = new SparseBooleanArray();
     mRootViewManager = manager;
   }
@@ -98,6 +105,15 @@ public class NativeViewHierarchyManager {
     return view;
   }
 
+  /**
+   * Returns whether the view with the given tag exists and is currently attached to a window, i.e.
+   * whether changes to it may become visible.
+   */
+  public synchronized boolean isViewAttachedToWindow(int tag) {
+    View view = mTagsToViews.get(tag);
+    return view != null && ViewCompat.isAttachedToWindow(view);
+  }
+
   public synchronized final ViewManager resolveViewManager(int tag) {
     ViewManager viewManager = mTagsToViewManagers.get(tag);
     if (viewManager == null) {
@@ -144,56 +160,88 @@ public class NativeViewHierarchyManager {
         .arg("tag", tag)
         .flush();
     try {
-      View viewToUpdate = resolveView(tag);
+      updateLayoutInternal(parentTag, tag, x, y, width, height);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_VIEW);
+    }
+  }
 
-      // Even though we have exact dimensions, we still call measure because some platform views (e.g.
-      // Switch) assume that method will always be called before onLayout and onDraw. They use it to
-      // calculate and cache information used in the draw pass. For most views, onMeasure can be
-      // stubbed out to only call setMeasuredDimensions. For ViewGroups, onLayout should be stubbed
-      // out to not recursively call layout on its children: React Native already handles doing that.
-      //
-      // Also, note measure and layout need to be called *after* all View properties have been updated
-      // because of caching and calculation that may occur in onMeasure and onLayout. Layout
-      // operations should also follow the native view hierarchy and go top to bottom for consistency
-      // with standard layout passes (some views may depend on this).
-
-      viewToUpdate.measure(
-          View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
-          View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
-
-      // We update the layout of the ReactRootView when there is a change in the layout of its child.
-      // This is required to re-measure the size of the native View container (usually a
-      // FrameLayout) that is configured with layout_height = WRAP_CONTENT or layout_width =
-      // WRAP_CONTENT
-      //
-      // This code is going to be executed ONLY when there is a change in the size of the Root
-      // View defined in the js side. Changes in the layout of inner views will not trigger an update
-      // on the layour of the Root View.
-      ViewParent parent = viewToUpdate.getParent();
-      if (parent instanceof RootView) {
-        parent.requestLayout();
+  /**
+   * Applies a batch of layout updates. The buffer holds recordCount consecutive records of
+   * {@link #LAYOUT_RECORD_SIZE} ints each, laid out as (parentTag, tag, x, y, width, height), which
+   * are applied in order.
+   */
+  public synchronized void updateLayout(int[] layoutRecords, int recordCount) {
+    UiThreadUtil.assertOnUiThread();
+    SystraceMessage.beginSection(
+        Systrace.TRACE_TAG_REACT_VIEW,
+        "NativeViewHierarchyManager_updateLayoutBatch")
+        .arg("count", recordCount)
+        .flush();
+    try {
+      for (int i = 0, offset = 0; i < recordCount; i++, offset += LAYOUT_RECORD_SIZE) {
+        updateLayoutInternal(
+            layoutRecords[offset],
+            layoutRecords[offset + 1],
+            layoutRecords[offset + 2],
+            layoutRecords[offset + 3],
+            layoutRecords[offset + 4],
+            layoutRecords[offset + 5]);
       }
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_VIEW);
+    }
+  }
 
-      // Check if the parent of the view has to layout the view, or the child has to lay itself out.
-      if (!mRootTags.get(parentTag)) {
-        ViewManager parentViewManager = mTagsToViewManagers.get(parentTag);
-        ViewGroupManager parentViewGroupManager;
-        if (parentViewManager instanceof ViewGroupManager) {
-          parentViewGroupManager = (ViewGroupManager) parentViewManager;
-        } else {
-          throw new IllegalViewOperationException(
-              "Trying to use view with tag " + tag +
-                  " as a parent, but its Manager doesn't extends ViewGroupManager");
-        }
-        if (parentViewGroupManager != null
-            && !parentViewGroupManager.needsCustomLayoutForChildren()) {
-          updateLayout(viewToUpdate, x, y, width, height);
-        }
+  private void updateLayoutInternal(
+      int parentTag, int tag, int x, int y, int width, int height) {
+    View viewToUpdate = resolveView(tag);
+
+    // Even though we have exact dimensions, we still call measure because some platform views (e.g.
+    // Switch) assume that method will always be called before onLayout and onDraw. They use it to
+    // calculate and cache information used in the draw pass. For most views, onMeasure can be
+    // stubbed out to only call setMeasuredDimensions. For ViewGroups, onLayout should be stubbed
+    // out to not recursively call layout on its children: React Native already handles doing that.
+    //
+    // Also, note measure and layout need to be called *after* all View properties have been updated
+    // because of caching and calculation that may occur in onMeasure and onLayout. Layout
+    // operations should also follow the native view hierarchy and go top to bottom for consistency
+    // with standard layout passes (some views may depend on this).
+
+    viewToUpdate.measure(
+        View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+        View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+
+    // We update the layout of the ReactRootView when there is a change in the layout of its child.
+    // This is required to re-measure the size of the native View container (usually a
+    // FrameLayout) that is configured with layout_height = WRAP_CONTENT or layout_width =
+    // WRAP_CONTENT
+    //
+    // This code is going to be executed ONLY when there is a change in the size of the Root
+    // View defined in the js side. Changes in the layout of inner views will not trigger an update
+    // on the layour of the Root View.
+    ViewParent parent = viewToUpdate.getParent();
+    if (parent instanceof RootView) {
+      parent.requestLayout();
+    }
+
+    // Check if the parent of the view has to layout the view, or the child has to lay itself out.
+    if (!mRootTags.get(parentTag)) {
+      ViewManager parentViewManager = mTagsToViewManagers.get(parentTag);
+      ViewGroupManager parentViewGroupManager;
+      if (parentViewManager instanceof ViewGroupManager) {
+        parentViewGroupManager = (ViewGroupManager) parentViewManager;
       } else {
+        throw new IllegalViewOperationException(
+            "Trying to use view with tag " + tag +
+                " as a parent, but its Manager doesn't extends ViewGroupManager");
+      }
+      if (parentViewGroupManager != null
+          && !parentViewGroupManager.needsCustomLayoutForChildren()) {
         updateLayout(viewToUpdate, x, y, width, height);
       }
-    } finally {
-      Systrace.endSection(Systrace.TRACE_TAG_REACT_VIEW);
+    } else {
+      updateLayout(viewToUpdate, x, y, width, height);
     }
   }
 
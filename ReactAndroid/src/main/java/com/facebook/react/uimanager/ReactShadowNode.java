@@ -161,6 +161,13 @@ public interface ReactShadowNode<T extends ReactShadowNode> {
 
   void calculateLayout();
 
+  /**
+   * Same as {@link #calculateLayout()}, but only flags the nodes whose frame changed, and their
+   * ancestors, with {@link #hasNewLayout()}, see
+   * {@link com.facebook.yoga.YogaNode#calculateLayoutFlaggingChangedFrames}.
+   */
+  void calculateLayoutFlaggingChangedFrames();
+
   boolean hasNewLayout();
 
   void markLayoutSeen();
@@ -540,6 +540,13 @@ public class ReactShadowNodeImpl implements ReactShadowNode<ReactShadowNodeImpl>
     mYogaNode.calculateLayout(YogaConstants.UNDEFINED, YogaConstants.UNDEFINED);
   }
 
+  @Override
+  public void calculateLayoutFlaggingChangedFrames() {
+    mYogaNode.calculateLayoutFlaggingChangedFrames(
+        YogaConstants.UNDEFINED,
+        YogaConstants.UNDEFINED);
+  }
+
   @Override
   public final boolean hasNewLayout() {
     return mYogaNode != null && mYogaNode.hasNewLayout();
@@ -7,8 +7,8 @@
 
 package com.facebook.react.uimanager;
 
-import android.util.SparseArray;
 import android.util.SparseBooleanArray;
+import com.facebook.react.common.IntObjectMap;
 import com.facebook.react.common.SingleThreadAsserter;
 
 /**
@@ -17,12 +17,12 @@ import com.facebook.react.common.SingleThreadAsserter;
  */
 public class ShadowNodeRegistry {
 
-  private final SparseArray<ReactShadowNode> mTagsToCSSNodes;
+  private final IntObjectMap<ReactShadowNode> mTagsToCSSNodes;
   private final SparseBooleanArray mRootTags;
   private final SingleThreadAsserter mThreadAsserter;
 
   public ShadowNodeRegistry() {
-    mTagsToCSSNodes = new SparseArray<>();
+    mTagsToCSSNodes = new IntObjectMap<>();
     mRootTags = new SparseBooleanArray();
     mThreadAsserter = new SingleThreadAsserter();
   }
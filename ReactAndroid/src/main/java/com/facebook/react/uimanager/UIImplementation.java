@@ -31,11 +31,17 @@ import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.systrace.Systrace;
 import com.facebook.systrace.SystraceMessage;
 import com.facebook.yoga.YogaDirection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import javax.annotation.Nullable;
 
 /**
@@ -44,6 +50,14 @@ import javax.annotation.Nullable;
  */
 public class UIImplementation {
 
+  private static final int MAX_ROOT_LAYOUT_THREADS = 3;
+  private static final ThreadFactory ROOT_LAYOUT_THREAD_FACTORY = new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable runnable) {
+      return new Thread(runnable, "root_layout");
+    }
+  };
+
   protected final EventDispatcher mEventDispatcher;
   protected final ReactApplicationContext mReactContext;
   protected final ShadowNodeRegistry mShadowNodeRegistry = new ShadowNodeRegistry();
@@ -54,6 +68,8 @@ public class UIImplementation {
   private final int[] mMeasureBuffer = new int[4];
 
   private long mLastCalculateLayoutTime = 0;
+  private @Nullable ExecutorService mRootLayoutExecutor;
+  private boolean mOnlyApplyChangedLayouts;
   protected @Nullable LayoutUpdateListener mLayoutUpdateListener;
 
   /** Interface definition for a callback to be invoked when the layout has been updated */
@@ -676,36 +692,27 @@ public class UIImplementation {
       Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
       "UIImplementation.updateViewHierarchy");
     try {
+      List<ReactShadowNode> cssRoots = new ArrayList<>(mShadowNodeRegistry.getRootNodeCount());
       for (int i = 0; i < mShadowNodeRegistry.getRootNodeCount(); i++) {
         int tag = mShadowNodeRegistry.getRootTag(i);
-        ReactShadowNode cssRoot = mShadowNodeRegistry.getNode(tag);
-
         if (mMeasuredRootNodes.contains(tag)) {
-          SystraceMessage.beginSection(
-                  Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                  "UIImplementation.notifyOnBeforeLayoutRecursive")
-              .arg("rootTag", cssRoot.getReactTag())
-              .flush();
-          try {
-            notifyOnBeforeLayoutRecursive(cssRoot);
-          } finally {
-            Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
-          }
+          cssRoots.add(mShadowNodeRegistry.getNode(tag));
+        }
+      }
 
+      if (mRootLayoutExecutor != null && cssRoots.size() > 1) {
+        for (ReactShadowNode cssRoot : cssRoots) {
+          notifyOnBeforeLayout(cssRoot);
+        }
+        calculateRootLayoutsInParallel(cssRoots, mRootLayoutExecutor);
+        for (ReactShadowNode cssRoot : cssRoots) {
+          applyRootUpdates(cssRoot);
+        }
+      } else {
+        for (ReactShadowNode cssRoot : cssRoots) {
+          notifyOnBeforeLayout(cssRoot);
           calculateRootLayout(cssRoot);
-          SystraceMessage.beginSection(
-                  Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "UIImplementation.applyUpdatesRecursive")
-              .arg("rootTag", cssRoot.getReactTag())
-              .flush();
-          try {
-            applyUpdatesRecursive(cssRoot, 0f, 0f);
-          } finally {
-            Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
-          }
-
-          if (mLayoutUpdateListener != null) {
-            mLayoutUpdateListener.onLayoutUpdated(cssRoot);
-          }
+          applyRootUpdates(cssRoot);
         }
       }
     } finally {
@@ -713,6 +720,86 @@ public class UIImplementation {
     }
   }
 
+  private void notifyOnBeforeLayout(ReactShadowNode cssRoot) {
+    SystraceMessage.beginSection(
+            Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+            "UIImplementation.notifyOnBeforeLayoutRecursive")
+        .arg("rootTag", cssRoot.getReactTag())
+        .flush();
+    try {
+      notifyOnBeforeLayoutRecursive(cssRoot);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
+  private void applyRootUpdates(ReactShadowNode cssRoot) {
+    SystraceMessage.beginSection(
+            Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "UIImplementation.applyUpdatesRecursive")
+        .arg("rootTag", cssRoot.getReactTag())
+        .flush();
+    try {
+      applyUpdatesRecursive(cssRoot, 0f, 0f);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+
+    if (mLayoutUpdateListener != null) {
+      mLayoutUpdateListener.onLayoutUpdated(cssRoot);
+    }
+  }
+
+  /**
+   * Calculates the layout of every root, the first one on the calling thread and the others on
+   * the root layout pool. Returns once all of them are done, even if one of them failed.
+   */
+  private void calculateRootLayoutsInParallel(
+      List<ReactShadowNode> cssRoots,
+      ExecutorService executor) {
+    long startTime = SystemClock.uptimeMillis();
+    List<Future<?>> futures = new ArrayList<>(cssRoots.size() - 1);
+    for (int i = 1; i < cssRoots.size(); i++) {
+      futures.add(
+          executor.submit(new RootLayoutTask(cssRoots.get(i), mOnlyApplyChangedLayouts)));
+    }
+
+    Throwable failure = null;
+    try {
+      new RootLayoutTask(cssRoots.get(0), mOnlyApplyChangedLayouts).run();
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+    // The shadow trees can't be touched by this thread until the other layouts are done
+    boolean interrupted = false;
+    for (Future<?> future : futures) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    mLastCalculateLayoutTime = SystemClock.uptimeMillis() - startTime;
+
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new RuntimeException(failure);
+    }
+  }
+
   /**
    * Registers a new Animation that can then be added to a View using {@link #addAnimation}.
    */
@@ -827,6 +914,30 @@ public class UIImplementation {
     mOperationsQueue.setViewHierarchyUpdateDebugListener(listener);
   }
 
+  /**
+   * Enables recycling of the high-frequency UI operation objects, see
+   * {@link UIViewOperationQueue#setRecycleOperationsEnabled}.
+   */
+  public void setRecycleUIOperationsEnabled(boolean enabled) {
+    mOperationsQueue.setRecycleOperationsEnabled(enabled);
+  }
+
+  /**
+   * Enables removal of redundant UI operations before each batch is dispatched, see
+   * {@link UIViewOperationQueue#setCoalesceOperationsEnabled}.
+   */
+  public void setCoalesceUIOperationsEnabled(boolean enabled) {
+    mOperationsQueue.setCoalesceOperationsEnabled(enabled);
+  }
+
+  /**
+   * Enables frame-budget-aware execution of UI operation batches, see
+   * {@link UIViewOperationQueue#setTimeSlicedExecutionEnabled}.
+   */
+  public void setTimeSlicedUIOperationsEnabled(boolean enabled) {
+    mOperationsQueue.setTimeSlicedExecutionEnabled(enabled);
+  }
+
   protected final void removeShadowNode(ReactShadowNode nodeToRemove) {
     removeShadowNodeRecursive(nodeToRemove);
     nodeToRemove.dispose();
@@ -944,7 +1055,7 @@ public class UIImplementation {
         .flush();
     long startTime = SystemClock.uptimeMillis();
     try {
-      cssRoot.calculateLayout();
+      calculateLayout(cssRoot, mOnlyApplyChangedLayouts);
     } finally {
       Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
       mLastCalculateLayoutTime = SystemClock.uptimeMillis() - startTime;
@@ -1034,4 +1145,65 @@ public class UIImplementation {
   public void removeLayoutUpdateListener() {
     mLayoutUpdateListener = null;
   }
+
+  /**
+   * Enables calculating the layouts of the root views concurrently, on a small pool of background
+   * threads, when more than one root view is hosted at the same time. Updates are still applied to
+   * the roots one at a time and in the same order as before, once all the layouts are done, so the
+   * resulting UI operations don't depend on how the threads got scheduled. Measure functions of
+   * shadow nodes must not share mutable state across root views for this to be enabled, the ones
+   * of the built-in views don't.
+   */
+  public void setParallelRootLayoutEnabled(boolean enabled) {
+    if (enabled && mRootLayoutExecutor == null) {
+      // The thread updating the view hierarchy calculates the layout of one of the roots itself
+      int threadCount = Runtime.getRuntime().availableProcessors() - 1;
+      threadCount = Math.max(1, Math.min(MAX_ROOT_LAYOUT_THREADS, threadCount));
+      mRootLayoutExecutor = Executors.newFixedThreadPool(threadCount, ROOT_LAYOUT_THREAD_FACTORY);
+    } else if (!enabled && mRootLayoutExecutor != null) {
+      mRootLayoutExecutor.shutdown();
+      mRootLayoutExecutor = null;
+    }
+  }
+
+  /**
+   * Only applies the layout to the nodes whose frame changed in the last layout calculation and to
+   * their ancestors, rather than to every node that got laid out again. Layout events are only
+   * dispatched for nodes whose frame changed in both cases, so this skips walking the subtrees in
+   * which nothing can change, e.g. siblings of a text that changed.
+   */
+  public void setOnlyApplyChangedLayoutsEnabled(boolean enabled) {
+    mOnlyApplyChangedLayouts = enabled;
+  }
+
+  private static void calculateLayout(ReactShadowNode cssRoot, boolean flagChangedFramesOnly) {
+    if (flagChangedFramesOnly) {
+      cssRoot.calculateLayoutFlaggingChangedFrames();
+    } else {
+      cssRoot.calculateLayout();
+    }
+  }
+
+  private static class RootLayoutTask implements Runnable {
+
+    private final ReactShadowNode mCssRoot;
+    private final boolean mFlagChangedFramesOnly;
+
+    private RootLayoutTask(ReactShadowNode cssRoot, boolean flagChangedFramesOnly) {
+      mCssRoot = cssRoot;
+      mFlagChangedFramesOnly = flagChangedFramesOnly;
+    }
+
+    @Override
+    public void run() {
+      SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "cssRoot.calculateLayout")
+          .arg("rootTag", mCssRoot.getReactTag())
+          .flush();
+      try {
+        calculateLayout(mCssRoot, mFlagChangedFramesOnly);
+      } finally {
+        Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+      }
+    }
+  }
 }
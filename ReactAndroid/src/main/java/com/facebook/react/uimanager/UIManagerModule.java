@@ -198,6 +198,7 @@ public class UIManagerModule extends ReactContextBaseJavaModule implements
   public void onCatalystInstanceDestroy() {
     super.onCatalystInstanceDestroy();
     mEventDispatcher.onCatalystInstanceDestroyed();
+    mUIImplementation.setParallelRootLayoutEnabled(false);
 
     getReactApplicationContext().unregisterComponentCallbacks(mMemoryTrimCallback);
     YogaNodePool.get().clear();
@@ -766,6 +767,7 @@ public class UIManagerModule extends ReactContextBaseJavaModule implements
     public void onTrimMemory(int level) {
       if (level >= TRIM_MEMORY_MODERATE) {
         YogaNodePool.get().clear();
+        mUIImplementation.getUIViewOperationQueue().clearOperationPools();
       }
     }
 
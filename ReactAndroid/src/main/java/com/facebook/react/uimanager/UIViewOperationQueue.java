@@ -8,17 +8,22 @@
 package com.facebook.react.uimanager;
 
 import android.os.SystemClock;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.View;
 import com.facebook.common.logging.FLog;
 import com.facebook.react.animation.Animation;
 import com.facebook.react.animation.AnimationRegistry;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.GuardedRunnable;
+import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.SoftAssertions;
 import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.common.ClearableSynchronizedPool;
 import com.facebook.react.common.ReactConstants;
 import com.facebook.react.modules.core.ReactChoreographer;
 import com.facebook.react.uimanager.common.SizeMonitoringFrameLayout;
@@ -40,13 +45,27 @@ import javax.annotation.concurrent.GuardedBy;
  * execute all the JS operation coming from a single batch a single loop of the main (UI) android
  * looper.
  *
- * TODO(7135923): Pooling of operation objects
+ * <p>Consecutive layout updates are packed into a single {@link UpdateLayoutBatchOperation} backed
+ * by a flat int[] buffer rather than allocating an operation per view.
+ *
+ * <p>When {@link #setRecycleOperationsEnabled} is on, the high-frequency operations (property
+ * updates, layout update batches and children management) are acquired from per-type pools and
+ * returned to them once they have been executed on the UI thread.
+ *
+ * <p>When {@link #setCoalesceOperationsEnabled} is on, each batch is coalesced before it is handed
+ * to the UI thread, see {@link #coalesceOperations}.
+ *
  * TODO(5694019): Consider a better data structure for operations queue to save on allocations
  */
 public class UIViewOperationQueue {
 
   public static final int DEFAULT_MIN_TIME_LEFT_IN_FRAME_FOR_NONBATCHED_OPERATION_MS = 8;
 
+  private static final int UPDATE_PROPERTIES_OPERATION_POOL_SIZE = 256;
+  private static final int UPDATE_LAYOUT_BATCH_OPERATION_POOL_SIZE = 16;
+  private static final int LAYOUT_BATCH_INITIAL_CAPACITY = 16;
+  private static final int MANAGE_CHILDREN_OPERATION_POOL_SIZE = 128;
+
   private final int[] mMeasureBuffer = new int[4];
 
   /**
@@ -69,6 +88,18 @@ public class UIViewOperationQueue {
     }
   }
 
+  /**
+   * A {@link UIOperation} that can be returned to its pool after it has been executed.
+   */
+  private interface RecyclableOperation extends UIOperation {
+
+    /**
+     * Drops the references held by this operation and releases it back to its pool. Must only be
+     * called once the operation has been executed.
+     */
+    void recycle();
+  }
+
   private final class RemoveRootViewOperation extends ViewOperation {
 
     public RemoveRootViewOperation(int tag) {
@@ -81,50 +112,134 @@ public class UIViewOperationQueue {
     }
   }
 
-  private final class UpdatePropertiesOperation extends ViewOperation {
+  private final class UpdatePropertiesOperation extends ViewOperation
+      implements RecyclableOperation {
 
-    private final ReactStylesDiffMap mProps;
+    private @Nullable ReactStylesDiffMap mProps;
+    private boolean mIsMerged;
 
     private UpdatePropertiesOperation(int tag, ReactStylesDiffMap props) {
       super(tag);
       mProps = props;
     }
 
+    private void init(int tag, ReactStylesDiffMap props) {
+      mTag = tag;
+      mProps = props;
+      mIsMerged = false;
+    }
+
+    /**
+     * Applies the props of a later update of the same view on top of the ones of this operation.
+     */
+    private void merge(ReactStylesDiffMap props) {
+      if (!mIsMerged) {
+        mProps = new ReactStylesDiffMap(JavaOnlyMap.deepClone(mProps.mBackingMap));
+        mIsMerged = true;
+      }
+      ((JavaOnlyMap) mProps.mBackingMap).merge(JavaOnlyMap.deepClone(props.mBackingMap));
+    }
+
     @Override
     public void execute() {
       mNativeViewHierarchyManager.updateProperties(mTag, mProps);
     }
+
+    @Override
+    public void recycle() {
+      mProps = null;
+      mIsMerged = false;
+      mUpdatePropertiesOperationPool.release(this);
+    }
   }
 
   /**
-   * Operation for updating native view's position and size. The operation is not created directly
-   * by a {@link UIManagerModule} call from JS. Instead it gets inflated using computed position
-   * and size values by CSSNodeDEPRECATED hierarchy.
+   * Operation for updating position and size of a run of native views. The operation is not
+   * created directly by a {@link UIManagerModule} call from JS. Instead it gets inflated using
+   * computed position and size values by CSSNodeDEPRECATED hierarchy. Consecutive layout updates are
+   * appended to the same operation as records of
+   * {@link NativeViewHierarchyManager#LAYOUT_RECORD_SIZE} ints, so a large re-layout costs a single
+   * buffer instead of an object per view.
    */
-  private final class UpdateLayoutOperation extends ViewOperation {
+  private final class UpdateLayoutBatchOperation implements RecyclableOperation {
 
-    private final int mParentTag, mX, mY, mWidth, mHeight;
+    private int[] mLayoutRecords =
+        new int[LAYOUT_BATCH_INITIAL_CAPACITY * NativeViewHierarchyManager.LAYOUT_RECORD_SIZE];
+    private int mRecordCount;
+    private int mFlowId;
 
-    public UpdateLayoutOperation(
+    private void add(
         int parentTag,
         int tag,
         int x,
         int y,
         int width,
         int height) {
-      super(tag);
-      mParentTag = parentTag;
-      mX = x;
-      mY = y;
-      mWidth = width;
-      mHeight = height;
-      Systrace.startAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "updateLayout", mTag);
+      int offset = mRecordCount * NativeViewHierarchyManager.LAYOUT_RECORD_SIZE;
+      if (offset + NativeViewHierarchyManager.LAYOUT_RECORD_SIZE > mLayoutRecords.length) {
+        int[] newLayoutRecords = new int[mLayoutRecords.length * 2];
+        System.arraycopy(mLayoutRecords, 0, newLayoutRecords, 0, offset);
+        mLayoutRecords = newLayoutRecords;
+      }
+      mLayoutRecords[offset] = parentTag;
+      mLayoutRecords[offset + 1] = tag;
+      mLayoutRecords[offset + 2] = x;
+      mLayoutRecords[offset + 3] = y;
+      mLayoutRecords[offset + 4] = width;
+      mLayoutRecords[offset + 5] = height;
+      if (mRecordCount == 0) {
+        mFlowId = tag;
+        Systrace.startAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "updateLayout", mFlowId);
+      }
+      mRecordCount++;
+    }
+
+    private int getRecordCount() {
+      return mRecordCount;
+    }
+
+    private int getRecordTag(int index) {
+      return mLayoutRecords[index * NativeViewHierarchyManager.LAYOUT_RECORD_SIZE + 1];
+    }
+
+    /**
+     * Marks a record to be dropped by the next call to {@link #compact()}.
+     */
+    private void elideRecord(int index) {
+      mLayoutRecords[index * NativeViewHierarchyManager.LAYOUT_RECORD_SIZE + 1] = View.NO_ID;
+    }
+
+    /**
+     * Removes the records marked by {@link #elideRecord(int)} and returns the remaining count.
+     */
+    private int compact() {
+      int recordSize = NativeViewHierarchyManager.LAYOUT_RECORD_SIZE;
+      int retained = 0;
+      for (int i = 0; i < mRecordCount; i++) {
+        if (mLayoutRecords[i * recordSize + 1] == View.NO_ID) {
+          continue;
+        }
+        if (retained != i) {
+          System.arraycopy(mLayoutRecords, i * recordSize, mLayoutRecords, retained * recordSize,
+              recordSize);
+        }
+        retained++;
+      }
+      mRecordCount = retained;
+      return retained;
     }
 
     @Override
     public void execute() {
-      Systrace.endAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "updateLayout", mTag);
-      mNativeViewHierarchyManager.updateLayout(mParentTag, mTag, mX, mY, mWidth, mHeight);
+      Systrace.endAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "updateLayout", mFlowId);
+      mNativeViewHierarchyManager.updateLayout(mLayoutRecords, mRecordCount);
+    }
+
+    @Override
+    public void recycle() {
+      // Keep the buffer around, that's what makes a recycled batch allocation-free
+      mRecordCount = 0;
+      mUpdateLayoutBatchOperationPool.release(this);
     }
   }
 
@@ -154,14 +269,16 @@ public class UIViewOperationQueue {
           mTag,
           mClassName,
           mInitialProps);
+      mPendingCreatedViewTags.put(mTag, true);
     }
   }
 
-  private final class ManageChildrenOperation extends ViewOperation {
+  private final class ManageChildrenOperation extends ViewOperation
+      implements RecyclableOperation {
 
-    private final @Nullable int[] mIndicesToRemove;
-    private final @Nullable ViewAtIndex[] mViewsToAdd;
-    private final @Nullable int[] mTagsToDelete;
+    private @Nullable int[] mIndicesToRemove;
+    private @Nullable ViewAtIndex[] mViewsToAdd;
+    private @Nullable int[] mTagsToDelete;
 
     public ManageChildrenOperation(
         int tag,
@@ -169,11 +286,28 @@ public class UIViewOperationQueue {
         @Nullable ViewAtIndex[] viewsToAdd,
         @Nullable int[] tagsToDelete) {
       super(tag);
+      init(tag, indicesToRemove, viewsToAdd, tagsToDelete);
+    }
+
+    private void init(
+        int tag,
+        @Nullable int[] indicesToRemove,
+        @Nullable ViewAtIndex[] viewsToAdd,
+        @Nullable int[] tagsToDelete) {
+      mTag = tag;
       mIndicesToRemove = indicesToRemove;
       mViewsToAdd = viewsToAdd;
       mTagsToDelete = tagsToDelete;
     }
 
+    @Override
+    public void recycle() {
+      mIndicesToRemove = null;
+      mViewsToAdd = null;
+      mTagsToDelete = null;
+      mManageChildrenOperationPool.release(this);
+    }
+
     @Override
     public void execute() {
       mNativeViewHierarchyManager.manageChildren(
@@ -542,11 +676,29 @@ public class UIViewOperationQueue {
   private final DispatchUIFrameCallback mDispatchUIFrameCallback;
   private final ReactApplicationContext mReactApplicationContext;
 
+  // Operations are acquired on the native modules thread and released on the UI thread
+  private final ClearableSynchronizedPool<UpdatePropertiesOperation>
+      mUpdatePropertiesOperationPool =
+          new ClearableSynchronizedPool<>(UPDATE_PROPERTIES_OPERATION_POOL_SIZE);
+  private final ClearableSynchronizedPool<UpdateLayoutBatchOperation>
+      mUpdateLayoutBatchOperationPool =
+          new ClearableSynchronizedPool<>(UPDATE_LAYOUT_BATCH_OPERATION_POOL_SIZE);
+  private final ClearableSynchronizedPool<ManageChildrenOperation> mManageChildrenOperationPool =
+      new ClearableSynchronizedPool<>(MANAGE_CHILDREN_OPERATION_POOL_SIZE);
+
   // Only called from the UIManager queue?
   private ArrayList<UIOperation> mOperations = new ArrayList<>();
 
+  // Scratch state of coalesceOperations, only used from the UIManager queue
+  private final SparseBooleanArray mCoalescingDeletedTags = new SparseBooleanArray();
+  private final SparseBooleanArray mCoalescingLaidOutTags = new SparseBooleanArray();
+  private final SparseArray<UpdatePropertiesOperation> mCoalescingPropertyUpdates =
+      new SparseArray<>();
+  // Views created since the pending batches were last all executed, only used on the UI thread
+  private final SparseBooleanArray mPendingCreatedViewTags = new SparseBooleanArray();
+
   @GuardedBy("mDispatchRunnablesLock")
-  private ArrayList<Runnable> mDispatchUIRunnables = new ArrayList<>();
+  private ArrayList<DispatchBatchRunnable> mDispatchUIRunnables = new ArrayList<>();
 
   @GuardedBy("mNonBatchedOperationsLock")
   private ArrayDeque<UIOperation> mNonBatchedOperations = new ArrayDeque<>();
@@ -555,7 +707,16 @@ public class UIViewOperationQueue {
   private boolean mIsDispatchUIFrameCallbackEnqueued = false;
   private boolean mIsInIllegalUIState = false;
   private boolean mIsProfilingNextBatch = false;
+  private volatile boolean mRecycleOperationsEnabled = false;
+  private boolean mCoalesceOperationsEnabled = false;
+  private volatile boolean mTimeSlicedExecutionEnabled = false;
+  private long mLastBatchElidedOperationCount;
+  private long mElidedOperationTotalCount;
+  private long mOperationPoolHits;
+  private long mOperationPoolMisses;
   private long mNonBatchedExecutionTotalTime;
+  private long mBatchedExecutionStartTime;
+  private long mBatchedExecutionTotalTime;
   private long mProfiledBatchCommitStartTime;
   private long mProfiledBatchLayoutTime;
   private long mProfiledBatchDispatchViewUpdatesTime;
@@ -600,9 +761,54 @@ public class UIViewOperationQueue {
     perfMap.put("RunStartTime", mProfiledBatchRunStartTime);
     perfMap.put("BatchedExecutionTime", mProfiledBatchBatchedExecutionTime);
     perfMap.put("NonBatchedExecutionTime", mProfiledBatchNonBatchedExecutionTime);
+    perfMap.put("OperationPoolHits", mOperationPoolHits);
+    perfMap.put("OperationPoolMisses", mOperationPoolMisses);
+    perfMap.put("LastBatchElidedOperations", mLastBatchElidedOperationCount);
+    perfMap.put("ElidedOperations", mElidedOperationTotalCount);
     return perfMap;
   }
 
+  /**
+   * Enables executing batches in slices against the frame deadline instead of all at once. Only
+   * work that targets views created by the pending batches and not attached to a window yet (i.e.
+   * building a new subtree) is ever deferred to a later frame; once a batch reaches an operation
+   * that affects any other view, the rest of the batch is executed in the same frame so no
+   * intermediate state is ever rendered. This trades a few frames of mount latency for not janking the current frame.
+   */
+  public void setTimeSlicedExecutionEnabled(boolean enabled) {
+    mTimeSlicedExecutionEnabled = enabled;
+  }
+
+  /**
+   * Enables the pre-dispatch pass that removes redundant operations from each batch, see
+   * {@link #coalesceOperations}. The number of elided operations is reported through
+   * {@link #getProfiledBatchPerfCounters()}.
+   */
+  public void setCoalesceOperationsEnabled(boolean enabled) {
+    mCoalesceOperationsEnabled = enabled;
+  }
+
+  /**
+   * Enables pooling of {@link UpdatePropertiesOperation}, {@link UpdateLayoutBatchOperation} and
+   * {@link ManageChildrenOperation} objects. Pool hits and misses are reported through
+   * {@link #getProfiledBatchPerfCounters()}.
+   */
+  public void setRecycleOperationsEnabled(boolean enabled) {
+    mRecycleOperationsEnabled = enabled;
+    if (!enabled) {
+      clearOperationPools();
+    }
+  }
+
+  /**
+   * Drops all pooled operation objects, e.g. on memory pressure.
+   */
+  public void clearOperationPools() {
+    mUpdatePropertiesOperationPool.clear();
+    mUpdateLayoutBatchOperationPool.clear();
+    mManageChildrenOperationPool.clear();
+  }
+
   public boolean isEmpty() {
     return mOperations.isEmpty();
   }
@@ -683,7 +889,18 @@ public class UIViewOperationQueue {
   }
 
   public void enqueueUpdateProperties(int reactTag, String className, ReactStylesDiffMap props) {
-    mOperations.add(new UpdatePropertiesOperation(reactTag, props));
+    UpdatePropertiesOperation operation =
+        mRecycleOperationsEnabled ? mUpdatePropertiesOperationPool.acquire() : null;
+    if (operation != null) {
+      mOperationPoolHits++;
+      operation.init(reactTag, props);
+    } else {
+      if (mRecycleOperationsEnabled) {
+        mOperationPoolMisses++;
+      }
+      operation = new UpdatePropertiesOperation(reactTag, props);
+    }
+    mOperations.add(operation);
   }
 
   public void enqueueUpdateLayout(
@@ -693,8 +910,24 @@ public class UIViewOperationQueue {
       int y,
       int width,
       int height) {
-    mOperations.add(
-        new UpdateLayoutOperation(parentTag, reactTag, x, y, width, height));
+    UpdateLayoutBatchOperation batch = null;
+    int size = mOperations.size();
+    if (size > 0 && mOperations.get(size - 1) instanceof UpdateLayoutBatchOperation) {
+      batch = (UpdateLayoutBatchOperation) mOperations.get(size - 1);
+    }
+    if (batch == null) {
+      batch = mRecycleOperationsEnabled ? mUpdateLayoutBatchOperationPool.acquire() : null;
+      if (batch != null) {
+        mOperationPoolHits++;
+      } else {
+        if (mRecycleOperationsEnabled) {
+          mOperationPoolMisses++;
+        }
+        batch = new UpdateLayoutBatchOperation();
+      }
+      mOperations.add(batch);
+    }
+    batch.add(parentTag, reactTag, x, y, width, height);
   }
 
   public void enqueueManageChildren(
@@ -702,8 +935,18 @@ public class UIViewOperationQueue {
       @Nullable int[] indicesToRemove,
       @Nullable ViewAtIndex[] viewsToAdd,
       @Nullable int[] tagsToDelete) {
-    mOperations.add(
-        new ManageChildrenOperation(reactTag, indicesToRemove, viewsToAdd, tagsToDelete));
+    ManageChildrenOperation operation =
+        mRecycleOperationsEnabled ? mManageChildrenOperationPool.acquire() : null;
+    if (operation != null) {
+      mOperationPoolHits++;
+      operation.init(reactTag, indicesToRemove, viewsToAdd, tagsToDelete);
+    } else {
+      if (mRecycleOperationsEnabled) {
+        mOperationPoolMisses++;
+      }
+      operation = new ManageChildrenOperation(reactTag, indicesToRemove, viewsToAdd, tagsToDelete);
+    }
+    mOperations.add(operation);
   }
 
   public void enqueueSetChildren(
@@ -791,6 +1034,13 @@ public class UIViewOperationQueue {
       if (!mOperations.isEmpty()) {
         batchedOperations = mOperations;
         mOperations = new ArrayList<>();
+        if (mCoalesceOperationsEnabled) {
+          int elidedOperationCount = coalesceOperations(batchedOperations);
+          mLastBatchElidedOperationCount = elidedOperationCount;
+          mElidedOperationTotalCount += elidedOperationCount;
+          Systrace.traceCounter(
+              Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "elidedUIOperations", elidedOperationCount);
+        }
       } else {
         batchedOperations = null;
       }
@@ -809,72 +1059,14 @@ public class UIViewOperationQueue {
         mViewHierarchyUpdateDebugListener.onViewHierarchyUpdateEnqueued();
       }
 
-      Runnable runOperations =
-          new Runnable() {
-            @Override
-            public void run() {
-              SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "DispatchUI")
-                  .arg("BatchId", batchId)
-                  .flush();
-              try {
-                long runStartTime = SystemClock.uptimeMillis();
-
-                // All nonBatchedOperations should be executed before regular operations as
-                // regular operations may depend on them
-                if (nonBatchedOperations != null) {
-                  for (UIOperation op : nonBatchedOperations) {
-                    op.execute();
-                  }
-                }
-
-                if (batchedOperations != null) {
-                  for (UIOperation op : batchedOperations) {
-                    op.execute();
-                  }
-                }
-
-                if (mIsProfilingNextBatch && mProfiledBatchCommitStartTime == 0) {
-                  mProfiledBatchCommitStartTime = commitStartTime;
-                  mProfiledBatchLayoutTime = layoutTime;
-                  mProfiledBatchDispatchViewUpdatesTime = dispatchViewUpdatesTime;
-                  mProfiledBatchRunStartTime = runStartTime;
-
-                  Systrace.beginAsyncSection(
-                      Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                      "delayBeforeDispatchViewUpdates",
-                      0,
-                      mProfiledBatchCommitStartTime * 1000000);
-                  Systrace.endAsyncSection(
-                      Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                      "delayBeforeDispatchViewUpdates",
-                      0,
-                      mProfiledBatchDispatchViewUpdatesTime * 1000000);
-                  Systrace.beginAsyncSection(
-                      Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                      "delayBeforeBatchRunStart",
-                      0,
-                      mProfiledBatchDispatchViewUpdatesTime * 1000000);
-                  Systrace.endAsyncSection(
-                      Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                      "delayBeforeBatchRunStart",
-                      0,
-                      mProfiledBatchRunStartTime * 1000000);
-                }
-
-                // Clear layout animation, as animation only apply to current UI operations batch.
-                mNativeViewHierarchyManager.clearLayoutAnimation();
-
-                if (mViewHierarchyUpdateDebugListener != null) {
-                  mViewHierarchyUpdateDebugListener.onViewHierarchyUpdateFinished();
-                }
-              } catch (Exception e) {
-                mIsInIllegalUIState = true;
-                throw e;
-              } finally {
-                Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
-              }
-            }
-          };
+      DispatchBatchRunnable runOperations =
+          new DispatchBatchRunnable(
+              batchId,
+              commitStartTime,
+              layoutTime,
+              dispatchViewUpdatesTime,
+              nonBatchedOperations,
+              batchedOperations);
 
       SystraceMessage.beginSection(
         Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
@@ -903,6 +1095,122 @@ public class UIViewOperationQueue {
     }
   }
 
+  /**
+   * Removes operations that would not have a visible effect from a batch, keeping the relative
+   * order of everything else:
+   *
+   * <ul>
+   *   <li>property and layout updates of views that get deleted later in the batch are dropped,
+   *       unless the batch configures a layout animation, as deleted views then stay on screen
+   *       while they animate out;
+   *   <li>a layout update is dropped when the same view is laid out again later in the batch;
+   *   <li>property updates of the same view are merged into the first of them as long as no layout
+   *       update of that view or any other kind of operation happens in between.
+   * </ul>
+   *
+   * Operations other than property, layout and children updates (e.g. measure, commands or
+   * UIBlocks) may observe the state of the view hierarchy, so nothing is coalesced across them.
+   *
+   * @return the number of elided operations
+   */
+  private int coalesceOperations(ArrayList<UIOperation> operations) {
+    int elidedOperationCount = 0;
+
+    boolean isLayoutAnimated = false;
+    for (int i = 0; i < operations.size(); i++) {
+      if (operations.get(i) instanceof ConfigureLayoutAnimationOperation) {
+        isLayoutAnimated = true;
+        break;
+      }
+    }
+
+    // Backward pass: deletions and superseded layout updates
+    for (int i = operations.size() - 1; i >= 0; i--) {
+      UIOperation operation = operations.get(i);
+      if (operation instanceof UpdateLayoutBatchOperation) {
+        UpdateLayoutBatchOperation batch = (UpdateLayoutBatchOperation) operation;
+        for (int record = batch.getRecordCount() - 1; record >= 0; record--) {
+          int tag = batch.getRecordTag(record);
+          if (mCoalescingDeletedTags.get(tag) || mCoalescingLaidOutTags.get(tag)) {
+            batch.elideRecord(record);
+            elidedOperationCount++;
+          } else {
+            mCoalescingLaidOutTags.put(tag, true);
+          }
+        }
+        if (batch.compact() == 0) {
+          elideOperation(operations, i);
+        }
+      } else if (operation instanceof UpdatePropertiesOperation) {
+        if (mCoalescingDeletedTags.get(((UpdatePropertiesOperation) operation).mTag)) {
+          elideOperation(operations, i);
+          elidedOperationCount++;
+        }
+      } else if (operation instanceof ManageChildrenOperation) {
+        int[] tagsToDelete = ((ManageChildrenOperation) operation).mTagsToDelete;
+        if (tagsToDelete != null && !isLayoutAnimated) {
+          for (int tag : tagsToDelete) {
+            mCoalescingDeletedTags.put(tag, true);
+          }
+        }
+      } else if (!(operation instanceof SetChildrenOperation)) {
+        mCoalescingDeletedTags.clear();
+        mCoalescingLaidOutTags.clear();
+      }
+    }
+
+    // Forward pass: merge property updates
+    for (int i = 0; i < operations.size(); i++) {
+      UIOperation operation = operations.get(i);
+      if (operation == null) {
+        continue;
+      }
+      if (operation instanceof UpdatePropertiesOperation) {
+        UpdatePropertiesOperation update = (UpdatePropertiesOperation) operation;
+        UpdatePropertiesOperation pendingUpdate = mCoalescingPropertyUpdates.get(update.mTag);
+        if (pendingUpdate != null) {
+          pendingUpdate.merge(update.mProps);
+          elideOperation(operations, i);
+          elidedOperationCount++;
+        } else {
+          mCoalescingPropertyUpdates.put(update.mTag, update);
+        }
+      } else if (operation instanceof UpdateLayoutBatchOperation) {
+        UpdateLayoutBatchOperation batch = (UpdateLayoutBatchOperation) operation;
+        for (int record = 0; record < batch.getRecordCount(); record++) {
+          mCoalescingPropertyUpdates.remove(batch.getRecordTag(record));
+        }
+      } else {
+        mCoalescingPropertyUpdates.clear();
+      }
+    }
+
+    mCoalescingDeletedTags.clear();
+    mCoalescingLaidOutTags.clear();
+    mCoalescingPropertyUpdates.clear();
+
+    if (elidedOperationCount > 0) {
+      // Compact the list in place, dropping elided operations
+      int retained = 0;
+      for (int i = 0; i < operations.size(); i++) {
+        UIOperation operation = operations.get(i);
+        if (operation != null) {
+          operations.set(retained++, operation);
+        }
+      }
+      operations.subList(retained, operations.size()).clear();
+    }
+    return elidedOperationCount;
+  }
+
+  private void elideOperation(ArrayList<UIOperation> operations, int index) {
+    UIOperation operation = operations.get(index);
+    operations.set(index, null);
+    if (mRecycleOperationsEnabled && operation instanceof RecyclableOperation) {
+      ((RecyclableOperation) operation).recycle();
+    }
+  }
+
   /* package */ void resumeFrameCallback() {
     mIsDispatchUIFrameCallbackEnqueued = true;
     ReactChoreographer.getInstance()
@@ -917,6 +1225,15 @@ public class UIViewOperationQueue {
   }
 
   private void flushPendingBatches() {
+    flushPendingBatches(Long.MAX_VALUE);
+  }
+
+  /**
+   * Executes pending batches in order. When time sliced execution is enabled, execution may stop
+   * once the deadline (in {@link System#nanoTime()} time base) has passed, in which case the
+   * partially executed batch and all the following ones are kept for the next frame.
+   */
+  private void flushPendingBatches(long deadlineNanos) {
     if (mIsInIllegalUIState) {
       FLog.w(
         ReactConstants.TAG,
@@ -924,7 +1241,7 @@ public class UIViewOperationQueue {
       return;
     }
 
-    final ArrayList<Runnable> runnables;
+    final ArrayList<DispatchBatchRunnable> runnables;
     synchronized (mDispatchRunnablesLock) {
       if (!mDispatchUIRunnables.isEmpty()) {
         runnables = mDispatchUIRunnables;
@@ -934,13 +1251,33 @@ public class UIViewOperationQueue {
       }
     }
 
-    final long batchedExecutionStartTime = SystemClock.uptimeMillis();
-    for (Runnable runnable : runnables) {
-      runnable.run();
+    final long sliceStartTime = SystemClock.uptimeMillis();
+    if (mBatchedExecutionStartTime == 0) {
+      mBatchedExecutionStartTime = sliceStartTime;
+    }
+    if (!mTimeSlicedExecutionEnabled) {
+      deadlineNanos = Long.MAX_VALUE;
+    }
+    for (int i = 0; i < runnables.size(); i++) {
+      if (!runnables.get(i).runUntil(deadlineNanos)) {
+        // Out of time, keep the remaining batches for the next frame ahead of any new ones. The
+        // execution time bookkeeping is done once the last slice has been executed.
+        mBatchedExecutionTotalTime += SystemClock.uptimeMillis() - sliceStartTime;
+        synchronized (mDispatchRunnablesLock) {
+          ArrayList<DispatchBatchRunnable> remaining =
+              new ArrayList<>(runnables.subList(i, runnables.size()));
+          remaining.addAll(mDispatchUIRunnables);
+          mDispatchUIRunnables = remaining;
+        }
+        return;
+      }
     }
+    mBatchedExecutionTotalTime += SystemClock.uptimeMillis() - sliceStartTime;
+    // Views created by the executed batches may have been attached to a window by now
+    mPendingCreatedViewTags.clear();
 
     if (mIsProfilingNextBatch) {
-      mProfiledBatchBatchedExecutionTime = SystemClock.uptimeMillis() - batchedExecutionStartTime;
+      mProfiledBatchBatchedExecutionTime = mBatchedExecutionTotalTime;
       mProfiledBatchNonBatchedExecutionTime = mNonBatchedExecutionTotalTime;
       mIsProfilingNextBatch = false;
 
@@ -948,12 +1285,192 @@ public class UIViewOperationQueue {
           Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
           "batchedExecutionTime",
           0,
-          batchedExecutionStartTime * 1000000);
+          mBatchedExecutionStartTime * 1000000);
       Systrace.endAsyncSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "batchedExecutionTime", 0);
     }
+    mBatchedExecutionStartTime = 0;
+    mBatchedExecutionTotalTime = 0;
     mNonBatchedExecutionTotalTime = 0;
   }
 
+  /**
+   * Executes the operations of a single batch on the UI thread. A batch can be executed in several
+   * slices, see {@link #setTimeSlicedExecutionEnabled}.
+   */
+  private final class DispatchBatchRunnable implements Runnable {
+
+    private final int mBatchId;
+    private final long mCommitStartTime;
+    private final long mLayoutTime;
+    private final long mDispatchViewUpdatesTime;
+    private final @Nullable ArrayDeque<UIOperation> mNonBatchedOperations;
+    private final @Nullable ArrayList<UIOperation> mBatchedOperations;
+    private int mNextBatchedOperationIndex = 0;
+    private long mRunStartTime = 0;
+    // Set once an operation that may affect attached views has been executed
+    private boolean mIsCommitting = false;
+    private int mOperationsExecutedInSlice;
+
+    private DispatchBatchRunnable(
+        int batchId,
+        long commitStartTime,
+        long layoutTime,
+        long dispatchViewUpdatesTime,
+        @Nullable ArrayDeque<UIOperation> nonBatchedOperations,
+        @Nullable ArrayList<UIOperation> batchedOperations) {
+      mBatchId = batchId;
+      mCommitStartTime = commitStartTime;
+      mLayoutTime = layoutTime;
+      mDispatchViewUpdatesTime = dispatchViewUpdatesTime;
+      mNonBatchedOperations = nonBatchedOperations;
+      mBatchedOperations = batchedOperations;
+    }
+
+    @Override
+    public void run() {
+      runUntil(Long.MAX_VALUE);
+    }
+
+    /**
+     * Executes the batch until it's done or the deadline has passed and the next operation can be
+     * deferred without rendering an intermediate state. At least one operation is executed per
+     * call so that a batch always makes progress.
+     *
+     * @return true if the whole batch has been executed
+     */
+    private boolean runUntil(long deadlineNanos) {
+      SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "DispatchUI")
+          .arg("BatchId", mBatchId)
+          .flush();
+      try {
+        if (mRunStartTime == 0) {
+          mRunStartTime = SystemClock.uptimeMillis();
+        }
+        mOperationsExecutedInSlice = 0;
+
+        // All nonBatchedOperations should be executed before regular operations as
+        // regular operations may depend on them
+        if (mNonBatchedOperations != null) {
+          UIOperation op;
+          while ((op = mNonBatchedOperations.peekFirst()) != null) {
+            if (shouldDefer(op, deadlineNanos)) {
+              return false;
+            }
+            mNonBatchedOperations.pollFirst();
+            mOperationsExecutedInSlice++;
+            op.execute();
+          }
+        }
+
+        if (mBatchedOperations != null) {
+          boolean recycleOperations = mRecycleOperationsEnabled;
+          while (mNextBatchedOperationIndex < mBatchedOperations.size()) {
+            UIOperation op = mBatchedOperations.get(mNextBatchedOperationIndex);
+            if (shouldDefer(op, deadlineNanos)) {
+              return false;
+            }
+            mBatchedOperations.set(mNextBatchedOperationIndex++, null);
+            mOperationsExecutedInSlice++;
+            op.execute();
+            if (recycleOperations && op instanceof RecyclableOperation) {
+              ((RecyclableOperation) op).recycle();
+            }
+          }
+        }
+
+        if (mIsProfilingNextBatch && mProfiledBatchCommitStartTime == 0) {
+          mProfiledBatchCommitStartTime = mCommitStartTime;
+          mProfiledBatchLayoutTime = mLayoutTime;
+          mProfiledBatchDispatchViewUpdatesTime = mDispatchViewUpdatesTime;
+          mProfiledBatchRunStartTime = mRunStartTime;
+
+          Systrace.beginAsyncSection(
+              Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+              "delayBeforeDispatchViewUpdates",
+              0,
+              mProfiledBatchCommitStartTime * 1000000);
+          Systrace.endAsyncSection(
+              Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+              "delayBeforeDispatchViewUpdates",
+              0,
+              mProfiledBatchDispatchViewUpdatesTime * 1000000);
+          Systrace.beginAsyncSection(
+              Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+              "delayBeforeBatchRunStart",
+              0,
+              mProfiledBatchDispatchViewUpdatesTime * 1000000);
+          Systrace.endAsyncSection(
+              Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+              "delayBeforeBatchRunStart",
+              0,
+              mProfiledBatchRunStartTime * 1000000);
+        }
+
+        // Clear layout animation, as animation only apply to current UI operations batch.
+        mNativeViewHierarchyManager.clearLayoutAnimation();
+
+        if (mViewHierarchyUpdateDebugListener != null) {
+          mViewHierarchyUpdateDebugListener.onViewHierarchyUpdateFinished();
+        }
+        return true;
+      } catch (Exception e) {
+        mIsInIllegalUIState = true;
+        throw e;
+      } finally {
+        Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+      }
+    }
+
+    private boolean shouldDefer(UIOperation op, long deadlineNanos) {
+      if (mIsCommitting) {
+        return false;
+      }
+      if (!canExecuteAhead(op)) {
+        mIsCommitting = true;
+        return false;
+      }
+      return deadlineNanos != Long.MAX_VALUE
+          && mOperationsExecutedInSlice > 0
+          && System.nanoTime() > deadlineNanos;
+    }
+
+    /**
+     * Whether executing the given operation can't have any visible effect, that is, it only
+     * creates views or updates views created by the pending batches that are not attached to a
+     * window yet.
+     */
+    private boolean canExecuteAhead(UIOperation op) {
+      if (op instanceof CreateViewOperation) {
+        return true;
+      }
+      if (op instanceof UpdatePropertiesOperation
+          || op instanceof UpdateViewExtraData
+          || op instanceof ManageChildrenOperation
+          || op instanceof SetChildrenOperation) {
+        return isPendingDetachedView(((ViewOperation) op).mTag);
+      }
+      if (op instanceof UpdateLayoutBatchOperation) {
+        UpdateLayoutBatchOperation batch = (UpdateLayoutBatchOperation) op;
+        for (int record = 0; record < batch.getRecordCount(); record++) {
+          if (!isPendingDetachedView(batch.getRecordTag(record))) {
+            return false;
+          }
+        }
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Views that existed before the pending batches aren't safe to update ahead even if they are
+     * detached, e.g. subviews clipped by removeClippedSubviews can be re-attached at any time.
+     */
+    private boolean isPendingDetachedView(int tag) {
+      return mPendingCreatedViewTags.get(tag)
+          && !mNativeViewHierarchyManager.isViewAttachedToWindow(tag);
+    }
+  }
+
   /**
    * Choreographer FrameCallback responsible for actually dispatching view updates on the UI thread
    * that were enqueued via {@link #dispatchViewUpdates(int)}. The reason we don't just enqueue
@@ -996,7 +1513,9 @@ public class UIViewOperationQueue {
         Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
       }
 
-      flushPendingBatches();
+      flushPendingBatches(
+          frameTimeNanos
+              + (FRAME_TIME_MS - mMinTimeLeftInFrameForNonBatchedOperationMs) * 1000000L);
 
       ReactChoreographer.getInstance().postFrameCallback(
         ReactChoreographer.CallbackType.DISPATCH_UI, this);
@@ -24,6 +24,28 @@ public class ViewManagerPropertyUpdater {
     void setProperty(T node, String name, ReactStylesDiffMap props);
   }
 
+  /**
+   * A setter that numbers the properties it sets, so that they can be dispatched with a switch on
+   * an int rather than on the property name. Ids are only meaningful to the setter that assigned
+   * them. Setters generated by the annotation processor implement this.
+   */
+  public interface IndexedSettable extends Settable {
+    /**
+     * @return the id of the given property, or -1 if this setter doesn't set it
+     */
+    int getPropertyId(String name);
+  }
+
+  public interface IndexedViewManagerSetter<T extends ViewManager, V extends View>
+      extends ViewManagerSetter<T, V>, IndexedSettable {
+    void setProperty(T manager, V view, int propertyId, String name, ReactStylesDiffMap props);
+  }
+
+  public interface IndexedShadowNodeSetter<T extends ReactShadowNode>
+      extends ShadowNodeSetter<T>, IndexedSettable {
+    void setProperty(T node, int propertyId, String name, ReactStylesDiffMap props);
+  }
+
   private static final String TAG = "ViewManagerPropertyUpdater";
 
   private static final Map<Class<?>, ViewManagerSetter<?, ?>> VIEW_MANAGER_SETTER_MAP =
@@ -43,6 +65,18 @@ public class ViewManagerPropertyUpdater {
     ViewManagerSetter<T, V> setter = findManagerSetter(manager.getClass());
     ReadableMap propMap = props.mBackingMap;
     ReadableMapKeySetIterator iterator = propMap.keySetIterator();
+    if (setter instanceof IndexedViewManagerSetter) {
+      @SuppressWarnings("unchecked")
+      IndexedViewManagerSetter<T, V> indexedSetter = (IndexedViewManagerSetter<T, V>) setter;
+      while (iterator.hasNextKey()) {
+        String key = iterator.nextKey();
+        int propertyId = indexedSetter.getPropertyId(key);
+        if (propertyId != -1) {
+          indexedSetter.setProperty(manager, v, propertyId, key, props);
+        }
+      }
+      return;
+    }
     while (iterator.hasNextKey()) {
       String key = iterator.nextKey();
       setter.setProperty(manager, v, key, props);
@@ -53,6 +87,18 @@ public class ViewManagerPropertyUpdater {
     ShadowNodeSetter<T> setter = findNodeSetter(node.getClass());
     ReadableMap propMap = props.mBackingMap;
     ReadableMapKeySetIterator iterator = propMap.keySetIterator();
+    if (setter instanceof IndexedShadowNodeSetter) {
+      @SuppressWarnings("unchecked")
+      IndexedShadowNodeSetter<T> indexedSetter = (IndexedShadowNodeSetter<T>) setter;
+      while (iterator.hasNextKey()) {
+        String key = iterator.nextKey();
+        int propertyId = indexedSetter.getPropertyId(key);
+        if (propertyId != -1) {
+          indexedSetter.setProperty(node, propertyId, key, props);
+        }
+      }
+      return;
+    }
     while (iterator.hasNextKey()) {
       String key = iterator.nextKey();
       setter.setProperty(node, key, props);
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import javax.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * {@link RCTEventEmitter} that records the events dispatched to it instead of sending them to JS
+ * right away, so that all the events of a frame can be delivered with a single
+ * {@link RCTBatchedEventEmitter#receiveEvents} bridge call.
+ */
+/* package */ class BatchingEventEmitter implements RCTEventEmitter {
+
+  // Keep in sync with RCTEventEmitter.js
+  public static final int RECEIVE_EVENT = 0;
+  public static final int RECEIVE_TOUCHES = 1;
+
+  private @Nullable WritableArray mEvents;
+  private int mEventCount;
+
+  @Override
+  public void receiveEvent(int targetTag, String eventName, @Nullable WritableMap event) {
+    WritableArray entry = Arguments.createArray();
+    entry.pushInt(RECEIVE_EVENT);
+    entry.pushInt(targetTag);
+    entry.pushString(eventName);
+    if (event != null) {
+      entry.pushMap(event);
+    } else {
+      entry.pushNull();
+    }
+    addEntry(entry);
+  }
+
+  @Override
+  public void receiveTouches(
+      String eventName,
+      WritableArray touches,
+      WritableArray changedIndices) {
+    WritableArray entry = Arguments.createArray();
+    entry.pushInt(RECEIVE_TOUCHES);
+    entry.pushString(eventName);
+    entry.pushArray(touches);
+    entry.pushArray(changedIndices);
+    addEntry(entry);
+  }
+
+  /**
+   * Sends all the recorded events to the given emitter in a single call, if any.
+   */
+  public void flush(RCTBatchedEventEmitter eventEmitter) {
+    if (mEvents == null) {
+      return;
+    }
+    WritableArray events = mEvents;
+    mEvents = null;
+    mEventCount = 0;
+    eventEmitter.receiveEvents(events);
+  }
+
+  public int getEventCount() {
+    return mEventCount;
+  }
+
+  private void addEntry(WritableArray entry) {
+    if (mEvents == null) {
+      mEvents = Arguments.createArray();
+    }
+    mEvents.pushArray(entry);
+    mEventCount++;
+  }
+}
@@ -2,6 +2,8 @@
 
 package com.facebook.react.uimanager.events;
 
+import android.support.v4.util.Pools;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.PixelUtil;
@@ -13,15 +15,39 @@ public class ContentSizeChangeEvent extends Event<ContentSizeChangeEvent> {
 
   public static final String EVENT_NAME = "topContentSizeChange";
 
-  private final int mWidth;
-  private final int mHeight;
+  private static final Pools.SynchronizedPool<ContentSizeChangeEvent> EVENTS_POOL =
+      new Pools.SynchronizedPool<>(5);
+
+  private int mWidth;
+  private int mHeight;
+
+  public static ContentSizeChangeEvent obtain(int viewTag, int width, int height) {
+    ContentSizeChangeEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ContentSizeChangeEvent();
+    }
+    event.init(viewTag, width, height);
+    return event;
+  }
 
   public ContentSizeChangeEvent(int viewTag, int width, int height) {
-    super(viewTag);
+    init(viewTag, width, height);
+  }
+
+  private ContentSizeChangeEvent() {
+  }
+
+  private void init(int viewTag, int width, int height) {
+    super.init(viewTag);
     mWidth = width;
     mHeight = height;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
@@ -15,6 +15,13 @@ import com.facebook.react.common.SystemClock;
  * For dispatching events {@link EventDispatcher#dispatchEvent} should be used. Once event object
  * is passed to the EventDispatched it should no longer be used as EventDispatcher may decide
  * to recycle that object (by calling {@link #dispose}).
+ *
+ * Events dispatched at a high frequency (scroll, layout, touch, text input...) should be pooled:
+ * expose a static {@code obtain(...)} factory that acquires an instance from a
+ * {@link android.support.v4.util.Pools.SynchronizedPool} and re-initializes it through
+ * {@link #init(int)}, and release the instance back to the pool from {@link #onDispose}, clearing
+ * any reference it holds. EventDispatcher calls {@link #dispose} exactly once per dispatched event,
+ * either after the event has been sent to JS or when it has been dropped while coalescing.
  */
 public abstract class Event<T extends Event> {
 
@@ -92,7 +99,8 @@ public abstract class Event<T extends Event> {
 
   /**
    * Called when the EventDispatcher is done with an event, either because it was dispatched or
-   * because it was coalesced with another Event.
+   * because it was coalesced with another Event. Pooled events return themselves to their pool
+   * here.
    */
   public void onDispose() {
   }
@@ -48,6 +48,14 @@ import com.facebook.systrace.Systrace;
  * Ideally, we don't need this and JS is fast enough to process all the events each frame, but bad
  * things happen, including load on CPUs from the system, and we should handle this case well.
  *
+ * Events can be dispatched from any thread. They are staged in a lock-free
+ * {@link EventStagingRingBuffer} and only coalesced on the UI thread, when moving them to the
+ * dispatch queue, so producers never contend on a lock.
+ *
+ * When batched dispatch is enabled (see {@link #setBatchedDispatchEnabled}), all the events sent to
+ * JS in a frame are serialized into a single array and delivered with one
+ * {@link RCTBatchedEventEmitter#receiveEvents} call instead of one bridge call per event.
+ *
  * == Event Cookies ==
  *
  * An event cookie is made up of the event type id, view tag, and a custom coalescing key. Only
@@ -84,13 +92,16 @@ public class EventDispatcher implements LifecycleEventListener {
     }
   };
 
-  private final Object mEventsStagingLock = new Object();
+  private static final int EVENT_STAGING_CAPACITY = 256;
+
   private final Object mEventsToDispatchLock = new Object();
   private final ReactApplicationContext mReactContext;
   private final LongSparseArray<Integer> mEventCookieToLastEventIdx = new LongSparseArray<>();
   private final Map<String, Short> mEventNameToEventId = MapBuilder.newHashMap();
   private final DispatchEventsRunnable mDispatchEventsRunnable = new DispatchEventsRunnable();
-  private final ArrayList<Event> mEventStaging = new ArrayList<>();
+  private final BatchingEventEmitter mBatchingEventEmitter = new BatchingEventEmitter();
+  private final EventStagingRingBuffer mEventStaging =
+      new EventStagingRingBuffer(EVENT_STAGING_CAPACITY);
   private final ArrayList<EventDispatcherListener> mListeners = new ArrayList<>();
   private final ScheduleDispatchFrameCallback mCurrentFrameCallback =
     new ScheduleDispatchFrameCallback();
@@ -99,8 +110,10 @@ public class EventDispatcher implements LifecycleEventListener {
   private Event[] mEventsToDispatch = new Event[16];
   private int mEventsToDispatchSize = 0;
   private volatile @Nullable RCTEventEmitter mRCTEventEmitter;
+  private @Nullable RCTBatchedEventEmitter mRCTBatchedEventEmitter;
   private short mNextEventTypeId = 0;
   private volatile boolean mHasDispatchScheduled = false;
+  private volatile boolean mBatchedDispatchEnabled = false;
 
   public EventDispatcher(ReactApplicationContext reactContext) {
     mReactContext = reactContext;
@@ -117,13 +130,11 @@ public class EventDispatcher implements LifecycleEventListener {
       listener.onEventDispatch(event);
     }
 
-    synchronized (mEventsStagingLock) {
-      mEventStaging.add(event);
-      Systrace.startAsyncFlow(
-          Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-          event.getEventName(),
-          event.getUniqueID());
-    }
+    Systrace.startAsyncFlow(
+        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+        event.getEventName(),
+        event.getUniqueID());
+    mEventStaging.offer(event);
     if (mRCTEventEmitter != null) {
       // If the host activity is paused, the frame callback may not be currently
       // posted. Ensure that it is so that this event gets delivered promptly.
@@ -136,6 +147,14 @@ public class EventDispatcher implements LifecycleEventListener {
     }
   }
 
+  /**
+   * Enables delivering all the events of a frame to JS in a single bridge call. Requires the JS
+   * side RCTBatchedEventEmitter module, which is registered by RCTEventEmitter.register.
+   */
+  public void setBatchedDispatchEnabled(boolean enabled) {
+    mBatchedDispatchEnabled = enabled;
+  }
+
   /**
    * Add a listener to this EventDispatcher.
    */
@@ -189,50 +208,46 @@ public class EventDispatcher implements LifecycleEventListener {
    * frame and another from this frame during the next.
    */
   private void moveStagedEventsToDispatchQueue() {
-    synchronized (mEventsStagingLock) {
-      synchronized (mEventsToDispatchLock) {
-        for (int i = 0; i < mEventStaging.size(); i++) {
-          Event event = mEventStaging.get(i);
-
-          if (!event.canCoalesce()) {
-            addEventToEventsToDispatch(event);
-            continue;
-          }
-
-          long eventCookie = getEventCookie(
-              event.getViewTag(),
-              event.getEventName(),
-              event.getCoalescingKey());
-
-          Event eventToAdd = null;
-          Event eventToDispose = null;
-          Integer lastEventIdx = mEventCookieToLastEventIdx.get(eventCookie);
+    synchronized (mEventsToDispatchLock) {
+      Event event;
+      while ((event = mEventStaging.poll()) != null) {
+        if (!event.canCoalesce()) {
+          addEventToEventsToDispatch(event);
+          continue;
+        }
 
-          if (lastEventIdx == null) {
-            eventToAdd = event;
+        long eventCookie = getEventCookie(
+            event.getViewTag(),
+            event.getEventName(),
+            event.getCoalescingKey());
+
+        Event eventToAdd = null;
+        Event eventToDispose = null;
+        Integer lastEventIdx = mEventCookieToLastEventIdx.get(eventCookie);
+
+        if (lastEventIdx == null) {
+          eventToAdd = event;
+          mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
+        } else {
+          Event lastEvent = mEventsToDispatch[lastEventIdx];
+          Event coalescedEvent = event.coalesce(lastEvent);
+          if (coalescedEvent != lastEvent) {
+            eventToAdd = coalescedEvent;
             mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
+            eventToDispose = lastEvent;
+            mEventsToDispatch[lastEventIdx] = null;
           } else {
-            Event lastEvent = mEventsToDispatch[lastEventIdx];
-            Event coalescedEvent = event.coalesce(lastEvent);
-            if (coalescedEvent != lastEvent) {
-              eventToAdd = coalescedEvent;
-              mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
-              eventToDispose = lastEvent;
-              mEventsToDispatch[lastEventIdx] = null;
-            } else {
-              eventToDispose = event;
-            }
+            eventToDispose = event;
           }
+        }
 
-          if (eventToAdd != null) {
-            addEventToEventsToDispatch(eventToAdd);
-          }
-          if (eventToDispose != null) {
-            eventToDispose.dispose();
-          }
+        if (eventToAdd != null) {
+          addEventToEventsToDispatch(eventToAdd);
+        }
+        if (eventToDispose != null) {
+          eventToDispose.dispose();
         }
       }
-      mEventStaging.clear();
     }
   }
 
@@ -331,7 +346,9 @@ public class EventDispatcher implements LifecycleEventListener {
             "ScheduleDispatchFrameCallback",
             mHasDispatchScheduledCount.getAndIncrement());
         mHasDispatchScheduled = false;
-        Assertions.assertNotNull(mRCTEventEmitter);
+        RCTEventEmitter eventEmitter = Assertions.assertNotNull(mRCTEventEmitter);
+        RCTEventEmitter dispatchEmitter =
+            mBatchedDispatchEnabled ? mBatchingEventEmitter : eventEmitter;
         synchronized (mEventsToDispatchLock) {
           // We avoid allocating an array and iterator, and "sorting" if we don't need to.
           // This occurs when the size of mEventsToDispatch is zero or one.
@@ -348,12 +365,22 @@ public class EventDispatcher implements LifecycleEventListener {
                 Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
                 event.getEventName(),
                 event.getUniqueID());
-            event.dispatch(mRCTEventEmitter);
+            event.dispatch(dispatchEmitter);
             event.dispose();
           }
           clearEventsToDispatch();
           mEventCookieToLastEventIdx.clear();
         }
+        if (dispatchEmitter == mBatchingEventEmitter) {
+          Systrace.traceCounter(
+              Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+              "batchedEvents",
+              mBatchingEventEmitter.getEventCount());
+          if (mRCTBatchedEventEmitter == null) {
+            mRCTBatchedEventEmitter = mReactContext.getJSModule(RCTBatchedEventEmitter.class);
+          }
+          mBatchingEventEmitter.flush(mRCTBatchedEventEmitter);
+        }
       } finally {
         Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
       }
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+
+/**
+ * Lock-free multi-producer, single-consumer queue used by {@link EventDispatcher} to stage events
+ * until the next frame. Events can be offered from any thread, and are drained on the UI thread.
+ *
+ * The fast path is a bounded ring buffer where each slot carries a sequence number telling whether
+ * it is free for the producer claiming that position or published for the consumer. When the ring
+ * is full, events spill into an unbounded {@link ConcurrentLinkedQueue} so that offering never
+ * blocks nor fails.
+ *
+ * Events offered by the same thread are polled in the order they were offered, even when some of
+ * them spilled: {@link EventDispatcher} only orders events by their millisecond timestamp, so events
+ * of the same millisecond, e.g. a touch move and end, rely on that order. Every event is stamped
+ * when it is offered, and the consumer takes the older of the ring and overflow heads.
+ */
+/* package */ class EventStagingRingBuffer {
+
+  private static class SpilledEvent {
+    private final Event mEvent;
+    private final long mStamp;
+
+    private SpilledEvent(Event event, long stamp) {
+      mEvent = event;
+      mStamp = stamp;
+    }
+  }
+
+  private final AtomicReferenceArray<Event> mSlots;
+  private final AtomicLongArray mSequences;
+  // Written before a slot is published and read after, so the slot sequence guards it
+  private final long[] mStamps;
+  private final int mMask;
+  private final AtomicLong mTail = new AtomicLong();
+  private final AtomicLong mNextStamp = new AtomicLong();
+  private final ConcurrentLinkedQueue<SpilledEvent> mOverflow = new ConcurrentLinkedQueue<>();
+
+  // Only accessed by the consumer
+  private long mHead = 0;
+
+  /**
+   * @param capacity size of the ring, must be a power of two
+   */
+  public EventStagingRingBuffer(int capacity) {
+    if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+      throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+    }
+    mSlots = new AtomicReferenceArray<>(capacity);
+    mSequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      mSequences.set(i, i);
+    }
+    mStamps = new long[capacity];
+    mMask = capacity - 1;
+  }
+
+  /**
+   * Stages the given event. Safe to call from any number of threads concurrently.
+   */
+  public void offer(Event event) {
+    // Taken before claiming a position or spilling, so that every event already in the ring or in
+    // the overflow when an event gets stamped has an older stamp
+    long stamp = mNextStamp.getAndIncrement();
+    long position = mTail.get();
+    while (true) {
+      int index = (int) (position & mMask);
+      long diff = mSequences.get(index) - position;
+      if (diff == 0) {
+        if (mTail.compareAndSet(position, position + 1)) {
+          mSlots.lazySet(index, event);
+          mStamps[index] = stamp;
+          // Publishes the slot to the consumer
+          mSequences.lazySet(index, position + 1);
+          return;
+        }
+        position = mTail.get();
+      } else if (diff < 0) {
+        // The consumer hasn't freed this slot yet: the ring is full
+        mOverflow.add(new SpilledEvent(event, stamp));
+        return;
+      } else {
+        // Another producer claimed this position, retry with a fresh one
+        position = mTail.get();
+      }
+    }
+  }
+
+  /**
+   * Removes and returns the oldest staged event, or null if there is none ready. Must only be
+   * called from a single consumer thread.
+   */
+  public @Nullable Event poll() {
+    int index = (int) (mHead & mMask);
+    boolean isHeadPublished = mSequences.get(index) == mHead + 1;
+    if (!isHeadPublished && mTail.get() != mHead) {
+      // The head position is claimed but not published yet. Spilled events may have been offered
+      // after it by the same thread, so they wait for it.
+      return null;
+    }
+
+    SpilledEvent spilledEvent = mOverflow.peek();
+    if (isHeadPublished && (spilledEvent == null || mStamps[index] < spilledEvent.mStamp)) {
+      Event event = mSlots.get(index);
+      mSlots.lazySet(index, null);
+      // Frees the slot for the producer that wraps around the ring
+      mSequences.lazySet(index, mHead + mMask + 1);
+      mHead++;
+      return event;
+    }
+    if (spilledEvent != null) {
+      mOverflow.poll();
+      return spilledEvent.mEvent;
+    }
+    return null;
+  }
+}
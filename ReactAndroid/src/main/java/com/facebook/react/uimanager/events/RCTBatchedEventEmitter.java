@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.WritableArray;
+
+/**
+ * Delivers several events to JS in a single call, see
+ * {@link EventDispatcher#setBatchedDispatchEnabled}. Registered on the JS side by
+ * RCTEventEmitter.register, next to {@link RCTEventEmitter}.
+ */
+public interface RCTBatchedEventEmitter extends JavaScriptModule {
+
+  /**
+   * Each entry of the given array is itself an array whose first element is 0 for a
+   * {@link RCTEventEmitter#receiveEvent} call or 1 for a {@link RCTEventEmitter#receiveTouches}
+   * call, followed by the arguments of that call.
+   */
+  public void receiveEvents(WritableArray events);
+}
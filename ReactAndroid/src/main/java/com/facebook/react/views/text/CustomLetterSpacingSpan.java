@@ -31,6 +31,10 @@ public class CustomLetterSpacingSpan extends MetricAffectingSpan {
     mLetterSpacing = letterSpacing;
   }
 
+  public float getLetterSpacing() {
+    return mLetterSpacing;
+  }
+
   @Override
   public void updateDrawState(TextPaint paint) {
     apply(paint);
@@ -40,10 +40,31 @@ public class ReactTextShadowNode extends ReactBaseTextShadowNode {
   // It's important to pass the ANTI_ALIAS_FLAG flag to the constructor rather than setting it
   // later by calling setFlags. This is because the latter approach triggers a bug on Android 4.4.2.
   // The bug is that unicode emoticons aren't measured properly which causes text to be clipped.
-  private static final TextPaint sTextPaintInstance = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+  // Texts of different root views may be measured concurrently, so every thread gets its own paint.
+  private static final ThreadLocal<TextPaint> sTextPaintInstance =
+      new ThreadLocal<TextPaint>() {
+        @Override
+        protected TextPaint initialValue() {
+          return new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+        }
+      };
+
+  // Sizes the current text was last measured at, see TextMeasureCache for texts measured by other
+  // nodes. Yoga usually measures a text a couple of times per layout, at different widths.
+  private static final int MEASURE_CACHE_SIZE = 4;
 
   private @Nullable Spannable mPreparedSpannableText;
 
+  private @Nullable String mContentKey;
+  private @Nullable Spanned mContentKeyText;
+  private int mContentKeyNumberOfLines;
+  private boolean mContentKeyIncludeFontPadding;
+  private int mContentKeyTextBreakStrategy;
+  private final float[] mMeasureCacheWidths = new float[MEASURE_CACHE_SIZE];
+  private final long[] mMeasureCacheOutputs = new long[MEASURE_CACHE_SIZE];
+  private int mMeasureCacheCount;
+  private int mMeasureCacheNext;
+
   private final YogaMeasureFunction mTextMeasureFunction =
       new YogaMeasureFunction() {
         @Override
@@ -53,88 +74,39 @@ public class ReactTextShadowNode extends ReactBaseTextShadowNode {
             YogaMeasureMode widthMode,
             float height,
             YogaMeasureMode heightMode) {
-          // TODO(5578671): Handle text direction (see View#getTextDirectionHeuristic)
-          TextPaint textPaint = sTextPaintInstance;
-          Layout layout;
           Spanned text = Assertions.assertNotNull(
               mPreparedSpannableText,
               "Spannable element has not been prepared in onBeforeLayout");
-          BoringLayout.Metrics boring = BoringLayout.isBoring(text, textPaint);
-          float desiredWidth = boring == null ?
-              Layout.getDesiredWidth(text, textPaint) : Float.NaN;
-
           // technically, width should never be negative, but there is currently a bug in
           boolean unconstrainedWidth = widthMode == YogaMeasureMode.UNDEFINED || width < 0;
 
-          if (boring == null &&
-              (unconstrainedWidth ||
-                  (!YogaConstants.isUndefined(desiredWidth) && desiredWidth <= width))) {
-            // Is used when the width is not known and the text is not boring, ie. if it contains
-            // unicode characters.
-
-            int hintWidth = (int) Math.ceil(desiredWidth);
-            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
-              layout = new StaticLayout(
-                text,
-                textPaint,
-                hintWidth,
-                Layout.Alignment.ALIGN_NORMAL,
-                1.f,
-                0.f,
-                mIncludeFontPadding);
-            } else {
-              layout = StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, hintWidth)
-                .setAlignment(Layout.Alignment.ALIGN_NORMAL)
-                .setLineSpacing(0.f, 1.f)
-                .setIncludePad(mIncludeFontPadding)
-                .setBreakStrategy(mTextBreakStrategy)
-                .setHyphenationFrequency(Layout.HYPHENATION_FREQUENCY_NORMAL)
-                .build();
-            }
+          // The measured size doesn't depend on the height constraint, nor on whether the width is
+          // exact or a maximum, so results are keyed by the width only, NaN when unconstrained
+          float widthKey = unconstrainedWidth ? Float.NaN : width;
+          String contentKey = getContentKey(text);
+          if (contentKey == null) {
+            return measureText(text, width, unconstrainedWidth);
+          }
 
-          } else if (boring != null && (unconstrainedWidth || boring.width <= width)) {
-            // Is used for single-line, boring text when the width is either unknown or bigger
-            // than the width of the text.
-            layout = BoringLayout.make(
-                text,
-                textPaint,
-                boring.width,
-                Layout.Alignment.ALIGN_NORMAL,
-                1.f,
-                0.f,
-                boring,
-                mIncludeFontPadding);
-          } else {
-            // Is used for multiline, boring text and the width is known.
-
-            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
-              layout = new StaticLayout(
-                  text,
-                  textPaint,
-                  (int) width,
-                  Layout.Alignment.ALIGN_NORMAL,
-                  1.f,
-                  0.f,
-                  mIncludeFontPadding);
-            } else {
-              layout = StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, (int) width)
-                .setAlignment(Layout.Alignment.ALIGN_NORMAL)
-                .setLineSpacing(0.f, 1.f)
-                .setIncludePad(mIncludeFontPadding)
-                .setBreakStrategy(mTextBreakStrategy)
-                .setHyphenationFrequency(Layout.HYPHENATION_FREQUENCY_NORMAL)
-                .build();
+          for (int i = 0; i < mMeasureCacheCount; i++) {
+            if (Float.compare(mMeasureCacheWidths[i], widthKey) == 0) {
+              return mMeasureCacheOutputs[i];
             }
           }
-
-          if (mNumberOfLines != UNSET &&
-              mNumberOfLines < layout.getLineCount()) {
-            return YogaMeasureOutput.make(
-                layout.getWidth(),
-                layout.getLineBottom(mNumberOfLines - 1));
+          Long cachedOutput = TextMeasureCache.get(contentKey, widthKey);
+          long measureOutput;
+          if (cachedOutput != null) {
+            measureOutput = cachedOutput;
           } else {
-            return YogaMeasureOutput.make(layout.getWidth(), layout.getHeight());
+            measureOutput = measureText(text, width, unconstrainedWidth);
+            TextMeasureCache.put(contentKey, widthKey, measureOutput);
           }
+
+          mMeasureCacheWidths[mMeasureCacheNext] = widthKey;
+          mMeasureCacheOutputs[mMeasureCacheNext] = measureOutput;
+          mMeasureCacheNext = (mMeasureCacheNext + 1) % MEASURE_CACHE_SIZE;
+          mMeasureCacheCount = Math.min(mMeasureCacheCount + 1, MEASURE_CACHE_SIZE);
+          return measureOutput;
         }
       };
 
@@ -172,6 +144,112 @@ public class ReactTextShadowNode extends ReactBaseTextShadowNode {
     return copy;
   }
 
+  private long measureText(Spanned text, float width, boolean unconstrainedWidth) {
+    // TODO(5578671): Handle text direction (see View#getTextDirectionHeuristic)
+    TextPaint textPaint = sTextPaintInstance.get();
+    Layout layout;
+    BoringLayout.Metrics boring = BoringLayout.isBoring(text, textPaint);
+    float desiredWidth = boring == null ?
+        Layout.getDesiredWidth(text, textPaint) : Float.NaN;
+
+    if (boring == null &&
+        (unconstrainedWidth ||
+            (!YogaConstants.isUndefined(desiredWidth) && desiredWidth <= width))) {
+      // Is used when the width is not known and the text is not boring, ie. if it contains
+      // unicode characters.
+
+      int hintWidth = (int) Math.ceil(desiredWidth);
+      if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+        layout = new StaticLayout(
+          text,
+          textPaint,
+          hintWidth,
+          Layout.Alignment.ALIGN_NORMAL,
+          1.f,
+          0.f,
+          mIncludeFontPadding);
+      } else {
+        layout = StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, hintWidth)
+          .setAlignment(Layout.Alignment.ALIGN_NORMAL)
+          .setLineSpacing(0.f, 1.f)
+          .setIncludePad(mIncludeFontPadding)
+          .setBreakStrategy(mTextBreakStrategy)
+          .setHyphenationFrequency(Layout.HYPHENATION_FREQUENCY_NORMAL)
+          .build();
+      }
+
+    } else if (boring != null && (unconstrainedWidth || boring.width <= width)) {
+      // Is used for single-line, boring text when the width is either unknown or bigger
+      // than the width of the text.
+      layout = BoringLayout.make(
+          text,
+          textPaint,
+          boring.width,
+          Layout.Alignment.ALIGN_NORMAL,
+          1.f,
+          0.f,
+          boring,
+          mIncludeFontPadding);
+    } else {
+      // Is used for multiline, boring text and the width is known.
+
+      if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+        layout = new StaticLayout(
+            text,
+            textPaint,
+            (int) width,
+            Layout.Alignment.ALIGN_NORMAL,
+            1.f,
+            0.f,
+            mIncludeFontPadding);
+      } else {
+        layout = StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, (int) width)
+          .setAlignment(Layout.Alignment.ALIGN_NORMAL)
+          .setLineSpacing(0.f, 1.f)
+          .setIncludePad(mIncludeFontPadding)
+          .setBreakStrategy(mTextBreakStrategy)
+          .setHyphenationFrequency(Layout.HYPHENATION_FREQUENCY_NORMAL)
+          .build();
+      }
+    }
+
+    if (mNumberOfLines != UNSET &&
+        mNumberOfLines < layout.getLineCount()) {
+      return YogaMeasureOutput.make(
+          layout.getWidth(),
+          layout.getLineBottom(mNumberOfLines - 1));
+    } else {
+      return YogaMeasureOutput.make(layout.getWidth(), layout.getHeight());
+    }
+  }
+
+  /**
+   * @return the key the measured sizes of the given text are cached under, or null if they can't
+   *     be cached. The sizes measured for the previous key are dropped when it changes.
+   */
+  private @Nullable String getContentKey(Spanned text) {
+    if (text != mContentKeyText ||
+        mNumberOfLines != mContentKeyNumberOfLines ||
+        mIncludeFontPadding != mContentKeyIncludeFontPadding ||
+        mTextBreakStrategy != mContentKeyTextBreakStrategy) {
+      String contentKey = TextMeasureCache.getContentKey(
+          text,
+          mNumberOfLines,
+          mIncludeFontPadding,
+          mTextBreakStrategy);
+      if (contentKey == null || !contentKey.equals(mContentKey)) {
+        mMeasureCacheCount = 0;
+        mMeasureCacheNext = 0;
+      }
+      mContentKey = contentKey;
+      mContentKeyText = text;
+      mContentKeyNumberOfLines = mNumberOfLines;
+      mContentKeyIncludeFontPadding = mIncludeFontPadding;
+      mContentKeyTextBreakStrategy = mTextBreakStrategy;
+    }
+    return mContentKey;
+  }
+
   // Return text alignment according to LTR or RTL style
   private int getTextAlign() {
     int textAlign = mTextAlign;
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import android.text.Spanned;
+import android.text.style.AbsoluteSizeSpan;
+import android.text.style.MetricAffectingSpan;
+import android.text.style.ParagraphStyle;
+import android.util.LruCache;
+import javax.annotation.Nullable;
+
+/**
+ * Process wide cache of the sizes {@link ReactTextShadowNode} measured texts at, so that a text
+ * that was already measured at the same width, e.g. by another node that shows the same content
+ * after list items got recycled, doesn't need to be laid out again.
+ *
+ * <p>Texts are identified by a content key made of their characters, the attributes of every span
+ * that affects their metrics and the node properties that affect how they are measured. Texts with
+ * a span that could affect their metrics in a way the key doesn't capture aren't cached. The cache
+ * is bounded by the memory taken by its keys.
+ */
+/* package */ class TextMeasureCache {
+
+  private static final int MAX_SIZE_BYTES = 256 * 1024;
+  private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+  private static final LruCache<Key, Long> sMeasureOutputs =
+      new LruCache<Key, Long>(MAX_SIZE_BYTES) {
+        @Override
+        protected int sizeOf(Key key, Long measureOutput) {
+          return key.mContentKey.length() * 2 + ENTRY_OVERHEAD_BYTES;
+        }
+      };
+
+  /**
+   * @return the content key of the given text, or null if it can't be cached
+   */
+  /* package */ static @Nullable String getContentKey(
+      Spanned text,
+      int numberOfLines,
+      boolean includeFontPadding,
+      int textBreakStrategy) {
+    StringBuilder contentKey = new StringBuilder(text.length() + 64);
+    contentKey
+        .append(numberOfLines).append(',')
+        .append(includeFontPadding).append(',')
+        .append(textBreakStrategy).append('|')
+        .append(text);
+    for (Object span : text.getSpans(0, text.length(), Object.class)) {
+      if (span instanceof MetricAffectingSpan || span instanceof ParagraphStyle) {
+        contentKey
+            .append('|')
+            .append(text.getSpanStart(span)).append('-')
+            .append(text.getSpanEnd(span)).append(':');
+        if (!appendSpanAttributes(contentKey, span)) {
+          return null;
+        }
+      }
+      // Other spans, e.g. colors or decorations, don't change the size of the text
+    }
+    return contentKey.toString();
+  }
+
+  private static boolean appendSpanAttributes(StringBuilder contentKey, Object span) {
+    if (span instanceof AbsoluteSizeSpan) {
+      AbsoluteSizeSpan sizeSpan = (AbsoluteSizeSpan) span;
+      contentKey.append("size=").append(sizeSpan.getSize()).append(sizeSpan.getDip());
+    } else if (span instanceof CustomStyleSpan) {
+      CustomStyleSpan styleSpan = (CustomStyleSpan) span;
+      contentKey
+          .append("style=").append(styleSpan.getStyle())
+          .append(',').append(styleSpan.getWeight())
+          .append(',').append(styleSpan.getFontFamily());
+    } else if (span instanceof CustomLetterSpacingSpan) {
+      contentKey.append("spacing=").append(((CustomLetterSpacingSpan) span).getLetterSpacing());
+    } else if (span instanceof CustomLineHeightSpan) {
+      contentKey.append("lineHeight=").append(((CustomLineHeightSpan) span).getHeight());
+    } else if (span instanceof TextInlineImageSpan) {
+      TextInlineImageSpan imageSpan = (TextInlineImageSpan) span;
+      contentKey
+          .append("image=").append(imageSpan.getWidth())
+          .append('x').append(imageSpan.getHeight());
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * @param width the width the text is measured at, or NaN if its width isn't constrained
+   * @return the measure output of the text, or null if it wasn't measured at that width yet
+   */
+  /* package */ static @Nullable Long get(String contentKey, float width) {
+    return sMeasureOutputs.get(new Key(contentKey, width));
+  }
+
+  /* package */ static void put(String contentKey, float width, long measureOutput) {
+    sMeasureOutputs.put(new Key(contentKey, width), measureOutput);
+  }
+
+  /* package */ static void clear() {
+    sMeasureOutputs.evictAll();
+  }
+
+  private static class Key {
+
+    private final String mContentKey;
+    private final float mWidth;
+
+    private Key(String contentKey, float width) {
+      mContentKey = contentKey;
+      mWidth = width;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Float.compare(key.mWidth, mWidth) == 0 && mContentKey.equals(key.mContentKey);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * mContentKey.hashCode() + Float.floatToIntBits(mWidth);
+    }
+  }
+}
@@ -7,6 +7,8 @@
 
 package com.facebook.react.views.textinput;
 
+import android.support.v4.util.Pools;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
@@ -19,18 +21,45 @@ public class ReactContentSizeChangedEvent extends Event<ReactTextChangedEvent> {
 
   public static final String EVENT_NAME = "topContentSizeChange";
 
+  private static final Pools.SynchronizedPool<ReactContentSizeChangedEvent> EVENTS_POOL =
+      new Pools.SynchronizedPool<>(5);
+
   private float mContentWidth;
   private float mContentHeight;
 
+  public static ReactContentSizeChangedEvent obtain(
+      int viewId,
+      float contentSizeWidth,
+      float contentSizeHeight) {
+    ReactContentSizeChangedEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ReactContentSizeChangedEvent();
+    }
+    event.init(viewId, contentSizeWidth, contentSizeHeight);
+    return event;
+  }
+
   public ReactContentSizeChangedEvent(
     int viewId,
     float contentSizeWidth,
     float contentSizeHeight) {
-    super(viewId);
+    init(viewId, contentSizeWidth, contentSizeHeight);
+  }
+
+  private ReactContentSizeChangedEvent() {
+  }
+
+  private void init(int viewId, float contentSizeWidth, float contentSizeHeight) {
+    super.init(viewId);
     mContentWidth = contentSizeWidth;
     mContentHeight = contentSizeHeight;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
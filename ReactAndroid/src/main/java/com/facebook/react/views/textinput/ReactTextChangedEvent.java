@@ -7,6 +7,10 @@
 
 package com.facebook.react.views.textinput;
 
+import javax.annotation.Nullable;
+
+import android.support.v4.util.Pools;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
@@ -20,18 +24,43 @@ public class ReactTextChangedEvent extends Event<ReactTextChangedEvent> {
 
   public static final String EVENT_NAME = "topChange";
 
-  private String mText;
+  private static final Pools.SynchronizedPool<ReactTextChangedEvent> EVENTS_POOL =
+      new Pools.SynchronizedPool<>(5);
+
+  private @Nullable String mText;
   private int mEventCount;
 
+  public static ReactTextChangedEvent obtain(int viewId, String text, int eventCount) {
+    ReactTextChangedEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ReactTextChangedEvent();
+    }
+    event.init(viewId, text, eventCount);
+    return event;
+  }
+
   public ReactTextChangedEvent(
       int viewId,
       String text,
       int eventCount) {
-    super(viewId);
+    init(viewId, text, eventCount);
+  }
+
+  private ReactTextChangedEvent() {
+  }
+
+  private void init(int viewId, String text, int eventCount) {
+    super.init(viewId);
     mText = text;
     mEventCount = eventCount;
   }
 
+  @Override
+  public void onDispose() {
+    mText = null;
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
@@ -7,6 +7,10 @@
 
 package com.facebook.react.views.textinput;
 
+import javax.annotation.Nullable;
+
+import android.support.v4.util.Pools;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
@@ -20,24 +24,60 @@ public class ReactTextInputEvent extends Event<ReactTextInputEvent> {
 
   public static final String EVENT_NAME = "topTextInput";
 
-  private String mText;
-  private String mPreviousText;
+  private static final Pools.SynchronizedPool<ReactTextInputEvent> EVENTS_POOL =
+      new Pools.SynchronizedPool<>(5);
+
+  private @Nullable String mText;
+  private @Nullable String mPreviousText;
   private int mRangeStart;
   private int mRangeEnd;
 
+  public static ReactTextInputEvent obtain(
+      int viewId,
+      String text,
+      String previousText,
+      int rangeStart,
+      int rangeEnd) {
+    ReactTextInputEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ReactTextInputEvent();
+    }
+    event.init(viewId, text, previousText, rangeStart, rangeEnd);
+    return event;
+  }
+
   public ReactTextInputEvent(
       int viewId,
       String text,
       String previousText,
       int rangeStart,
       int rangeEnd) {
-    super(viewId);
+    init(viewId, text, previousText, rangeStart, rangeEnd);
+  }
+
+  private ReactTextInputEvent() {
+  }
+
+  private void init(
+      int viewId,
+      String text,
+      String previousText,
+      int rangeStart,
+      int rangeEnd) {
+    super.init(viewId);
     mText = text;
     mPreviousText = previousText;
     mRangeStart = rangeStart;
     mRangeEnd = rangeEnd;
   }
 
+  @Override
+  public void onDispose() {
+    mText = null;
+    mPreviousText = null;
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
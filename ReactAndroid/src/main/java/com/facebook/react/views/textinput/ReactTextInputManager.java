@@ -719,13 +719,13 @@ public class ReactTextInputManager extends BaseViewManager<ReactEditText, Layout
       // The event that contains the event counter and updates it must be sent first.
       // TODO: t7936714 merge these events
       mEventDispatcher.dispatchEvent(
-          new ReactTextChangedEvent(
+          ReactTextChangedEvent.obtain(
               mEditText.getId(),
               s.toString(),
               mEditText.incrementAndGetEventCounter()));
 
       mEventDispatcher.dispatchEvent(
-          new ReactTextInputEvent(
+          ReactTextInputEvent.obtain(
               mEditText.getId(),
               newText,
               oldText,
@@ -834,7 +834,7 @@ public class ReactTextInputManager extends BaseViewManager<ReactEditText, Layout
         mPreviousContentWidth = contentWidth;
 
         mEventDispatcher.dispatchEvent(
-          new ReactContentSizeChangedEvent(
+          ReactContentSizeChangedEvent.obtain(
             mEditText.getId(),
             PixelUtil.toDIPFromPixel(contentWidth),
             PixelUtil.toDIPFromPixel(contentHeight)));
@@ -862,7 +862,7 @@ public class ReactTextInputManager extends BaseViewManager<ReactEditText, Layout
       // forward it on if we have new values
       if (mPreviousSelectionStart != start || mPreviousSelectionEnd != end) {
         mEventDispatcher.dispatchEvent(
-            new ReactTextInputSelectionEvent(
+            ReactTextInputSelectionEvent.obtain(
                 mReactEditText.getId(),
                 start,
                 end
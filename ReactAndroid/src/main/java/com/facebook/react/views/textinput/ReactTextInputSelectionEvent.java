@@ -7,6 +7,8 @@
 
 package com.facebook.react.views.textinput;
 
+import android.support.v4.util.Pools;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
@@ -20,18 +22,38 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
 
   private static final String EVENT_NAME = "topSelectionChange";
 
+  private static final Pools.SynchronizedPool<ReactTextInputSelectionEvent> EVENTS_POOL =
+      new Pools.SynchronizedPool<>(5);
+
   private int mSelectionStart;
   private int mSelectionEnd;
 
-  public ReactTextInputSelectionEvent(
+  public static ReactTextInputSelectionEvent obtain(
       int viewId,
       int selectionStart,
       int selectionEnd) {
-    super(viewId);
+    ReactTextInputSelectionEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ReactTextInputSelectionEvent();
+    }
+    event.init(viewId, selectionStart, selectionEnd);
+    return event;
+  }
+
+  private ReactTextInputSelectionEvent() {
+  }
+
+  private void init(int viewId, int selectionStart, int selectionEnd) {
+    super.init(viewId);
     mSelectionStart = selectionStart;
     mSelectionEnd = selectionEnd;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
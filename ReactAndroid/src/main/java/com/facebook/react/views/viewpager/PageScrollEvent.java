@@ -7,6 +7,8 @@
 
 package com.facebook.react.views.viewpager;
 
+import android.support.v4.util.Pools;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
@@ -26,11 +28,26 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
 
   public static final String EVENT_NAME = "topPageScroll";
 
-  private final int mPosition;
-  private final float mOffset;
+  private static final Pools.SynchronizedPool<PageScrollEvent> EVENTS_POOL =
+      new Pools.SynchronizedPool<>(3);
+
+  private int mPosition;
+  private float mOffset;
 
-  protected PageScrollEvent(int viewTag, int position, float offset) {
-    super(viewTag);
+  public static PageScrollEvent obtain(int viewTag, int position, float offset) {
+    PageScrollEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new PageScrollEvent();
+    }
+    event.init(viewTag, position, offset);
+    return event;
+  }
+
+  private PageScrollEvent() {
+  }
+
+  private void init(int viewTag, int position, float offset) {
+    super.init(viewTag);
     mPosition = position;
 
     // folly::toJson default options don't support serialize NaN or Infinite value
@@ -38,6 +55,11 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
       ? 0.0f : offset;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
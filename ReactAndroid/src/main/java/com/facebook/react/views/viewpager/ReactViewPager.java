@@ -121,7 +121,7 @@ public class ReactViewPager extends ViewPager {
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
       mEventDispatcher.dispatchEvent(
-          new PageScrollEvent(getId(), position, positionOffset));
+          PageScrollEvent.obtain(getId(), position, positionOffset));
     }
 
     @Override
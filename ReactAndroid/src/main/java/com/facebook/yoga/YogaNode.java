@@ -247,9 +247,24 @@ public class YogaNode implements Cloneable {
     return mChildren == null ? -1 : mChildren.indexOf(child);
   }
 
-  private native void jni_YGNodeCalculateLayout(long nativePointer, float width, float height);
+  private native void jni_YGNodeCalculateLayout(
+      long nativePointer,
+      float width,
+      float height,
+      boolean flagChangedFramesOnly);
   public void calculateLayout(float width, float height) {
-    jni_YGNodeCalculateLayout(mNativePointer, width, height);
+    jni_YGNodeCalculateLayout(mNativePointer, width, height, false);
+  }
+
+  /**
+   * Same as {@link #calculateLayout(float, float)}, except that rather than every node that got
+   * laid out, only the nodes whose position or size changed since the layout was last calculated,
+   * and their ancestors, are flagged with {@link #hasNewLayout()}. Nodes below a node that moved
+   * are flagged too if they got laid out. This lets callers that only need to apply changed frames
+   * skip the subtrees without any.
+   */
+  public void calculateLayoutFlaggingChangedFrames(float width, float height) {
+    jni_YGNodeCalculateLayout(mNativePointer, width, height, true);
   }
 
   public boolean hasNewLayout() {
@@ -42,7 +42,14 @@ static void YGTransferLayoutDirection(YGNodeRef node, alias_ref<jobject> javaNod
   javaNode->setFieldValue(layoutDirectionField, static_cast<jint>(YGNodeLayoutGetDirection(node)));
 }
 
-static void YGTransferLayoutOutputsRecursive(YGNodeRef root) {
+// Copies the layout outputs of the nodes laid out by the last pass over to their Java objects. When
+// flagChangedFramesOnly is set, mHasNewLayout only gets set on the nodes whose frame changed, on
+// every node laid out below one that moved, and on their ancestors, so that the nodes left out can
+// be skipped when applying the layout. Returns whether mHasNewLayout was set on the node.
+static bool YGTransferLayoutOutputsRecursive(
+    YGNodeRef root,
+    bool flagChangedFramesOnly,
+    bool ancestorMoved) {
   if (root->getHasNewLayout()) {
     if (auto obj = YGNodeJobject(root)->lockLocal()) {
       static auto widthField = obj->getClass()->getField<jfloat>("mWidth");
@@ -78,10 +85,21 @@ static void YGTransferLayoutOutputsRecursive(YGNodeRef root) {
 
       int hasEdgeSetFlag = (int) obj->getFieldValue(edgeSetFlagField);
 
-      obj->setFieldValue(widthField, YGNodeLayoutGetWidth(root));
-      obj->setFieldValue(heightField, YGNodeLayoutGetHeight(root));
-      obj->setFieldValue(leftField, YGNodeLayoutGetLeft(root));
-      obj->setFieldValue(topField, YGNodeLayoutGetTop(root));
+      const float width = YGNodeLayoutGetWidth(root);
+      const float height = YGNodeLayoutGetHeight(root);
+      const float left = YGNodeLayoutGetLeft(root);
+      const float top = YGNodeLayoutGetTop(root);
+      // Positions get rounded to pixels relative to the root, so the frames of the nodes below one
+      // that moved need to be applied again even if they didn't change themselves
+      const bool moved = ancestorMoved || left != obj->getFieldValue(leftField) ||
+          top != obj->getFieldValue(topField);
+      const bool frameChanged = moved || width != obj->getFieldValue(widthField) ||
+          height != obj->getFieldValue(heightField);
+
+      obj->setFieldValue(widthField, width);
+      obj->setFieldValue(heightField, height);
+      obj->setFieldValue(leftField, left);
+      obj->setFieldValue(topField, top);
       obj->setFieldValue<jboolean>(
           doesLegacyStretchBehaviour,
           YGNodeLayoutGetDidLegacyStretchFlagAffectLayout(root));
@@ -111,17 +129,24 @@ static void YGTransferLayoutOutputsRecursive(YGNodeRef root) {
         obj->setFieldValue(borderBottomField, YGNodeLayoutGetBorder(root, YGEdgeBottom));
       }
 
-      obj->setFieldValue<jboolean>(hasNewLayoutField, true);
       YGTransferLayoutDirection(root, obj);
       root->setHasNewLayout(false);
 
+      bool childFlagged = false;
       for (uint32_t i = 0; i < YGNodeGetChildCount(root); i++) {
-        YGTransferLayoutOutputsRecursive(YGNodeGetChild(root, i));
+        childFlagged |= YGTransferLayoutOutputsRecursive(
+            YGNodeGetChild(root, i), flagChangedFramesOnly, moved);
+      }
+
+      if (!flagChangedFramesOnly || frameChanged || childFlagged) {
+        obj->setFieldValue<jboolean>(hasNewLayoutField, true);
+        return true;
       }
     } else {
       YGLog(root, YGLogLevelError, "Java YGNode was GCed during layout calculation\n");
     }
   }
+  return false;
 }
 
 static void YGPrint(YGNodeRef node) {
@@ -324,13 +349,14 @@ void jni_YGNodeRemoveChild(alias_ref<jobject>, jlong nativePointer, jlong childP
 void jni_YGNodeCalculateLayout(alias_ref<jobject>,
                                jlong nativePointer,
                                jfloat width,
-                               jfloat height) {
+                               jfloat height,
+                               jboolean flagChangedFramesOnly) {
   const YGNodeRef root = _jlong2YGNodeRef(nativePointer);
   YGNodeCalculateLayout(root,
                         static_cast<float>(width),
                         static_cast<float>(height),
                         YGNodeStyleGetDirection(_jlong2YGNodeRef(nativePointer)));
-  YGTransferLayoutOutputsRecursive(root);
+  YGTransferLayoutOutputsRecursive(root, flagChangedFramesOnly, false);
 }
 
 void jni_YGNodeMarkDirty(alias_ref<jobject>, jlong nativePointer) {
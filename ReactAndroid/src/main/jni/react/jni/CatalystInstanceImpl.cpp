@@ -175,12 +175,15 @@ void CatalystInstanceImpl::jniRegisterSegment(int segmentId, const std::string&
 void CatalystInstanceImpl::jniLoadScriptFromAssets(
     jni::alias_ref<JAssetManager::javaobject> assetManager,
     const std::string& assetURL,
-    bool loadSynchronously) {
+    bool loadSynchronously,
+    bool memoryMap) {
   const int kAssetsLength = 9;  // strlen("assets://");
   auto sourceURL = assetURL.substr(kAssetsLength);
 
   auto manager = extractAssetManager(assetManager);
-  auto script = loadScriptFromAssets(manager, sourceURL);
+  auto script = memoryMap
+    ? mapScriptFromAssets(manager, sourceURL)
+    : loadScriptFromAssets(manager, sourceURL);
   if (JniJSModulesUnbundle::isUnbundle(manager, sourceURL)) {
     auto bundle = JniJSModulesUnbundle::fromEntryFile(manager, sourceURL);
     auto registry = RAMBundleRegistry::singleBundleRegistry(std::move(bundle));
@@ -8,10 +8,12 @@
 #include <fb/log.h>
 #include <folly/Conv.h>
 #include <folly/Memory.h>
+#include <folly/ScopeGuard.h>
 #include <fstream>
 #include <sstream>
 #include <streambuf>
 #include <string>
+#include <unistd.h>
 
 #ifdef WITH_FBSYSTRACE
 #include <fbsystrace.h>
@@ -60,4 +62,34 @@ std::unique_ptr<const JSBigString> loadScriptFromAssets(
     "'. Make sure your bundle is packaged correctly or you're running a packager server."));
 }
 
+__attribute__((visibility("default")))
+std::unique_ptr<const JSBigString> mapScriptFromAssets(
+    AAssetManager *manager,
+    const std::string& assetName) {
+  #ifdef WITH_FBSYSTRACE
+  FbSystraceSection s(TRACE_TAG_REACT_CXX_BRIDGE, "reactbridge_jni_mapScriptFromAssets",
+    "assetName", assetName);
+  #endif
+  #if WITH_FBJSCEXTENSIONS
+  // The mapping isn't NUL-terminated, the bytes after the bundle belong to the next entry of the
+  // APK. Only executors that are told the length of the script can evaluate it in place.
+  if (manager) {
+    auto asset = AAssetManager_open(manager, assetName.c_str(), AASSET_MODE_UNKNOWN);
+    if (asset) {
+      off64_t start;
+      off64_t length;
+      // Only succeeds if the asset isn't compressed
+      int fd = AAsset_openFileDescriptor64(asset, &start, &length);
+      AAsset_close(asset);
+      if (fd >= 0) {
+        SCOPE_EXIT { CHECK(::close(fd) == 0); };
+        // JSBigFileString keeps its own duplicate of the descriptor
+        return folly::make_unique<const JSBigFileString>(fd, length, start);
+      }
+    }
+  }
+  #endif
+  return loadScriptFromAssets(manager, assetName);
+}
+
 }}
@@ -22,4 +22,12 @@ AAssetManager *extractAssetManager(jni::alias_ref<JAssetManager::javaobject> ass
 
 std::unique_ptr<const JSBigString> loadScriptFromAssets(AAssetManager *assetManager, const std::string& assetName);
 
+/**
+ * Memory-maps the JS script from an android asset, so that it doesn't have to be copied to the heap.
+ * Only works for assets stored uncompressed in the APK and JS executors that take the length of
+ * the script rather than reading it up to a NUL byte, i.e. builds WITH_FBJSCEXTENSIONS. Otherwise
+ * the script is read like in loadScriptFromAssets.
+ */
+std::unique_ptr<const JSBigString> mapScriptFromAssets(AAssetManager *assetManager, const std::string& assetName);
+
 } }
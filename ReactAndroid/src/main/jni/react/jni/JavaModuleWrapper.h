@@ -6,6 +6,7 @@
 #include <fb/fbjni.h>
 #include <folly/Optional.h>
 
+#include "JMessageQueueThread.h"
 #include "MethodInvoker.h"
 
 namespace facebook {
@@ -39,6 +40,13 @@ struct JavaModuleWrapper : jni::JavaClass<JavaModuleWrapper> {
     return getName(self())->toStdString();
   }
 
+  // Null unless the module is pinned to a native modules queue lane.
+  jni::local_ref<JavaMessageQueueThread::javaobject> getMessageQueueThread() const {
+    static auto getMessageQueueThread = javaClassStatic()
+      ->getMethod<JavaMessageQueueThread::javaobject()>("getMessageQueueThread");
+    return getMessageQueueThread(self());
+  }
+
   jni::local_ref<jni::JList<JMethodDescriptor::javaobject>::javaobject> getMethodDescriptors() {
     static auto getMethods = getClass()
       ->getMethod<jni::JList<JMethodDescriptor::javaobject>::javaobject()>("getMethodDescriptors");
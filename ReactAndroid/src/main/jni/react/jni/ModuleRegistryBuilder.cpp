@@ -37,8 +37,12 @@ std::vector<std::unique_ptr<NativeModule>> buildNativeModuleList(
   std::vector<std::unique_ptr<NativeModule>> modules;
   if (javaModules) {
     for (const auto& jm : *javaModules) {
+      std::shared_ptr<MessageQueueThread> messageQueue = moduleMessageQueue;
+      if (auto laneQueue = jm->getMessageQueueThread()) {
+        messageQueue = std::make_shared<JMessageQueueThread>(laneQueue);
+      }
       modules.emplace_back(folly::make_unique<JavaNativeModule>(
-                     winstance, jm, moduleMessageQueue));
+                     winstance, jm, std::move(messageQueue)));
     }
   }
   if (cxxModules) {
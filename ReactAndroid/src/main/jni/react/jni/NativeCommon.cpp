@@ -2,6 +2,8 @@
 
 #include "NativeCommon.h"
 
+#include <cstring>
+
 using namespace facebook::jni;
 
 namespace facebook {
@@ -21,8 +23,96 @@ alias_ref<ReadableType> getTypeField(const char* fieldName) {
   return make_global(cls->getStaticFieldValue(field)).release();
 }
 
+constexpr size_t kTypedValuesHeaderSize = 8;
+constexpr size_t kTypedValueEntrySize = 16;
+
+// Ordinals of com.facebook.react.bridge.ReadableType
+enum TypedValueTag : int32_t {
+  kTypedValueNull = 0,
+  kTypedValueBoolean = 1,
+  kTypedValueNumber = 2,
+  kTypedValueString = 3,
+  kTypedValueMap = 4,
+  kTypedValueArray = 5,
+};
+
+void writeTypedValue(
+    const folly::dynamic& value,
+    uint8_t* entry,
+    std::vector<uint8_t>& out,
+    size_t& stringsCursor) {
+  int32_t tag = kTypedValueNull;
+  int32_t length = 0;
+  switch (value.type()) {
+    case folly::dynamic::Type::BOOL: {
+      tag = kTypedValueBoolean;
+      int64_t payload = value.getBool() ? 1 : 0;
+      memcpy(entry + 8, &payload, sizeof(payload));
+      break;
+    }
+    case folly::dynamic::Type::INT64:
+    case folly::dynamic::Type::DOUBLE: {
+      tag = kTypedValueNumber;
+      double payload = value.isInt() ? value.getInt() : value.getDouble();
+      memcpy(entry + 8, &payload, sizeof(payload));
+      break;
+    }
+    case folly::dynamic::Type::STRING: {
+      tag = kTypedValueString;
+      const std::string& string = value.getString();
+      length = static_cast<int32_t>(string.size());
+      int64_t payload = static_cast<int64_t>(stringsCursor);
+      memcpy(entry + 8, &payload, sizeof(payload));
+      memcpy(out.data() + stringsCursor, string.data(), string.size());
+      stringsCursor += string.size();
+      break;
+    }
+    case folly::dynamic::Type::OBJECT:
+      tag = kTypedValueMap;
+      break;
+    case folly::dynamic::Type::ARRAY:
+      tag = kTypedValueArray;
+      break;
+    default:
+      break;
+  }
+  memcpy(entry, &tag, sizeof(tag));
+  memcpy(entry + 4, &length, sizeof(length));
+}
+
 } // namespace
 
+void writeTypedValues(const folly::dynamic& container, std::vector<uint8_t>& out) {
+  std::vector<const folly::dynamic*> values;
+  values.reserve(container.size());
+  if (container.isObject()) {
+    for (auto& pair : container.items()) {
+      values.push_back(&pair.second);
+    }
+  } else {
+    for (auto& value : container) {
+      values.push_back(&value);
+    }
+  }
+
+  size_t stringsOffset = kTypedValuesHeaderSize + values.size() * kTypedValueEntrySize;
+  size_t size = stringsOffset;
+  for (auto value : values) {
+    if (value->isString()) {
+      size += value->getString().size();
+    }
+  }
+  out.assign(size, 0);
+
+  int32_t count = static_cast<int32_t>(values.size());
+  memcpy(out.data(), &count, sizeof(count));
+  size_t stringsCursor = stringsOffset;
+  for (size_t i = 0; i < values.size(); i++) {
+    uint8_t* entry = out.data() + kTypedValuesHeaderSize + i * kTypedValueEntrySize;
+    writeTypedValue(*values[i], entry, out, stringsCursor);
+  }
+}
+
 local_ref<ReadableType> ReadableType::getType(folly::dynamic::Type type) {
   switch (type) {
     case folly::dynamic::Type::NULLT: {
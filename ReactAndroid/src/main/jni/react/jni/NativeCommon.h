@@ -2,7 +2,10 @@
 
 #pragma once
 
+#include <vector>
+
 #include <fb/fbjni.h>
+#include <fb/fbjni/ByteBuffer.h>
 #include <folly/dynamic.h>
 
 #ifndef RN_EXPORT
@@ -18,6 +21,11 @@ struct ReadableType : public jni::JavaClass<ReadableType> {
   static jni::local_ref<ReadableType> getType(folly::dynamic::Type type);
 };
 
+// Serializes the values of the given array, or of the given object in the order of its items(),
+// into the flat layout read by com.facebook.react.bridge.TypedValueBuffer (see there for a
+// description of the layout). Nested objects and arrays are only tagged and not serialized.
+void writeTypedValues(const folly::dynamic& container, std::vector<uint8_t>& out);
+
 namespace exceptions {
 
 extern const char *gUnexpectedNativeTypeExceptionClass;
@@ -127,10 +127,16 @@ local_ref<ReadableNativeMap::jhybridobject> getMapFixed(alias_ref<ReadableNative
 }
 }
 
+local_ref<JByteBuffer> ReadableNativeArray::importTypedValues() {
+  writeTypedValues(array_, typedValues_);
+  return JByteBuffer::wrapBytes(typedValues_.data(), typedValues_.size());
+}
+
 void ReadableNativeArray::registerNatives() {
   registerHybrid({
     makeNativeMethod("importArray", ReadableNativeArray::importArray),
     makeNativeMethod("importTypeArray", ReadableNativeArray::importTypeArray),
+    makeNativeMethod("importTypedValues", ReadableNativeArray::importTypedValues),
     makeNativeMethod("sizeNative", ReadableNativeArray::getSize),
     makeNativeMethod("isNullNative", ReadableNativeArray::isNull),
     makeNativeMethod("getBooleanNative", ReadableNativeArray::getBoolean),
@@ -21,6 +21,7 @@ class ReadableNativeArray : public jni::HybridClass<ReadableNativeArray, NativeA
   static void mapException(const std::exception& ex);
   jni::local_ref<jni::JArrayClass<jobject>> importArray();
   jni::local_ref<jni::JArrayClass<jobject>> importTypeArray();
+  jni::local_ref<jni::JByteBuffer> importTypedValues();
   jint getSize();
   jboolean isNull(jint index);
   jboolean getBoolean(jint index);
@@ -37,6 +38,11 @@ class ReadableNativeArray : public jni::HybridClass<ReadableNativeArray, NativeA
   jni::local_ref<ReadableType> getType(jint index);
 
   static void registerNatives();
+
+ private:
+  // Backs the direct ByteBuffer returned by importTypedValues, which is only referenced by the Java
+  // part of this array.
+  std::vector<uint8_t> typedValues_;
 };
 
 }}
@@ -74,14 +74,9 @@ local_ref<JArrayClass<jobject>> ReadableNativeMap::importValues() {
   return jarray;
 }
 
-local_ref<JArrayClass<jobject>> ReadableNativeMap::importTypes() {
-  jint size = keys_.value().size();
-  auto jarray = JArrayClass<jobject>::newArray(size);
-  for (jint i = 0; i < size; i++) {
-    std::string key = keys_.value()[i].getString().c_str();
-    (*jarray)[i] = ReadableNativeMap::getValueType(key);
-  }
-  return jarray;
+local_ref<JByteBuffer> ReadableNativeMap::importTypedValues() {
+  writeTypedValues(map_, typedValues_);
+  return JByteBuffer::wrapBytes(typedValues_.data(), typedValues_.size());
 }
 
 bool ReadableNativeMap::hasKey(const std::string& key) {
@@ -168,7 +163,7 @@ void ReadableNativeMap::registerNatives() {
   registerHybrid({
       makeNativeMethod("importKeys", ReadableNativeMap::importKeys),
       makeNativeMethod("importValues", ReadableNativeMap::importValues),
-      makeNativeMethod("importTypes", ReadableNativeMap::importTypes),
+      makeNativeMethod("importTypedValues", ReadableNativeMap::importTypedValues),
       makeNativeMethod("hasKeyNative", ReadableNativeMap::hasKey),
       makeNativeMethod("isNullNative", ReadableNativeMap::isNull),
       makeNativeMethod("getBooleanNative", ReadableNativeMap::getBooleanKey),
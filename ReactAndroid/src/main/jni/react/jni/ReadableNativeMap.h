@@ -21,7 +21,7 @@ struct ReadableNativeMap : jni::HybridClass<ReadableNativeMap, NativeMap> {
 
   jni::local_ref<jni::JArrayClass<jstring>> importKeys();
   jni::local_ref<jni::JArrayClass<jobject>> importValues();
-  jni::local_ref<jni::JArrayClass<jobject>> importTypes();
+  jni::local_ref<jni::JByteBuffer> importTypedValues();
   bool hasKey(const std::string& key);
   const folly::dynamic& getMapValue(const std::string& key);
   bool isNull(const std::string& key);
@@ -33,6 +33,9 @@ struct ReadableNativeMap : jni::HybridClass<ReadableNativeMap, NativeMap> {
   jni::local_ref<jhybridobject> getMapKey(const std::string& key);
   jni::local_ref<ReadableType> getValueType(const std::string& key);
   folly::Optional<folly::dynamic> keys_;
+  // Backs the direct ByteBuffer returned by importTypedValues, which is only referenced by the Java
+  // part of this map.
+  std::vector<uint8_t> typedValues_;
   static jni::local_ref<jhybridobject> createWithContents(folly::dynamic&& map);
 
   static void mapException(const std::exception& ex);
@@ -7,6 +7,10 @@
 
 package com.facebook.react.animated;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.JavaOnlyArray;
@@ -20,6 +24,8 @@ import com.facebook.react.uimanager.events.Event;
 import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
@@ -36,6 +42,7 @@ import org.powermock.modules.junit4.rule.PowerMockRule;
 import org.robolectric.RobolectricTestRunner;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
@@ -672,6 +679,183 @@ public class NativeAnimatedNodeTraversalTest {
     verifyNoMoreInteractions(mUIImplementationMock);
   }
 
+  /**
+   * Verifies that a long chain of nodes, each of which depends on both its predecessor and on the
+   * animated value node, is evaluated in topological order on every frame. The graph is updated
+   * several times in a row to make sure state reused across frames doesn't leak between them.
+   *
+   * Nodes are connected as follows (nodes IDs in parens):
+   * ValueNode(1) -> AdditionNode(3) -> ... -> AdditionNode(N) -> StyleNode(N+1) -> PropNode(N+2)
+   * ValueNode(2) -> AdditionNode(3)
+   * ValueNode(1) -> AdditionNode(k) for every 3 <= k <= N
+   */
+  @Test
+  public void testLongAdditionChainIsUpdatedInTopologicalOrder() {
+    int lastAdditionNodeTag = 500;
+    mNativeAnimatedNodesManager.createAnimatedNode(
+      1,
+      JavaOnlyMap.of("type", "value", "value", 0d, "offset", 0d));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+      2,
+      JavaOnlyMap.of("type", "value", "value", 0d, "offset", 0d));
+    for (int tag = 3; tag <= lastAdditionNodeTag; tag++) {
+      mNativeAnimatedNodesManager.createAnimatedNode(
+        tag,
+        JavaOnlyMap.of("type", "addition", "input", JavaOnlyArray.of(tag - 1, 1)));
+      mNativeAnimatedNodesManager.connectAnimatedNodes(tag - 1, tag);
+      mNativeAnimatedNodesManager.connectAnimatedNodes(1, tag);
+    }
+    mNativeAnimatedNodesManager.createAnimatedNode(
+      lastAdditionNodeTag + 1,
+      JavaOnlyMap.of("type", "style", "style", JavaOnlyMap.of("translateX", lastAdditionNodeTag)));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+      lastAdditionNodeTag + 2,
+      JavaOnlyMap.of("type", "props", "props", JavaOnlyMap.of("style", lastAdditionNodeTag + 1)));
+    mNativeAnimatedNodesManager.connectAnimatedNodes(lastAdditionNodeTag, lastAdditionNodeTag + 1);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(
+      lastAdditionNodeTag + 1,
+      lastAdditionNodeTag + 2);
+    mNativeAnimatedNodesManager.connectAnimatedNodeToView(lastAdditionNodeTag + 2, 50);
+
+    Callback animationCallback = mock(Callback.class);
+    JavaOnlyArray frames = JavaOnlyArray.of(0d, 0.5d, 1d);
+    mNativeAnimatedNodesManager.startAnimatingNode(
+      1,
+      1,
+      JavaOnlyMap.of("type", "frames", "frames", frames, "toValue", 2d),
+      animationCallback);
+
+    ArgumentCaptor<ReactStylesDiffMap> stylesCaptor =
+      ArgumentCaptor.forClass(ReactStylesDiffMap.class);
+
+    for (int i = 0; i < frames.size(); i++) {
+      reset(mUIImplementationMock);
+      mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+      verify(mUIImplementationMock)
+        .synchronouslyUpdateViewOnUIThread(eq(50), stylesCaptor.capture());
+      assertThat(stylesCaptor.getValue().getDouble("translateX", Double.NaN))
+        .isEqualTo((lastAdditionNodeTag - 2) * 2d * frames.getDouble(i));
+    }
+
+    reset(mUIImplementationMock);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    verifyNoMoreInteractions(mUIImplementationMock);
+  }
+
+  /**
+   * Verifies that nodes connected to the graph while an animation is running start receiving
+   * updates on the following frames, i.e. that the update order computed on earlier frames isn't
+   * reused once the graph has changed.
+   */
+  @Test
+  public void testNodesConnectedDuringAnimationAreUpdated() {
+    createSimpleAnimatedViewWithOpacity(1000, 0d);
+
+    Callback animationCallback = mock(Callback.class);
+    JavaOnlyArray frames = JavaOnlyArray.of(0d, 0.25d, 0.5d, 0.75d, 1d);
+    mNativeAnimatedNodesManager.startAnimatingNode(
+      1,
+      1,
+      JavaOnlyMap.of("type", "frames", "frames", frames, "toValue", 1d),
+      animationCallback);
+
+    ArgumentCaptor<ReactStylesDiffMap> stylesCaptor =
+      ArgumentCaptor.forClass(ReactStylesDiffMap.class);
+
+    for (int i = 0; i < 2; i++) {
+      reset(mUIImplementationMock);
+      mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+      verify(mUIImplementationMock)
+        .synchronouslyUpdateViewOnUIThread(eq(1000), stylesCaptor.capture());
+      verifyNoMoreInteractions(mUIImplementationMock);
+    }
+
+    mNativeAnimatedNodesManager.createAnimatedNode(
+      4,
+      JavaOnlyMap.of("type", "style", "style", JavaOnlyMap.of("opacity", 1)));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+      5,
+      JavaOnlyMap.of("type", "props", "props", JavaOnlyMap.of("style", 4)));
+    mNativeAnimatedNodesManager.connectAnimatedNodes(1, 4);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(4, 5);
+    mNativeAnimatedNodesManager.connectAnimatedNodeToView(5, 2000);
+
+    for (int i = 2; i < frames.size(); i++) {
+      reset(mUIImplementationMock);
+      mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+      verify(mUIImplementationMock)
+        .synchronouslyUpdateViewOnUIThread(eq(1000), stylesCaptor.capture());
+      assertThat(stylesCaptor.getValue().getDouble("opacity", Double.NaN))
+        .isEqualTo(frames.getDouble(i));
+      verify(mUIImplementationMock)
+        .synchronouslyUpdateViewOnUIThread(eq(2000), stylesCaptor.capture());
+      assertThat(stylesCaptor.getValue().getDouble("opacity", Double.NaN))
+        .isEqualTo(frames.getDouble(i));
+    }
+  }
+
+  /**
+   * Verifies that the update order is recomputed when the graph changes between two frames that
+   * start from the very same nodes. The node that gets disconnected and connected back is updated
+   * on both frames, so only the change of the graph itself tells the order apart.
+   */
+  @Test
+  public void testNodesReconnectedDuringAnimationAreUpdatedAfterTheirParents() {
+    createAnimatedGraphWithAdditionNode(1000, 0d, 0d);
+    mNativeAnimatedNodesManager.createAnimatedNode(
+      6,
+      JavaOnlyMap.of("type", "addition", "input", JavaOnlyArray.of(3, 2)));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+      7,
+      JavaOnlyMap.of("type", "style", "style", JavaOnlyMap.of("translateX", 6)));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+      8,
+      JavaOnlyMap.of("type", "props", "props", JavaOnlyMap.of("style", 7)));
+    mNativeAnimatedNodesManager.connectAnimatedNodes(3, 6);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(2, 6);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(6, 7);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(7, 8);
+    mNativeAnimatedNodesManager.connectAnimatedNodeToView(8, 2000);
+
+    Callback animationCallback = mock(Callback.class);
+    JavaOnlyArray frames = JavaOnlyArray.of(0d, 0.25d, 0.5d, 0.75d, 1d);
+    mNativeAnimatedNodesManager.startAnimatingNode(
+      1,
+      1,
+      JavaOnlyMap.of("type", "frames", "frames", frames, "toValue", 1d),
+      animationCallback);
+
+    ArgumentCaptor<ReactStylesDiffMap> stylesCaptor =
+      ArgumentCaptor.forClass(ReactStylesDiffMap.class);
+
+    for (int i = 0; i < 2; i++) {
+      reset(mUIImplementationMock);
+      mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+      verify(mUIImplementationMock)
+        .synchronouslyUpdateViewOnUIThread(eq(2000), stylesCaptor.capture());
+      assertThat(stylesCaptor.getValue().getDouble("translateX", Double.NaN))
+        .isEqualTo(frames.getDouble(i));
+    }
+
+    // While disconnected, Add(6) has no active parent and is updated before Add(3)
+    mNativeAnimatedNodesManager.disconnectAnimatedNodes(3, 6);
+    reset(mUIImplementationMock);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    verify(mUIImplementationMock)
+      .synchronouslyUpdateViewOnUIThread(eq(2000), any(ReactStylesDiffMap.class));
+
+    // Same starting nodes as on the previous frame, but Add(6) has to wait for Add(3) again
+    mNativeAnimatedNodesManager.connectAnimatedNodes(3, 6);
+    for (int i = 3; i < frames.size(); i++) {
+      reset(mUIImplementationMock);
+      mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+      verify(mUIImplementationMock)
+        .synchronouslyUpdateViewOnUIThread(eq(2000), stylesCaptor.capture());
+      assertThat(stylesCaptor.getValue().getDouble("translateX", Double.NaN))
+        .isEqualTo(frames.getDouble(i));
+    }
+  }
+
   /**
    * Verifies that {@link NativeAnimatedNodesManager#runUpdates} updates the view correctly in case
    * when one of the addition input nodes has started animating while the other one has not.
@@ -1282,4 +1466,175 @@ public class NativeAnimatedNodeTraversalTest {
     // we verify that the value settled at 2
     assertThat(previousValue).isEqualTo(1.5d);
   }
+
+  /**
+   * Stands in for the animation thread: frame evaluations posted to it only run when the test
+   * takes and runs them.
+   */
+  private static class ManualHandler extends Handler {
+
+    private final List<Runnable> mPostedRunnables = new ArrayList<>();
+
+    private ManualHandler() {
+      super(Looper.getMainLooper());
+    }
+
+    @Override
+    public boolean sendMessageAtTime(Message msg, long uptimeMillis) {
+      mPostedRunnables.add(msg.getCallback());
+      return true;
+    }
+
+    private Runnable takePostedRunnable() {
+      assertThat(mPostedRunnables).hasSize(1);
+      return mPostedRunnables.remove(0);
+    }
+  }
+
+  private ManualHandler startFramesAnimationEvaluatedOffUIThread(JavaOnlyArray frames) {
+    createSimpleAnimatedViewWithOpacity(1000, 0d);
+    ManualHandler animationThreadHandler = new ManualHandler();
+    mNativeAnimatedNodesManager.enableOffUIThreadEvaluation(animationThreadHandler);
+    mNativeAnimatedNodesManager.startAnimatingNode(
+      1,
+      1,
+      JavaOnlyMap.of("type", "frames", "frames", frames, "toValue", 1d),
+      mock(Callback.class));
+    return animationThreadHandler;
+  }
+
+  /**
+   * Verifies that with off-UI-thread evaluation enabled, the props of a frame evaluated on the
+   * animation thread are only applied to the view on the following UI frame.
+   */
+  @Test
+  public void testOffUIThreadEvaluationAppliesPropsOnTheNextFrame() {
+    JavaOnlyArray frames = JavaOnlyArray.of(0d, 0.25d, 0.5d, 0.75d, 1d);
+    ManualHandler animationThreadHandler = startFramesAnimationEvaluatedOffUIThread(frames);
+
+    ArgumentCaptor<ReactStylesDiffMap> stylesCaptor =
+      ArgumentCaptor.forClass(ReactStylesDiffMap.class);
+
+    // The first frame only schedules the evaluation of the next one
+    reset(mUIImplementationMock);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    verifyNoMoreInteractions(mUIImplementationMock);
+
+    for (int i = 0; i < frames.size(); i++) {
+      animationThreadHandler.takePostedRunnable().run();
+      verifyNoMoreInteractions(mUIImplementationMock);
+      assertThat(mNativeAnimatedNodesManager.hasPendingFrame()).isTrue();
+
+      mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+      verify(mUIImplementationMock)
+        .synchronouslyUpdateViewOnUIThread(eq(1000), stylesCaptor.capture());
+      assertThat(stylesCaptor.getValue().getDouble("opacity", Double.NaN))
+        .isEqualTo(frames.getDouble(i));
+      reset(mUIImplementationMock);
+    }
+
+    assertThat(mNativeAnimatedNodesManager.hasPendingFrame()).isFalse();
+    assertThat(animationThreadHandler.mPostedRunnables).isEmpty();
+  }
+
+  /**
+   * Verifies that a UI frame that comes while the previous frame is still being evaluated on the
+   * animation thread is skipped rather than waiting for the evaluation.
+   */
+  @Test
+  public void testOffUIThreadEvaluationSkipsFramesWhileEvaluating() {
+    JavaOnlyArray frames = JavaOnlyArray.of(0d, 0.25d, 0.5d, 0.75d, 1d);
+    ManualHandler animationThreadHandler = startFramesAnimationEvaluatedOffUIThread(frames);
+
+    reset(mUIImplementationMock);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    Runnable frameEvaluation = animationThreadHandler.takePostedRunnable();
+
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    verifyNoMoreInteractions(mUIImplementationMock);
+    assertThat(animationThreadHandler.mPostedRunnables).isEmpty();
+    assertThat(mNativeAnimatedNodesManager.hasPendingFrame()).isTrue();
+
+    frameEvaluation.run();
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    ArgumentCaptor<ReactStylesDiffMap> stylesCaptor =
+      ArgumentCaptor.forClass(ReactStylesDiffMap.class);
+    verify(mUIImplementationMock)
+      .synchronouslyUpdateViewOnUIThread(eq(1000), stylesCaptor.capture());
+    assertThat(stylesCaptor.getValue().getDouble("opacity", Double.NaN))
+      .isEqualTo(frames.getDouble(0));
+    assertThat(animationThreadHandler.mPostedRunnables).hasSize(1);
+  }
+
+  /**
+   * Verifies that an exception thrown while evaluating a frame on the animation thread is rethrown
+   * on the UI thread when the frame is applied.
+   */
+  @Test
+  public void testOffUIThreadEvaluationExceptionsAreRethrownOnTheUIThread() {
+    createSimpleAnimatedViewWithOpacity(1000, 0d);
+    // A cyclic graph can't be traversed
+    mNativeAnimatedNodesManager.connectAnimatedNodes(3, 1);
+    ManualHandler animationThreadHandler = new ManualHandler();
+    mNativeAnimatedNodesManager.enableOffUIThreadEvaluation(animationThreadHandler);
+
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    // Doesn't throw, the exception is kept for the UI thread
+    animationThreadHandler.takePostedRunnable().run();
+
+    reset(mUIImplementationMock);
+    try {
+      mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+      fail("The exception thrown on the animation thread should have been rethrown");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).contains("cycles");
+    }
+    verifyNoMoreInteractions(mUIImplementationMock);
+    assertThat(mNativeAnimatedNodesManager.hasPendingFrame()).isFalse();
+  }
+
+  /**
+   * Verifies that disabling off-UI-thread evaluation waits for the frame being evaluated on the
+   * animation thread and applies it, and that frames are then evaluated on the UI thread again.
+   */
+  @Test
+  public void testDisablingOffUIThreadEvaluationAppliesThePendingFrame() throws Exception {
+    JavaOnlyArray frames = JavaOnlyArray.of(0d, 0.25d, 0.5d, 0.75d, 1d);
+    ManualHandler animationThreadHandler = startFramesAnimationEvaluatedOffUIThread(frames);
+
+    reset(mUIImplementationMock);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    final Runnable frameEvaluation = animationThreadHandler.takePostedRunnable();
+    final Thread uiThread = Thread.currentThread();
+    Thread animationThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        // Evaluates the frame once the UI thread waits for it
+        while (uiThread.getState() != Thread.State.WAITING) {
+          Thread.yield();
+        }
+        frameEvaluation.run();
+      }
+    });
+    animationThread.start();
+
+    mNativeAnimatedNodesManager.setOffUIThreadEvaluationEnabled(false);
+    animationThread.join();
+
+    ArgumentCaptor<ReactStylesDiffMap> stylesCaptor =
+      ArgumentCaptor.forClass(ReactStylesDiffMap.class);
+    verify(mUIImplementationMock)
+      .synchronouslyUpdateViewOnUIThread(eq(1000), stylesCaptor.capture());
+    assertThat(stylesCaptor.getValue().getDouble("opacity", Double.NaN))
+      .isEqualTo(frames.getDouble(0));
+    assertThat(mNativeAnimatedNodesManager.hasPendingFrame()).isFalse();
+
+    reset(mUIImplementationMock);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    verify(mUIImplementationMock)
+      .synchronouslyUpdateViewOnUIThread(eq(1000), stylesCaptor.capture());
+    assertThat(stylesCaptor.getValue().getDouble("opacity", Double.NaN))
+      .isEqualTo(frames.getDouble(1));
+    assertThat(animationThreadHandler.mPostedRunnables).isEmpty();
+  }
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.res.AssetManager;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link JSBundleFileCache}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class JSBundleFileCacheTest {
+
+  private static final String ASSET_NAME = "index.android.bundle";
+  private static final String ASSET_URL = "assets://" + ASSET_NAME;
+
+  @Rule
+  public TemporaryFolder mFilesDir = new TemporaryFolder();
+
+  private Context mContext;
+  private AssetManager mAssetManager;
+  private PackageInfo mPackageInfo;
+  private String mBundleContent;
+
+  @Before
+  public void setUp() throws Exception {
+    mContext = mock(Context.class);
+    mAssetManager = mock(AssetManager.class);
+    PackageManager packageManager = mock(PackageManager.class);
+    mPackageInfo = new PackageInfo();
+    mPackageInfo.lastUpdateTime = 1;
+    mBundleContent = "__d(function() {});";
+
+    when(mContext.getApplicationContext()).thenReturn(mContext);
+    when(mContext.getFilesDir()).thenReturn(mFilesDir.getRoot());
+    when(mContext.getAssets()).thenReturn(mAssetManager);
+    when(mContext.getPackageName()).thenReturn("com.facebook.react.test");
+    when(mContext.getPackageManager()).thenReturn(packageManager);
+    when(packageManager.getPackageInfo(anyString(), anyInt())).thenReturn(mPackageInfo);
+    doThrow(new IOException("No such asset")).when(mAssetManager).open(anyString());
+    doAnswer(new Answer<InputStream>() {
+      @Override
+      public InputStream answer(InvocationOnMock invocation) {
+        return new ByteArrayInputStream(mBundleContent.getBytes(Charset.forName("UTF-8")));
+      }
+    }).when(mAssetManager).open(ASSET_NAME);
+  }
+
+  @Test
+  public void testBundleIsCachedByUpdate() throws Exception {
+    JSBundleFileCache cache = new JSBundleFileCache(mContext, ASSET_URL);
+    assertThat(cache.getCachedBundle()).isNull();
+
+    cache.update();
+
+    File cachedBundle = new JSBundleFileCache(mContext, ASSET_URL).getCachedBundle();
+    assertThat(cachedBundle).isNotNull();
+    assertThat(readFile(cachedBundle)).isEqualTo(mBundleContent);
+    assertThat(getCacheFileNames()).hasSize(3);
+  }
+
+  @Test
+  public void testCacheIsInvalidatedWhenTheAppIsUpdated() throws Exception {
+    new JSBundleFileCache(mContext, ASSET_URL).update();
+
+    mPackageInfo.lastUpdateTime = 2;
+
+    assertThat(new JSBundleFileCache(mContext, ASSET_URL).getCachedBundle()).isNull();
+  }
+
+  @Test
+  public void testCopiesOfOlderBundlesAreDeleted() throws Exception {
+    new JSBundleFileCache(mContext, ASSET_URL).update();
+    File oldBundle = new JSBundleFileCache(mContext, ASSET_URL).getCachedBundle();
+    File leftOverTempFile = new File(oldBundle.getParentFile(), ASSET_NAME + "-123.tmp");
+    assertThat(leftOverTempFile.createNewFile()).isTrue();
+
+    mPackageInfo.lastUpdateTime = 2;
+    mBundleContent = "__d(function() { return 42; });";
+    new JSBundleFileCache(mContext, ASSET_URL).update();
+
+    File newBundle = new JSBundleFileCache(mContext, ASSET_URL).getCachedBundle();
+    assertThat(newBundle).isNotNull();
+    assertThat(newBundle).isNotEqualTo(oldBundle);
+    assertThat(readFile(newBundle)).isEqualTo(mBundleContent);
+    assertThat(oldBundle.exists()).isFalse();
+    assertThat(leftOverTempFile.exists()).isFalse();
+    assertThat(getCacheFileNames())
+        .containsOnly(newBundle.getName(), ASSET_NAME + ".meta", ASSET_NAME + ".lock");
+  }
+
+  @Test
+  public void testFileRamBundlesAreNotCacheable() throws Exception {
+    assertThat(new JSBundleFileCache(mContext, ASSET_URL).isCacheable()).isTrue();
+
+    doReturn(new ByteArrayInputStream(new byte[4]))
+        .when(mAssetManager)
+        .open("js-modules/UNBUNDLE");
+
+    assertThat(new JSBundleFileCache(mContext, ASSET_URL).isCacheable()).isFalse();
+  }
+
+  private String[] getCacheFileNames() {
+    return new File(mFilesDir.getRoot(), "RNBundleCache").list();
+  }
+
+  private static String readFile(File file) throws IOException {
+    InputStream input = new FileInputStream(file);
+    try {
+      byte[] content = new byte[(int) file.length()];
+      int offset = 0;
+      int read;
+      while (offset < content.length &&
+          (read = input.read(content, offset, content.length - offset)) != -1) {
+        offset += read;
+      }
+      return new String(content, 0, offset, Charset.forName("UTF-8"));
+    } finally {
+      input.close();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.inject.Provider;
+
+import com.facebook.react.module.model.ReactModuleInfo;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+/**
+ * Tests for {@link ModuleHolder}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ModuleHolderTest {
+
+  private static final ReactModuleInfo MODULE_INFO =
+      new ReactModuleInfo("FailingModule", false, true, false);
+
+  private static class FailingProvider implements Provider<NativeModule> {
+
+    private final RuntimeException mFailure = new IllegalStateException("Failed");
+    private final CountDownLatch mCreationStarted = new CountDownLatch(1);
+    private final CountDownLatch mFailNow;
+
+    private FailingProvider(CountDownLatch failNow) {
+      mFailNow = failNow;
+    }
+
+    @Override
+    public NativeModule get() {
+      mCreationStarted.countDown();
+      try {
+        mFailNow.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      throw mFailure;
+    }
+  }
+
+  @Test
+  public void testCreationFailureIsRethrownToLaterCallers() {
+    FailingProvider provider = new FailingProvider(new CountDownLatch(0));
+    ModuleHolder holder = new ModuleHolder(MODULE_INFO, provider, false);
+
+    try {
+      holder.getModule();
+      fail("Expected the creation failure");
+    } catch (RuntimeException e) {
+      assertThat(e).isSameAs(provider.mFailure);
+    }
+
+    try {
+      holder.getModule();
+      fail("Expected the creation failure");
+    } catch (RuntimeException e) {
+      assertThat(e.getCause()).isSameAs(provider.mFailure);
+    }
+  }
+
+  @Test
+  public void testThreadsWaitingForFailedModuleAreReleased() throws Exception {
+    CountDownLatch failNow = new CountDownLatch(1);
+    final FailingProvider provider = new FailingProvider(failNow);
+    final ModuleHolder holder = new ModuleHolder(MODULE_INFO, provider, false);
+
+    Thread creatingThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          holder.getModule();
+        } catch (RuntimeException e) {
+          // Expected
+        }
+      }
+    });
+    creatingThread.start();
+    assertThat(provider.mCreationStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    final AtomicReference<Throwable> waitingThreadFailure = new AtomicReference<>();
+    Thread waitingThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          holder.getModule();
+        } catch (RuntimeException e) {
+          waitingThreadFailure.set(e);
+        }
+      }
+    });
+    waitingThread.start();
+    // Only release the provider once the thread waits for the module being created
+    waitForState(waitingThread, Thread.State.WAITING);
+
+    failNow.countDown();
+    creatingThread.join(5000);
+    waitingThread.join(5000);
+
+    assertThat(waitingThread.isAlive()).isFalse();
+    assertThat(waitingThreadFailure.get().getCause()).isSameAs(provider.mFailure);
+  }
+
+  private static void waitForState(Thread thread, Thread.State state) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (thread.getState() != state) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("Thread is " + thread.getState() + ", expected it to be " + state);
+      }
+      Thread.sleep(1);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Provider;
+
+import com.facebook.react.bridge.queue.MessageQueueThreadSpec;
+import com.facebook.react.bridge.queue.QueueThreadExceptionHandler;
+import com.facebook.react.bridge.queue.ReactQueueConfigurationImpl;
+import com.facebook.react.bridge.queue.ReactQueueConfigurationSpec;
+import com.facebook.react.module.model.ReactModuleInfo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link NativeModuleRegistry}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class NativeModuleRegistryTest {
+
+  private interface DefaultModule extends NativeModule {}
+  private interface ConfiguredLaneModule extends NativeModule {}
+  private interface UnknownLaneModule extends NativeModule {}
+  private interface DefaultThreadLaneModule extends NativeModule {}
+  private interface FirstEagerModule extends NativeModule {}
+  private interface SecondEagerModule extends NativeModule {}
+  private interface LazyModule extends NativeModule {}
+
+  private static final Executor DIRECT_EXECUTOR = new Executor() {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  private ReactQueueConfigurationImpl mQueueConfiguration;
+
+  @Before
+  public void setUp() {
+    MessageQueueThreadSpec nativeModulesSpec =
+        MessageQueueThreadSpec.newBackgroundThreadSpec("native_modules");
+    ReactQueueConfigurationSpec spec = ReactQueueConfigurationSpec.builder()
+        .setJSQueueThreadSpec(MessageQueueThreadSpec.newBackgroundThreadSpec("js"))
+        .setNativeModulesQueueThreadSpec(nativeModulesSpec)
+        .addNativeModulesLaneSpec(
+            "configured",
+            MessageQueueThreadSpec.newBackgroundThreadSpec("native_modules_configured"))
+        .addNativeModulesLaneSpec("default_thread", nativeModulesSpec)
+        .build();
+    mQueueConfiguration =
+        ReactQueueConfigurationImpl.create(spec, mock(QueueThreadExceptionHandler.class));
+  }
+
+  @After
+  public void tearDown() {
+    mQueueConfiguration.destroy();
+  }
+
+  @Test
+  public void testModulesRunOnTheThreadOfTheirLane() {
+    Map<Class<? extends NativeModule>, ModuleHolder> modules = new HashMap<>();
+    modules.put(DefaultModule.class, createModuleHolder("Default", ""));
+    modules.put(ConfiguredLaneModule.class, createModuleHolder("ConfiguredLane", "configured"));
+    modules.put(UnknownLaneModule.class, createModuleHolder("UnknownLane", "unknown"));
+    modules.put(
+        DefaultThreadLaneModule.class,
+        createModuleHolder("DefaultThreadLane", "default_thread"));
+    NativeModuleRegistry registry = new NativeModuleRegistry(
+        mock(ReactApplicationContext.class),
+        modules,
+        new ArrayList<ModuleHolder>());
+
+    Map<String, JavaModuleWrapper> javaModules = new HashMap<>();
+    for (JavaModuleWrapper javaModule :
+        registry.getJavaModules(mock(JSInstance.class), mQueueConfiguration)) {
+      javaModules.put(javaModule.getName(), javaModule);
+    }
+
+    assertThat(javaModules).hasSize(4);
+    assertThat(javaModules.get("ConfiguredLane").getMessageQueueThread())
+        .isSameAs(mQueueConfiguration.getNativeModulesQueueThread("configured"))
+        .isNotSameAs(mQueueConfiguration.getNativeModulesQueueThread());
+    // A null queue makes the module run on the default native modules queue
+    assertThat(javaModules.get("Default").getMessageQueueThread()).isNull();
+    assertThat(javaModules.get("UnknownLane").getMessageQueueThread()).isNull();
+    assertThat(javaModules.get("DefaultThreadLane").getMessageQueueThread()).isNull();
+  }
+
+  @Test
+  public void testEagerModulesAreCreatedOnce() {
+    AtomicInteger firstCreations = new AtomicInteger();
+    AtomicInteger secondCreations = new AtomicInteger();
+    AtomicInteger lazyCreations = new AtomicInteger();
+    Map<Class<? extends NativeModule>, ModuleHolder> modules = new HashMap<>();
+    modules.put(FirstEagerModule.class, createCountingModuleHolder("First", true, firstCreations));
+    modules.put(
+        SecondEagerModule.class,
+        createCountingModuleHolder("Second", true, secondCreations));
+    modules.put(LazyModule.class, createCountingModuleHolder("Lazy", false, lazyCreations));
+    NativeModuleRegistry registry = new NativeModuleRegistry(
+        mock(ReactApplicationContext.class),
+        modules,
+        new ArrayList<ModuleHolder>());
+    NativeModuleCallExceptionHandler exceptionHandler =
+        mock(NativeModuleCallExceptionHandler.class);
+
+    // Holders of eager modules leave creating them to the registry
+    assertThat(firstCreations.get()).isEqualTo(0);
+    assertThat(secondCreations.get()).isEqualTo(0);
+
+    registry.createEagerModules(DIRECT_EXECUTOR, exceptionHandler);
+    registry.createEagerModules(DIRECT_EXECUTOR, exceptionHandler);
+    registry.getModule(FirstEagerModule.class);
+
+    assertThat(firstCreations.get()).isEqualTo(1);
+    assertThat(secondCreations.get()).isEqualTo(1);
+    assertThat(lazyCreations.get()).isEqualTo(0);
+    verify(exceptionHandler, never()).handleException(any(Exception.class));
+  }
+
+  private static ModuleHolder createCountingModuleHolder(
+      final String name,
+      boolean needsEagerInit,
+      final AtomicInteger creations) {
+    return new ModuleHolder(
+        new ReactModuleInfo(name, false, needsEagerInit, false),
+        new Provider<NativeModule>() {
+          @Override
+          public NativeModule get() {
+            creations.incrementAndGet();
+            NativeModule module = mock(NativeModule.class);
+            when(module.getName()).thenReturn(name);
+            return module;
+          }
+        },
+        false);
+  }
+
+  private static ModuleHolder createModuleHolder(String name, String queueLane) {
+    return new ModuleHolder(
+        new ReactModuleInfo(name, false, false, false, queueLane),
+        new Provider<NativeModule>() {
+          @Override
+          public NativeModule get() {
+            throw new AssertionError("Modules aren't created to look up their lane");
+          }
+        });
+  }
+}
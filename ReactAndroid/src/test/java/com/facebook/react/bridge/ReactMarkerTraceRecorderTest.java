@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import java.io.StringWriter;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ReactMarkerTraceRecorder}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ReactMarkerTraceRecorderTest {
+
+  private static JSONArray writeTraceEvents(ReactMarkerTraceRecorder recorder) throws Exception {
+    StringWriter writer = new StringWriter();
+    recorder.writeChromeTrace(writer);
+    return new JSONObject(writer.toString()).getJSONArray("traceEvents");
+  }
+
+  @Test
+  public void testStartAndEndMarkersArePairedIntoSpans() throws Exception {
+    ReactMarkerTraceRecorder recorder = new ReactMarkerTraceRecorder(16);
+    recorder.record(ReactMarkerConstants.RUN_JS_BUNDLE_START, null, 0, 1000000, 1, "js");
+    recorder.record(ReactMarkerConstants.CREATE_MODULE_START, "Foo", 7, 2000000, 2, "modules");
+    recorder.record(ReactMarkerConstants.CREATE_MODULE_START, "Bar", 8, 2500000, 2, "modules");
+    recorder.record(ReactMarkerConstants.CREATE_MODULE_END, null, 8, 3000000, 2, "modules");
+    recorder.record(ReactMarkerConstants.CREATE_MODULE_END, null, 7, 4000000, 2, "modules");
+    recorder.record(ReactMarkerConstants.RUN_JS_BUNDLE_END, null, 0, 9000000, 1, "js");
+
+    JSONArray events = writeTraceEvents(recorder);
+    JSONObject bundle = events.getJSONObject(0);
+    assertThat(bundle.getString("name")).isEqualTo("RUN_JS_BUNDLE");
+    assertThat(bundle.getString("ph")).isEqualTo("X");
+    assertThat(bundle.getDouble("ts")).isEqualTo(1000);
+    assertThat(bundle.getDouble("dur")).isEqualTo(8000);
+    assertThat(bundle.getLong("tid")).isEqualTo(1);
+
+    JSONObject foo = events.getJSONObject(1);
+    assertThat(foo.getString("name")).isEqualTo("CREATE_MODULE");
+    assertThat(foo.getJSONObject("args").getString("tag")).isEqualTo("Foo");
+    assertThat(foo.getDouble("dur")).isEqualTo(2000);
+
+    JSONObject bar = events.getJSONObject(2);
+    assertThat(bar.getJSONObject("args").getString("tag")).isEqualTo("Bar");
+    assertThat(bar.getDouble("dur")).isEqualTo(500);
+
+    // Followed by the names of the two threads
+    assertThat(events.length()).isEqualTo(5);
+    assertThat(events.getJSONObject(3).getString("ph")).isEqualTo("M");
+  }
+
+  @Test
+  public void testOldestMarkersAreOverwritten() throws Exception {
+    ReactMarkerTraceRecorder recorder = new ReactMarkerTraceRecorder(2);
+    recorder.record(ReactMarkerConstants.RUN_JS_BUNDLE_START, null, 0, 1000, 1, "js");
+    recorder.record(ReactMarkerConstants.PROCESS_PACKAGES_START, null, 0, 2000, 1, "js");
+    recorder.record(ReactMarkerConstants.RUN_JS_BUNDLE_END, null, 0, 3000, 1, "js");
+
+    JSONArray events = writeTraceEvents(recorder);
+    assertThat(events.length()).isEqualTo(3);
+    assertThat(events.getJSONObject(0).getString("name")).isEqualTo("PROCESS_PACKAGES_START");
+    assertThat(events.getJSONObject(0).getString("ph")).isEqualTo("i");
+    assertThat(events.getJSONObject(1).getString("name")).isEqualTo("RUN_JS_BUNDLE_END");
+    assertThat(events.getJSONObject(1).getString("ph")).isEqualTo("i");
+  }
+}
@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import com.facebook.soloader.SoLoader;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for calling the methods of a module through its generated {@link ReactMethodInvoker}
+ */
+@PrepareForTest({ReadableNativeArray.class, Arguments.class, SoLoader.class})
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+@RunWith(RobolectricTestRunner.class)
+public class ReactMethodInvokerTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private InvokerTestModule mModule;
+  private JSInstance mJSInstance;
+  private JavaModuleWrapper mWrapper;
+  private ReadableNativeArray mArguments;
+
+  @Before
+  public void setup() {
+    PowerMockito.mockStatic(SoLoader.class);
+    PowerMockito.mockStatic(Arguments.class);
+    mModule = new InvokerTestModule();
+    mJSInstance = mock(JSInstance.class);
+    mWrapper = new JavaModuleWrapper(
+        mJSInstance,
+        InvokerTestModule.class,
+        new ModuleHolder(mModule));
+    mWrapper.getMethodDescriptors();
+    mArguments = PowerMockito.mock(ReadableNativeArray.class);
+    InvokerTestModule$$ReactMethodInvoker.sInvocationCount = 0;
+  }
+
+  @Test
+  public void testMethodIndexLookupMiss() {
+    ReactMethodInvoker invoker = new InvokerTestModule$$ReactMethodInvoker();
+    assertThat(invoker.getMethodIndex("callbackMethod")).isEqualTo(0);
+    assertThat(invoker.getMethodIndex("syncMethod")).isEqualTo(-1);
+    assertThat(invoker.getMethodIndex("unknownMethod")).isEqualTo(-1);
+
+    // Methods the invoker doesn't know about are called through reflection
+    Mockito.stub(mArguments.size()).toReturn(2);
+    Mockito.stub(mArguments.getDouble(0)).toReturn(1.0);
+    Mockito.stub(mArguments.getDouble(1)).toReturn(2.0);
+    mWrapper.invoke(findMethod("syncMethod"), mArguments);
+
+    assertThat(mModule.mSyncMethodResult).isEqualTo(3);
+    assertThat(InvokerTestModule$$ReactMethodInvoker.sInvocationCount).isEqualTo(0);
+  }
+
+  @Test
+  public void testCallbackMethod() {
+    Mockito.stub(mArguments.size()).toReturn(2);
+    Mockito.stub(mArguments.getString(0)).toReturn("hello");
+    Mockito.stub(mArguments.getDouble(1)).toReturn(5.0);
+
+    mWrapper.invoke(findMethod("callbackMethod"), mArguments);
+
+    assertThat(InvokerTestModule$$ReactMethodInvoker.sInvocationCount).isEqualTo(1);
+    assertThat(mModule.mString).isEqualTo("hello");
+    verify(mJSInstance).invokeCallback(eq(5), any(NativeArray.class));
+  }
+
+  @Test
+  public void testPromiseMethod() {
+    Mockito.stub(mArguments.size()).toReturn(3);
+    Mockito.stub(mArguments.getDouble(0)).toReturn(7.0);
+    Mockito.stub(mArguments.getDouble(1)).toReturn(1.0);
+    Mockito.stub(mArguments.getDouble(2)).toReturn(2.0);
+
+    mWrapper.invoke(findMethod("promiseMethod"), mArguments);
+
+    assertThat(InvokerTestModule$$ReactMethodInvoker.sInvocationCount).isEqualTo(1);
+    assertThat(mModule.mInt).isEqualTo(7);
+    // The promise was resolved, and not rejected
+    verify(mJSInstance).invokeCallback(eq(1), any(NativeArray.class));
+    verify(mJSInstance, never()).invokeCallback(eq(2), any(NativeArray.class));
+  }
+
+  @Test
+  public void testArgumentOfWrongTypeIsAParseError() {
+    Mockito.stub(mArguments.size()).toReturn(2);
+    Mockito.stub(mArguments.getString(0))
+        .toThrow(new UnexpectedNativeTypeException("Value is a Number, expected a String"));
+
+    try {
+      mWrapper.invoke(findMethod("callbackMethod"), mArguments);
+      fail("Expected a NativeArgumentsParseException");
+    } catch (NativeArgumentsParseException e) {
+      assertThat(e.getMessage())
+          .contains("InvokerTest.callbackMethod")
+          .contains("at argument index 0");
+    }
+    assertThat(mModule.mString).isNull();
+    verify(mJSInstance, never()).invokeCallback(anyInt(), any(NativeArray.class));
+  }
+
+  @Test
+  public void testFailureInMethodIsNotAParseError() {
+    Mockito.stub(mArguments.size()).toReturn(1);
+    Mockito.stub(mArguments.getDouble(0)).toReturn(1.0);
+
+    try {
+      mWrapper.invoke(findMethod("throwingMethod"), mArguments);
+      fail("Expected the exception thrown by the method");
+    } catch (NativeArgumentsParseException e) {
+      fail("Failures of the method itself aren't argument parse errors");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).isEqualTo("Failed with 1.0");
+    }
+    assertThat(InvokerTestModule$$ReactMethodInvoker.sInvocationCount).isEqualTo(1);
+  }
+
+  private int findMethod(String name) {
+    List<JavaModuleWrapper.MethodDescriptor> methods = mWrapper.getMethodDescriptors();
+    for (int i = 0; i < methods.size(); i++) {
+      if (methods.get(i).name.equals(name)) {
+        return i;
+      }
+    }
+    throw new AssertionError("No method named " + name);
+  }
+}
+
+/* package */ class InvokerTestModule extends BaseJavaModule {
+
+  @Nullable String mString;
+  int mInt;
+  int mSyncMethodResult;
+
+  @Override
+  public String getName() {
+    return "InvokerTest";
+  }
+
+  @ReactMethod
+  public void callbackMethod(String string, Callback callback) {
+    mString = string;
+    callback.invoke();
+  }
+
+  @ReactMethod
+  public void promiseMethod(int value, Promise promise) {
+    mInt = value;
+    promise.resolve(null);
+  }
+
+  @ReactMethod
+  public void throwingMethod(double value) {
+    throw new IllegalStateException("Failed with " + value);
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  public int syncMethod(int a, int b) {
+    mSyncMethodResult = a + b;
+    return mSyncMethodResult;
+  }
+}
+
+/**
+ * What ReactModuleSpecProcessor generates for {@link InvokerTestModule}, which isn't run on tests,
+ * plus a count of the invocations.
+ */
+/* package */ class InvokerTestModule$$ReactMethodInvoker extends ReactMethodInvoker {
+
+  static int sInvocationCount;
+
+  @Override
+  public int getMethodIndex(String methodName) {
+    switch (methodName) {
+      case "callbackMethod": return 0;
+      case "promiseMethod": return 1;
+      case "throwingMethod": return 2;
+      default: return -1;
+    }
+  }
+
+  @Override
+  public void invoke(
+      NativeModule module,
+      int methodIndex,
+      JSInstance jsInstance,
+      ReadableNativeArray arguments) {
+    sInvocationCount++;
+    InvokerTestModule typedModule = (InvokerTestModule) module;
+    switch (methodIndex) {
+      case 0: {
+        String arg0;
+        Callback arg1;
+        int jsArgumentIndex = 0;
+        int jsArgumentsNeeded = 1;
+        try {
+          jsArgumentIndex = 0;
+          arg0 = arguments.getString(0);
+          jsArgumentIndex = 1;
+          arg1 = extractCallback(jsInstance, arguments, 1);
+        } catch (UnexpectedNativeTypeException e) {
+          throw new ArgumentExtractionException(e, jsArgumentIndex, jsArgumentsNeeded);
+        }
+        typedModule.callbackMethod(arg0, arg1);
+        break;
+      }
+      case 1: {
+        int arg0;
+        Promise arg1;
+        int jsArgumentIndex = 0;
+        int jsArgumentsNeeded = 1;
+        try {
+          jsArgumentIndex = 0;
+          arg0 = (int) arguments.getDouble(0);
+          jsArgumentIndex = 1;
+          jsArgumentsNeeded = 2;
+          arg1 = extractPromise(jsInstance, arguments, 1);
+        } catch (UnexpectedNativeTypeException e) {
+          throw new ArgumentExtractionException(e, jsArgumentIndex, jsArgumentsNeeded);
+        }
+        typedModule.promiseMethod(arg0, arg1);
+        break;
+      }
+      case 2: {
+        double arg0;
+        int jsArgumentIndex = 0;
+        int jsArgumentsNeeded = 1;
+        try {
+          jsArgumentIndex = 0;
+          arg0 = arguments.getDouble(0);
+        } catch (UnexpectedNativeTypeException e) {
+          throw new ArgumentExtractionException(e, jsArgumentIndex, jsArgumentsNeeded);
+        }
+        typedModule.throwingMethod(arg0);
+        break;
+      }
+      default:
+        throw new IllegalArgumentException("Unknown method index: " + methodIndex);
+    }
+  }
+}
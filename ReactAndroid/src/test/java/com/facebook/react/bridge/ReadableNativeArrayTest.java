@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import com.facebook.soloader.SoLoader;
+
+import static com.facebook.react.bridge.TypedValueBufferTestHelper.createBuffer;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ReadableNativeArray}, with the native imports stubbed out
+ */
+@PrepareForTest({ReadableNativeArray.class, ReadableNativeMap.class, SoLoader.class})
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+@RunWith(RobolectricTestRunner.class)
+public class ReadableNativeArrayTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  @Before
+  public void setup() {
+    PowerMockito.mockStatic(SoLoader.class);
+    ReadableNativeArray.setUseTypedValueBuffer(true);
+  }
+
+  @After
+  public void tearDown() {
+    ReadableNativeArray.setUseTypedValueBuffer(false);
+  }
+
+  @Test
+  public void testTypedValues() throws Exception {
+    ReadableNativeArray array = createTypedArray(false, 2.5, "héllo", null);
+
+    assertThat(array.size()).isEqualTo(4);
+    assertThat(array.getBoolean(0)).isFalse();
+    assertThat(array.getDouble(1)).isEqualTo(2.5);
+    assertThat(array.getInt(1)).isEqualTo(2);
+    assertThat(array.getString(2)).isEqualTo("héllo");
+    assertThat(array.getType(2)).isEqualTo(ReadableType.String);
+    assertThat(array.isNull(2)).isFalse();
+  }
+
+  @Test
+  public void testTypedNullString() throws Exception {
+    ReadableNativeArray array = createTypedArray((Object) null);
+
+    assertThat(array.isNull(0)).isTrue();
+    assertThat(array.getType(0)).isEqualTo(ReadableType.Null);
+    assertThat(array.getString(0)).isNull();
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testTypedMissingIndex() throws Exception {
+    createTypedArray(1.0).getDouble(1);
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testTypedValueOfWrongType() throws Exception {
+    createTypedArray("1").getDouble(0);
+  }
+
+  @Test
+  public void testTypedNestedValues() throws Exception {
+    ReadableNativeArray array = createTypedArray(ReadableType.Array, ReadableType.Map, null);
+    ReadableNativeArray nestedArray = createTypedArray(1.0, "two");
+    ReadableNativeMap nestedMap = PowerMockito.mock(ReadableNativeMap.class);
+    PowerMockito.doReturn(nestedArray).when(array, "getArrayNative", 0);
+    PowerMockito.doReturn(nestedMap).when(array, "getMapNative", 1);
+
+    assertThat(array.getType(0)).isEqualTo(ReadableType.Array);
+    assertThat(array.getArray(0)).isSameAs(nestedArray);
+    // Nested values are only fetched from native once
+    assertThat(array.getArray(0)).isSameAs(nestedArray);
+    PowerMockito.verifyPrivate(array, Mockito.times(1)).invoke("getArrayNative", 0);
+    assertThat(array.getType(1)).isEqualTo(ReadableType.Map);
+    assertThat(array.getMap(1)).isSameAs(nestedMap);
+    assertThat(array.getArray(2)).isNull();
+
+    assertThat(array.getArray(0).toArrayList()).isEqualTo(Arrays.<Object>asList(1.0, "two"));
+  }
+
+  private static ReadableNativeArray createTypedArray(Object... values) throws Exception {
+    ReadableNativeArray array =
+        PowerMockito.mock(ReadableNativeArray.class, Mockito.CALLS_REAL_METHODS);
+    PowerMockito.doReturn(createBuffer(values)).when(array, "importTypedValues");
+    return array;
+  }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import java.util.HashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import com.facebook.soloader.SoLoader;
+
+import static com.facebook.react.bridge.TypedValueBufferTestHelper.createBuffer;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ReadableNativeMap}, with the native imports stubbed out
+ */
+@PrepareForTest({ReadableNativeMap.class, ReadableNativeArray.class, SoLoader.class})
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+@RunWith(RobolectricTestRunner.class)
+public class ReadableNativeMapTest {
+
+  private static final int LARGE_MAP_SIZE = 12;
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  @Before
+  public void setup() {
+    PowerMockito.mockStatic(SoLoader.class);
+  }
+
+  @After
+  public void tearDown() {
+    ReadableNativeMap.setUseTypedValueBuffer(false);
+  }
+
+  @Test
+  public void testLookupsInSmallMap() throws Exception {
+    ReadableNativeMap map = createMap(new String[] {"a", "b", "c"}, 1.0, 2.0, 3.0);
+
+    assertThat(map.getDouble("a")).isEqualTo(1.0);
+    assertThat(map.getDouble("c")).isEqualTo(3.0);
+    assertThat(map.hasKey("b")).isTrue();
+    assertThat(map.hasKey("d")).isFalse();
+  }
+
+  @Test
+  public void testLookupsInLargeMap() throws Exception {
+    ReadableNativeMap map = createLargeMap();
+
+    for (int i = 0; i < LARGE_MAP_SIZE; i++) {
+      assertThat(map.getInt("key" + i)).isEqualTo(i);
+    }
+    assertThat(map.hasKey("key12")).isFalse();
+  }
+
+  @Test
+  public void testTypesAreDerivedFromValues() throws Exception {
+    ReadableNativeMap map = createMap(
+        new String[] {"null", "bool", "number", "string", "map", "array"},
+        null,
+        true,
+        1.0,
+        "one",
+        PowerMockito.mock(ReadableNativeMap.class),
+        PowerMockito.mock(ReadableNativeArray.class));
+
+    assertThat(map.getType("null")).isEqualTo(ReadableType.Null);
+    assertThat(map.getType("bool")).isEqualTo(ReadableType.Boolean);
+    assertThat(map.getType("number")).isEqualTo(ReadableType.Number);
+    assertThat(map.getType("string")).isEqualTo(ReadableType.String);
+    assertThat(map.getType("map")).isEqualTo(ReadableType.Map);
+    assertThat(map.getType("array")).isEqualTo(ReadableType.Array);
+    assertThat(map.isNull("null")).isTrue();
+    assertThat(map.isNull("string")).isFalse();
+  }
+
+  @Test(expected = NoSuchKeyException.class)
+  public void testMissingKey() throws Exception {
+    createMap(new String[] {"a"}, 1.0).getType("b");
+  }
+
+  @Test(expected = NoSuchKeyException.class)
+  public void testMissingKeyInLargeMap() throws Exception {
+    createLargeMap().isNull("key12");
+  }
+
+  @Test
+  public void testTypedValues() throws Exception {
+    ReadableNativeMap map = createTypedMap(
+        new String[] {"bool", "number", "string", "null"},
+        true, 4.5, "héllo", null);
+
+    assertThat(map.hasKey("bool")).isTrue();
+    assertThat(map.getBoolean("bool")).isTrue();
+    assertThat(map.getDouble("number")).isEqualTo(4.5);
+    assertThat(map.getInt("number")).isEqualTo(4);
+    assertThat(map.getString("string")).isEqualTo("héllo");
+    assertThat(map.getType("number")).isEqualTo(ReadableType.Number);
+    assertThat(map.isNull("string")).isFalse();
+  }
+
+  @Test
+  public void testTypedNullString() throws Exception {
+    ReadableNativeMap map = createTypedMap(new String[] {"null"}, (Object) null);
+
+    assertThat(map.hasKey("null")).isTrue();
+    assertThat(map.isNull("null")).isTrue();
+    assertThat(map.getType("null")).isEqualTo(ReadableType.Null);
+    assertThat(map.getString("null")).isNull();
+  }
+
+  @Test(expected = NoSuchKeyException.class)
+  public void testTypedMissingKey() throws Exception {
+    ReadableNativeMap map = createTypedMap(new String[] {"number"}, 1.0);
+
+    assertThat(map.hasKey("missing")).isFalse();
+    map.getDouble("missing");
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testTypedValueOfWrongType() throws Exception {
+    ReadableNativeMap map = createTypedMap(new String[] {"number"}, 1.0);
+
+    map.getString("number");
+  }
+
+  @Test
+  public void testTypedNestedValues() throws Exception {
+    ReadableNativeMap map = createTypedMap(
+        new String[] {"map", "array", "noMap"},
+        ReadableType.Map, ReadableType.Array, null);
+    ReadableNativeMap nestedMap = createTypedMap(new String[] {"number"}, 1.0);
+    ReadableNativeArray nestedArray = PowerMockito.mock(ReadableNativeArray.class);
+    PowerMockito.doReturn(nestedMap).when(map, "getMapNative", "map");
+    PowerMockito.doReturn(nestedArray).when(map, "getArrayNative", "array");
+
+    assertThat(map.getType("map")).isEqualTo(ReadableType.Map);
+    assertThat(map.getMap("map")).isSameAs(nestedMap);
+    // Nested values are only fetched from native once
+    assertThat(map.getMap("map")).isSameAs(nestedMap);
+    PowerMockito.verifyPrivate(map, Mockito.times(1)).invoke("getMapNative", "map");
+    assertThat(map.getType("array")).isEqualTo(ReadableType.Array);
+    assertThat(map.getArray("array")).isSameAs(nestedArray);
+    assertThat(map.getMap("noMap")).isNull();
+
+    HashMap<String, Object> nestedHashMap = new HashMap<>();
+    nestedHashMap.put("number", 1.0);
+    assertThat(map.getMap("map").toHashMap()).isEqualTo(nestedHashMap);
+  }
+
+  private static ReadableNativeMap createMap(String[] keys, Object... values) throws Exception {
+    ReadableNativeMap map =
+        PowerMockito.mock(ReadableNativeMap.class, Mockito.CALLS_REAL_METHODS);
+    PowerMockito.doReturn(keys).when(map, "importKeys");
+    PowerMockito.doReturn(values).when(map, "importValues");
+    return map;
+  }
+
+  /**
+   * Creates a map with more keys than LocalValues.LINEAR_SCAN_THRESHOLD, so that keys are indexed
+   */
+  private static ReadableNativeMap createLargeMap() throws Exception {
+    String[] keys = new String[LARGE_MAP_SIZE];
+    Object[] values = new Object[LARGE_MAP_SIZE];
+    for (int i = 0; i < LARGE_MAP_SIZE; i++) {
+      keys[i] = "key" + i;
+      values[i] = (double) i;
+    }
+    return createMap(keys, values);
+  }
+
+  private static ReadableNativeMap createTypedMap(
+      String[] keys,
+      Object... values) throws Exception {
+    ReadableNativeMap.setUseTypedValueBuffer(true);
+    ReadableNativeMap map =
+        PowerMockito.mock(ReadableNativeMap.class, Mockito.CALLS_REAL_METHODS);
+    PowerMockito.doReturn(keys).when(map, "importKeys");
+    PowerMockito.doReturn(createBuffer(values)).when(map, "importTypedValues");
+    return map;
+  }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TypedValueBuffer}, using buffers laid out the same way native code does.
+ */
+public class TypedValueBufferTest {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /**
+   * Builds a buffer holding: null, true, 1.5, "héllo", a map, an array, "", false
+   */
+  private static TypedValueBuffer createBuffer() {
+    byte[] hello = "héllo".getBytes(UTF_8);
+    int count = 8;
+    int stringsOffset = 8 + count * 16;
+    ByteBuffer buffer = ByteBuffer.allocateDirect(stringsOffset + hello.length)
+      .order(ByteOrder.nativeOrder());
+    buffer.putInt(0, count);
+    putEntry(buffer, 0, ReadableType.Null, 0, 0);
+    putEntry(buffer, 1, ReadableType.Boolean, 0, 1);
+    putEntry(buffer, 2, ReadableType.Number, 0, 0);
+    buffer.putDouble(8 + 2 * 16 + 8, 1.5);
+    putEntry(buffer, 3, ReadableType.String, hello.length, stringsOffset);
+    putEntry(buffer, 4, ReadableType.Map, 0, 0);
+    putEntry(buffer, 5, ReadableType.Array, 0, 0);
+    putEntry(buffer, 6, ReadableType.String, 0, stringsOffset + hello.length);
+    putEntry(buffer, 7, ReadableType.Boolean, 0, 0);
+    for (int i = 0; i < hello.length; i++) {
+      buffer.put(stringsOffset + i, hello[i]);
+    }
+    return new TypedValueBuffer(buffer);
+  }
+
+  private static void putEntry(
+      ByteBuffer buffer,
+      int index,
+      ReadableType type,
+      int length,
+      long payload) {
+    int entryOffset = 8 + index * 16;
+    buffer.putInt(entryOffset, type.ordinal());
+    buffer.putInt(entryOffset + 4, length);
+    buffer.putLong(entryOffset + 8, payload);
+  }
+
+  @Test
+  public void testGetType() {
+    TypedValueBuffer values = createBuffer();
+    assertThat(values.size()).isEqualTo(8);
+    assertThat(values.getType(0)).isEqualTo(ReadableType.Null);
+    assertThat(values.getType(1)).isEqualTo(ReadableType.Boolean);
+    assertThat(values.getType(2)).isEqualTo(ReadableType.Number);
+    assertThat(values.getType(3)).isEqualTo(ReadableType.String);
+    assertThat(values.getType(4)).isEqualTo(ReadableType.Map);
+    assertThat(values.getType(5)).isEqualTo(ReadableType.Array);
+    assertThat(values.isNull(0)).isTrue();
+    assertThat(values.isNull(1)).isFalse();
+  }
+
+  @Test
+  public void testGetValues() {
+    TypedValueBuffer values = createBuffer();
+    assertThat(values.getBoolean(1)).isTrue();
+    assertThat(values.getBoolean(7)).isFalse();
+    assertThat(values.getDouble(2)).isEqualTo(1.5);
+    assertThat(values.getString(0)).isNull();
+    assertThat(values.getString(3)).isEqualTo("héllo");
+    assertThat(values.getString(3)).isSameAs(values.getString(3));
+    assertThat(values.getString(6)).isEqualTo("");
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testGetValueOfWrongType() {
+    createBuffer().getDouble(1);
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testGetValueOutOfBounds() {
+    createBuffer().getType(8);
+  }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+/**
+ * Builds buffers laid out the same way native code fills them for {@link TypedValueBuffer}.
+ */
+public class TypedValueBufferTestHelper {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /**
+   * Serializes the given values, which can be null, Booleans, Doubles, Strings, or
+   * {@link ReadableType#Map} and {@link ReadableType#Array} in place of nested maps and arrays.
+   */
+  public static ByteBuffer createBuffer(Object... values) {
+    byte[][] strings = new byte[values.length][];
+    int stringsOffset = 8 + values.length * 16;
+    int size = stringsOffset;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] instanceof String) {
+        strings[i] = ((String) values[i]).getBytes(UTF_8);
+        size += strings[i].length;
+      }
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+    buffer.putInt(0, values.length);
+    int stringOffset = stringsOffset;
+    for (int i = 0; i < values.length; i++) {
+      int entryOffset = 8 + i * 16;
+      Object value = values[i];
+      if (value == null) {
+        buffer.putInt(entryOffset, ReadableType.Null.ordinal());
+      } else if (value instanceof Boolean) {
+        buffer.putInt(entryOffset, ReadableType.Boolean.ordinal());
+        buffer.putLong(entryOffset + 8, (Boolean) value ? 1 : 0);
+      } else if (value instanceof Double) {
+        buffer.putInt(entryOffset, ReadableType.Number.ordinal());
+        buffer.putDouble(entryOffset + 8, (Double) value);
+      } else if (value instanceof String) {
+        buffer.putInt(entryOffset, ReadableType.String.ordinal());
+        buffer.putInt(entryOffset + 4, strings[i].length);
+        buffer.putLong(entryOffset + 8, stringOffset);
+        for (int j = 0; j < strings[i].length; j++) {
+          buffer.put(stringOffset + j, strings[i][j]);
+        }
+        stringOffset += strings[i].length;
+      } else if (value == ReadableType.Map || value == ReadableType.Array) {
+        buffer.putInt(entryOffset, ((ReadableType) value).ordinal());
+      } else {
+        throw new IllegalArgumentException("Can't serialize " + value);
+      }
+    }
+    return buffer;
+  }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MessageQueueThreadStatsRecorder}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MessageQueueThreadStatsRecorderTest {
+
+  private static final long REPORTING_INTERVAL_MS = 100;
+  private static final long START_NS = TimeUnit.SECONDS.toNanos(10);
+
+  private MessageQueueThreadStatsRecorder mRecorder;
+
+  @Before
+  public void setUp() {
+    mRecorder = new MessageQueueThreadStatsRecorder("test_queue");
+  }
+
+  @Test
+  public void testSnapshotIsTakenOncePerInterval() {
+    mRecorder.wrap(new NoopRunnable());
+    runAt(START_NS, 5, 1);
+
+    long endOfIntervalNs = START_NS + TimeUnit.MILLISECONDS.toNanos(REPORTING_INTERVAL_MS);
+    assertThat(mRecorder.takeSnapshotIfDue(endOfIntervalNs - 1, REPORTING_INTERVAL_MS)).isNull();
+
+    MessageQueueThreadStats stats =
+        mRecorder.takeSnapshotIfDue(endOfIntervalNs, REPORTING_INTERVAL_MS);
+    assertThat(stats).isNotNull();
+    assertThat(stats.getQueueName()).isEqualTo("test_queue");
+    assertThat(stats.getIntervalMs()).isEqualTo(REPORTING_INTERVAL_MS);
+    assertThat(stats.getRunnableCount()).isEqualTo(1);
+
+    // Nothing ran since the snapshot
+    assertThat(mRecorder.takeSnapshotIfDue(endOfIntervalNs * 2, REPORTING_INTERVAL_MS)).isNull();
+  }
+
+  @Test
+  public void testHistogramsAreResetBySnapshots() {
+    mRecorder.wrap(new NoopRunnable());
+    mRecorder.wrap(new NoopRunnable());
+    // Waited 5us (bucket [4, 8)) and ran for 1us (bucket [1, 2))
+    runAt(START_NS, 5, 1);
+    // Waited 100us (bucket [64, 128)) and ran for 3us (bucket [2, 4))
+    runAt(START_NS + 10000, 100, 3);
+
+    MessageQueueThreadStats stats = takeSnapshotAfterInterval(START_NS);
+    assertThat(stats.getRunnableCount()).isEqualTo(2);
+    assertThat(stats.getWaitTimeHistogram()[3]).isEqualTo(1);
+    assertThat(stats.getWaitTimeHistogram()[7]).isEqualTo(1);
+    assertThat(stats.getExecutionTimeHistogram()[1]).isEqualTo(1);
+    assertThat(stats.getExecutionTimeHistogram()[2]).isEqualTo(1);
+
+    long nextStartNs = START_NS + TimeUnit.SECONDS.toNanos(1);
+    mRecorder.wrap(new NoopRunnable());
+    runAt(nextStartNs, 5, 1);
+
+    MessageQueueThreadStats nextStats = takeSnapshotAfterInterval(nextStartNs);
+    assertThat(nextStats.getRunnableCount()).isEqualTo(1);
+    assertThat(sum(nextStats.getWaitTimeHistogram())).isEqualTo(1);
+    assertThat(nextStats.getWaitTimeHistogram()[3]).isEqualTo(1);
+    assertThat(sum(nextStats.getExecutionTimeHistogram())).isEqualTo(1);
+    // The previous snapshot is left untouched
+    assertThat(sum(stats.getWaitTimeHistogram())).isEqualTo(2);
+  }
+
+  @Test
+  public void testMaxDepthIsCarriedAcrossSnapshots() {
+    mRecorder.wrap(new NoopRunnable());
+    mRecorder.wrap(new NoopRunnable());
+    mRecorder.wrap(new NoopRunnable());
+    runAt(START_NS, 5, 1);
+
+    assertThat(takeSnapshotAfterInterval(START_NS).getMaxDepth()).isEqualTo(3);
+
+    // Two runnables were still waiting when the previous interval ended
+    long nextStartNs = START_NS + TimeUnit.SECONDS.toNanos(1);
+    runAt(nextStartNs, 5, 1);
+    runAt(nextStartNs + 10000, 5, 1);
+
+    assertThat(takeSnapshotAfterInterval(nextStartNs).getMaxDepth()).isEqualTo(2);
+
+    long lastStartNs = nextStartNs + TimeUnit.SECONDS.toNanos(1);
+    mRecorder.wrap(new NoopRunnable());
+    runAt(lastStartNs, 5, 1);
+
+    assertThat(takeSnapshotAfterInterval(lastStartNs).getMaxDepth()).isEqualTo(1);
+  }
+
+  /**
+   * Records a runnable that starts at the given time, after having waited and then running for the
+   * given number of microseconds
+   */
+  private void runAt(long startTimeNs, long waitTimeUs, long executionTimeUs) {
+    mRecorder.onStarted(startTimeNs - TimeUnit.MICROSECONDS.toNanos(waitTimeUs), startTimeNs);
+    mRecorder.onFinished(startTimeNs, startTimeNs + TimeUnit.MICROSECONDS.toNanos(executionTimeUs));
+  }
+
+  private MessageQueueThreadStats takeSnapshotAfterInterval(long intervalStartNs) {
+    MessageQueueThreadStats stats = mRecorder.takeSnapshotIfDue(
+        intervalStartNs + TimeUnit.MILLISECONDS.toNanos(REPORTING_INTERVAL_MS),
+        REPORTING_INTERVAL_MS);
+    assertThat(stats).isNotNull();
+    return stats;
+  }
+
+  private static int sum(int[] histogram) {
+    int sum = 0;
+    for (int count : histogram) {
+      sum += count;
+    }
+    return sum;
+  }
+
+  private static class NoopRunnable implements Runnable {
+    @Override
+    public void run() {
+    }
+  }
+}
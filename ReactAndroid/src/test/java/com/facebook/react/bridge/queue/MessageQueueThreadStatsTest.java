@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MessageQueueThreadStats}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MessageQueueThreadStatsTest {
+
+  private static final int LAST_BUCKET = MessageQueueThreadStats.HISTOGRAM_BUCKET_COUNT - 1;
+
+  @Test
+  public void testBucketsMatchTheirUpperBounds() {
+    for (int bucket = 0; bucket < LAST_BUCKET; bucket++) {
+      long upperBoundUs = MessageQueueThreadStats.getBucketUpperBoundUs(bucket);
+      assertThat(MessageQueueThreadStats.getBucket(upperBoundUs - 1)).isEqualTo(bucket);
+      assertThat(MessageQueueThreadStats.getBucket(upperBoundUs)).isEqualTo(bucket + 1);
+    }
+  }
+
+  @Test
+  public void testBucketOfShortDurations() {
+    assertThat(MessageQueueThreadStats.getBucket(0)).isEqualTo(0);
+    // Clock adjustments can make durations negative
+    assertThat(MessageQueueThreadStats.getBucket(-5)).isEqualTo(0);
+    assertThat(MessageQueueThreadStats.getBucket(1)).isEqualTo(1);
+    assertThat(MessageQueueThreadStats.getBucket(3)).isEqualTo(2);
+  }
+
+  @Test
+  public void testLongDurationsGoInTheLastBucket() {
+    assertThat(MessageQueueThreadStats.getBucketUpperBoundUs(LAST_BUCKET))
+        .isEqualTo(Long.MAX_VALUE);
+    assertThat(MessageQueueThreadStats.getBucket(1L << 40)).isEqualTo(LAST_BUCKET);
+    assertThat(MessageQueueThreadStats.getBucket(Long.MAX_VALUE)).isEqualTo(LAST_BUCKET);
+  }
+}
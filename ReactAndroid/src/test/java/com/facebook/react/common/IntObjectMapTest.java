@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link IntObjectMap}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class IntObjectMapTest {
+
+  @Test
+  public void testPutGetAndRemove() {
+    IntObjectMap<String> map = new IntObjectMap<>();
+    map.put(1, "one");
+    map.put(11, "eleven");
+    map.put(-3, "minus three");
+
+    assertThat(map.size()).isEqualTo(3);
+    assertThat(map.get(1)).isEqualTo("one");
+    assertThat(map.get(11)).isEqualTo("eleven");
+    assertThat(map.get(-3)).isEqualTo("minus three");
+    assertThat(map.get(2)).isNull();
+
+    map.put(11, "ELEVEN");
+    assertThat(map.size()).isEqualTo(3);
+    assertThat(map.get(11)).isEqualTo("ELEVEN");
+
+    map.remove(1);
+    map.remove(2);
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.containsKey(1)).isFalse();
+
+    map.put(-3, null);
+    assertThat(map.size()).isEqualTo(1);
+    assertThat(map.containsKey(-3)).isFalse();
+  }
+
+  @Test
+  public void testMatchesHashMapAcrossResizesAndRemovals() {
+    Random random = new Random(42);
+    IntObjectMap<Integer> map = new IntObjectMap<>(1);
+    Map<Integer, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 50000; i++) {
+      int key = random.nextInt(2000) - 500;
+      if (random.nextBoolean()) {
+        map.put(key, i);
+        expected.put(key, i);
+      } else {
+        map.remove(key);
+        expected.remove(key);
+      }
+      assertThat(map.size()).isEqualTo(expected.size());
+    }
+    for (int key = -500; key < 1500; key++) {
+      assertThat(map.get(key)).isEqualTo(expected.get(key));
+    }
+  }
+}
@@ -430,6 +430,42 @@ public class UIManagerModuleTest {
     assertThat(newView.getHeight()).isEqualTo(40);
   }
 
+  @Test
+  public void testParallelLayoutAppliedToNodesOfEveryRoot() {
+    UIManagerModule uiManager = getUIManagerModule();
+    uiManager.getUIImplementation().setParallelRootLayoutEnabled(true);
+
+    ReactRootView[] rootViews = new ReactRootView[3];
+    for (int i = 0; i < rootViews.length; i++) {
+      rootViews[i] = new ReactRootView(mReactContext);
+      int rootTag = uiManager.addRootView(rootViews[i]);
+      int viewTag = 10000 + i;
+      uiManager.createView(
+          viewTag,
+          ReactViewManager.REACT_CLASS,
+          rootTag,
+          JavaOnlyMap.of(
+              "left", 10.0 * i,
+              "top", 20.0,
+              "width", 30.0 + i,
+              "height", 40.0,
+              "collapsable", false));
+      addChild(uiManager, rootTag, viewTag, 0);
+    }
+
+    uiManager.onBatchComplete();
+    executePendingFrameCallbacks();
+
+    for (int i = 0; i < rootViews.length; i++) {
+      View view = rootViews[i].getChildAt(0);
+      assertThat(view.getLeft()).isEqualTo(10 * i);
+      assertThat(view.getTop()).isEqualTo(20);
+      assertThat(view.getWidth()).isEqualTo(30 + i);
+      assertThat(view.getHeight()).isEqualTo(40);
+    }
+    uiManager.getUIImplementation().setParallelRootLayoutEnabled(false);
+  }
+
   /**
    * This is to make sure we execute enqueued operations in the order given by JS.
    */
@@ -540,6 +576,54 @@ public class UIManagerModuleTest {
     }
   }
 
+  private static ReactShadowNodeImpl createShadowNode(float height) {
+    ReactShadowNodeImpl node = new ReactShadowNodeImpl();
+    node.setStyleHeight(height);
+    return node;
+  }
+
+  private static void markLayoutSeenRecursively(ReactShadowNodeImpl node) {
+    node.markLayoutSeen();
+    for (int i = 0; i < node.getChildCount(); i++) {
+      markLayoutSeenRecursively(node.getChildAt(i));
+    }
+  }
+
+  @Test
+  public void testOnlyChangedFramesFlagged() {
+    ReactShadowNodeImpl root = createShadowNode(100);
+    root.setStyleWidth(100);
+    ReactShadowNodeImpl unchanged = createShadowNode(10);
+    ReactShadowNodeImpl resized = createShadowNode(10);
+    ReactShadowNodeImpl moved = createShadowNode(10);
+    ReactShadowNodeImpl movedChild = createShadowNode(5);
+    root.addChildAt(unchanged, 0);
+    root.addChildAt(resized, 1);
+    root.addChildAt(moved, 2);
+    moved.addChildAt(movedChild, 0);
+
+    root.calculateLayoutFlaggingChangedFrames();
+    assertThat(unchanged.hasNewLayout()).isTrue();
+    assertThat(movedChild.hasNewLayout()).isTrue();
+    markLayoutSeenRecursively(root);
+
+    resized.setStyleHeight(20);
+    root.calculateLayoutFlaggingChangedFrames();
+    assertThat(root.hasNewLayout()).isTrue();
+    assertThat(unchanged.hasNewLayout()).isFalse();
+    assertThat(resized.hasNewLayout()).isTrue();
+    assertThat(moved.hasNewLayout()).isTrue();
+    assertThat(moved.getLayoutY()).isEqualTo(30);
+    // Its frame relative to its parent didn't change, but it moved on screen with it
+    assertThat(movedChild.hasNewLayout()).isTrue();
+    markLayoutSeenRecursively(root);
+
+    // Without flagging only changed frames, every node visited by the layout gets flagged
+    resized.setStyleHeight(30);
+    root.calculateLayout();
+    assertThat(unchanged.hasNewLayout()).isTrue();
+  }
+
   @Test
   public void testAddAndRemoveAnimation() {
     UIManagerModule uiManagerModule = getUIManagerModule();
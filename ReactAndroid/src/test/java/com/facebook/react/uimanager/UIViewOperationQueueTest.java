@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.os.SystemClock;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.modules.core.ChoreographerCompat;
+import com.facebook.react.modules.core.ReactChoreographer;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Tests for the coalescing and the time sliced execution of operations done by
+ * {@link UIViewOperationQueue}.
+ */
+@PrepareForTest({ReactChoreographer.class})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class UIViewOperationQueueTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private ReactApplicationContext mReactContext;
+  private NativeViewHierarchyManager mNativeViewHierarchyManager;
+  private UIViewOperationQueue mUIViewOperationQueue;
+  private ChoreographerCompat.FrameCallback mDispatchUIFrameCallback;
+
+  @Before
+  public void setUp() {
+    PowerMockito.mockStatic(ReactChoreographer.class);
+    ReactChoreographer choreographerMock = mock(ReactChoreographer.class);
+    PowerMockito.when(ReactChoreographer.getInstance()).thenReturn(choreographerMock);
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        mDispatchUIFrameCallback = (ChoreographerCompat.FrameCallback) invocation.getArguments()[1];
+        return null;
+      }
+    }).when(choreographerMock).postFrameCallback(
+        eq(ReactChoreographer.CallbackType.DISPATCH_UI),
+        any(ChoreographerCompat.FrameCallback.class));
+
+    mReactContext = mock(ReactApplicationContext.class);
+    mNativeViewHierarchyManager = mock(NativeViewHierarchyManager.class);
+    mUIViewOperationQueue =
+        new UIViewOperationQueue(mReactContext, mNativeViewHierarchyManager, -1);
+    mUIViewOperationQueue.setCoalesceOperationsEnabled(true);
+  }
+
+  @Test
+  public void testUpdatesOfDeletedViewsAreDropped() {
+    mUIViewOperationQueue.enqueueUpdateProperties(2, "RCTView", createProps("opacity", 0.5));
+    mUIViewOperationQueue.enqueueUpdateLayout(1, 2, 0, 0, 10, 10);
+    mUIViewOperationQueue.enqueueManageChildren(1, new int[] {0}, null, new int[] {2});
+
+    dispatchViewUpdates();
+
+    verify(mNativeViewHierarchyManager, never())
+        .updateProperties(anyInt(), any(ReactStylesDiffMap.class));
+    verify(mNativeViewHierarchyManager, never()).updateLayout(any(int[].class), anyInt());
+    verify(mNativeViewHierarchyManager)
+        .manageChildren(eq(1), any(int[].class), any(ViewAtIndex[].class), any(int[].class));
+    assertThat(getLastBatchElidedOperationCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testUpdatesOfDeletedViewsAreKeptWhenLayoutIsAnimated() {
+    mUIViewOperationQueue.enqueueConfigureLayoutAnimation(
+        new JavaOnlyMap(),
+        mock(Callback.class),
+        mock(Callback.class));
+    mUIViewOperationQueue.enqueueUpdateProperties(2, "RCTView", createProps("opacity", 0.5));
+    mUIViewOperationQueue.enqueueUpdateLayout(1, 2, 0, 0, 10, 10);
+    mUIViewOperationQueue.enqueueManageChildren(1, new int[] {0}, null, new int[] {2});
+
+    dispatchViewUpdates();
+
+    verify(mNativeViewHierarchyManager).updateProperties(eq(2), any(ReactStylesDiffMap.class));
+    verify(mNativeViewHierarchyManager).updateLayout(any(int[].class), eq(1));
+    assertThat(getLastBatchElidedOperationCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSupersededLayoutUpdatesAreDropped() {
+    mUIViewOperationQueue.enqueueUpdateLayout(1, 2, 0, 0, 10, 10);
+    mUIViewOperationQueue.enqueueUpdateLayout(1, 3, 0, 10, 10, 10);
+    mUIViewOperationQueue.enqueueUpdateProperties(3, "RCTView", createProps("opacity", 0.5));
+    mUIViewOperationQueue.enqueueUpdateLayout(1, 2, 5, 5, 20, 20);
+
+    dispatchViewUpdates();
+
+    ArgumentCaptor<int[]> records = ArgumentCaptor.forClass(int[].class);
+    verify(mNativeViewHierarchyManager, times(2)).updateLayout(records.capture(), eq(1));
+    List<int[]> layoutRecords = records.getAllValues();
+    assertThat(getLayoutRecord(layoutRecords.get(0), 0)).isEqualTo(new int[] {1, 3, 0, 10, 10, 10});
+    assertThat(getLayoutRecord(layoutRecords.get(1), 0)).isEqualTo(new int[] {1, 2, 5, 5, 20, 20});
+    assertThat(getLastBatchElidedOperationCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testConsecutivePropertyUpdatesOfAViewAreMerged() {
+    ReactStylesDiffMap firstProps =
+        new ReactStylesDiffMap(JavaOnlyMap.of("opacity", 0.5, "borderWidth", 1.0));
+    mUIViewOperationQueue.enqueueUpdateProperties(2, "RCTView", firstProps);
+    mUIViewOperationQueue.enqueueUpdateProperties(3, "RCTView", createProps("opacity", 1.0));
+    mUIViewOperationQueue.enqueueUpdateProperties(2, "RCTView", createProps("opacity", 0.7));
+
+    dispatchViewUpdates();
+
+    ArgumentCaptor<ReactStylesDiffMap> props = ArgumentCaptor.forClass(ReactStylesDiffMap.class);
+    InOrder inOrder = inOrder(mNativeViewHierarchyManager);
+    inOrder.verify(mNativeViewHierarchyManager).updateProperties(eq(2), props.capture());
+    inOrder.verify(mNativeViewHierarchyManager)
+        .updateProperties(eq(3), any(ReactStylesDiffMap.class));
+    verify(mNativeViewHierarchyManager, times(2))
+        .updateProperties(anyInt(), any(ReactStylesDiffMap.class));
+
+    ReadableMap mergedProps = props.getValue().mBackingMap;
+    assertThat(mergedProps.getDouble("opacity")).isEqualTo(0.7);
+    assertThat(mergedProps.getDouble("borderWidth")).isEqualTo(1.0);
+    // The props passed by the caller are left untouched
+    assertThat(firstProps.mBackingMap.getDouble("opacity")).isEqualTo(0.5);
+    assertThat(getLastBatchElidedOperationCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testNothingIsCoalescedAcrossOtherOperations() {
+    mUIViewOperationQueue.enqueueUpdateProperties(2, "RCTView", createProps("opacity", 0.5));
+    mUIViewOperationQueue.enqueueUpdateProperties(3, "RCTView", createProps("opacity", 0.5));
+    mUIViewOperationQueue.enqueueUpdateLayout(1, 3, 0, 0, 10, 10);
+    mUIViewOperationQueue.enqueueUIBlock(mock(UIBlock.class));
+    mUIViewOperationQueue.enqueueUpdateProperties(2, "RCTView", createProps("opacity", 0.7));
+    mUIViewOperationQueue.enqueueUpdateLayout(1, 3, 5, 5, 20, 20);
+    mUIViewOperationQueue.enqueueManageChildren(1, new int[] {0}, null, new int[] {3});
+
+    dispatchViewUpdates();
+
+    verify(mNativeViewHierarchyManager, times(2))
+        .updateProperties(eq(2), any(ReactStylesDiffMap.class));
+    verify(mNativeViewHierarchyManager).updateProperties(eq(3), any(ReactStylesDiffMap.class));
+    ArgumentCaptor<int[]> records = ArgumentCaptor.forClass(int[].class);
+    verify(mNativeViewHierarchyManager).updateLayout(records.capture(), eq(1));
+    assertThat(getLayoutRecord(records.getValue(), 0)).isEqualTo(new int[] {1, 3, 0, 0, 10, 10});
+    // Only the layout update that follows the UIBlock is dropped along with the deleted view
+    assertThat(getLastBatchElidedOperationCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testOnlyViewsCreatedByPendingBatchesAreUpdatedAhead() {
+    mUIViewOperationQueue.setTimeSlicedExecutionEnabled(true);
+    mUIViewOperationQueue.resumeFrameCallback();
+    mUIViewOperationQueue.enqueueCreateView(
+        mock(ThemedReactContext.class), 2, "RCTView", null);
+    mUIViewOperationQueue.enqueueUpdateProperties(2, "RCTView", createProps("opacity", 0.5));
+    // View 3 isn't attached to a window either, but e.g. a clipped subview may be re-attached
+    mUIViewOperationQueue.enqueueUpdateProperties(3, "RCTView", createProps("opacity", 0.5));
+    mUIViewOperationQueue.dispatchViewUpdates(1, 0, 0);
+
+    runLateFrame();
+
+    verify(mNativeViewHierarchyManager).createView(
+        any(ThemedReactContext.class), eq(2), eq("RCTView"), any(ReactStylesDiffMap.class));
+    // The new view is updated in a later frame...
+    verify(mNativeViewHierarchyManager, never())
+        .updateProperties(anyInt(), any(ReactStylesDiffMap.class));
+
+    runLateFrame();
+
+    // ...but the pre-existing one can't be deferred any further
+    verify(mNativeViewHierarchyManager).updateProperties(eq(2), any(ReactStylesDiffMap.class));
+    verify(mNativeViewHierarchyManager).updateProperties(eq(3), any(ReactStylesDiffMap.class));
+  }
+
+  @Test
+  public void testProfiledBatchCoversAllSlices() {
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        SystemClock.sleep(20);
+        return null;
+      }
+    }).when(mNativeViewHierarchyManager).createView(
+        any(ThemedReactContext.class), anyInt(), anyString(), any(ReactStylesDiffMap.class));
+    mUIViewOperationQueue.setTimeSlicedExecutionEnabled(true);
+    mUIViewOperationQueue.resumeFrameCallback();
+    mUIViewOperationQueue.profileNextBatch();
+    mUIViewOperationQueue.enqueueCreateView(
+        mock(ThemedReactContext.class), 2, "RCTView", null);
+    mUIViewOperationQueue.enqueueUpdateProperties(2, "RCTView", createProps("opacity", 0.5));
+    mUIViewOperationQueue.dispatchViewUpdates(1, 0, 0);
+
+    runLateFrame();
+
+    // The batch has been deferred after creating the view
+    verify(mNativeViewHierarchyManager, never())
+        .updateProperties(anyInt(), any(ReactStylesDiffMap.class));
+
+    runLateFrame();
+
+    verify(mNativeViewHierarchyManager).updateProperties(eq(2), any(ReactStylesDiffMap.class));
+    assertThat(mUIViewOperationQueue.getProfiledBatchPerfCounters().get("BatchedExecutionTime"))
+        .isEqualTo(20);
+  }
+
+  /**
+   * Runs the dispatch frame callback for a frame whose deadline has already passed, so that a
+   * single operation that can be executed ahead runs before the rest of the batch is deferred.
+   */
+  private void runLateFrame() {
+    ChoreographerCompat.FrameCallback frameCallback = mDispatchUIFrameCallback;
+    assertThat(frameCallback).isNotNull();
+    mDispatchUIFrameCallback = null;
+    frameCallback.doFrame(0);
+    verify(mReactContext, never()).handleException(any(RuntimeException.class));
+  }
+
+  private void dispatchViewUpdates() {
+    mUIViewOperationQueue.dispatchViewUpdates(1, 0, 0);
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    verify(mReactContext, never()).handleException(any(RuntimeException.class));
+  }
+
+  private long getLastBatchElidedOperationCount() {
+    return mUIViewOperationQueue.getProfiledBatchPerfCounters().get("LastBatchElidedOperations");
+  }
+
+  private static ReactStylesDiffMap createProps(String name, double value) {
+    return new ReactStylesDiffMap(JavaOnlyMap.of(name, value));
+  }
+
+  private static int[] getLayoutRecord(int[] layoutRecords, int index) {
+    int[] record = new int[NativeViewHierarchyManager.LAYOUT_RECORD_SIZE];
+    System.arraycopy(layoutRecords, index * record.length, record, 0, record.length);
+    return record;
+  }
+}
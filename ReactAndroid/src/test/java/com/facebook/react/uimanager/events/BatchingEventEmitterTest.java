@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Tests for {@link BatchingEventEmitter}
+ */
+@PrepareForTest({Arguments.class})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class BatchingEventEmitterTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  @Before
+  public void setUp() {
+    PowerMockito.mockStatic(Arguments.class);
+    PowerMockito.when(Arguments.createArray()).thenAnswer(new Answer<Object>() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        return new JavaOnlyArray();
+      }
+    });
+  }
+
+  @Test
+  public void testEventsAreRecordedInDispatchOrder() {
+    BatchingEventEmitter batchingEventEmitter = new BatchingEventEmitter();
+    JavaOnlyMap event = JavaOnlyMap.of("value", 1);
+    JavaOnlyArray touches = JavaOnlyArray.of(JavaOnlyMap.of("identifier", 0));
+    JavaOnlyArray changedIndices = JavaOnlyArray.of(0);
+
+    batchingEventEmitter.receiveEvent(1, "topChange", event);
+    batchingEventEmitter.receiveTouches("topTouchStart", touches, changedIndices);
+    batchingEventEmitter.receiveEvent(2, "topLayout", null);
+    assertThat(batchingEventEmitter.getEventCount()).isEqualTo(3);
+
+    RCTBatchedEventEmitter eventEmitter = mock(RCTBatchedEventEmitter.class);
+    batchingEventEmitter.flush(eventEmitter);
+
+    ArgumentCaptor<WritableArray> events = ArgumentCaptor.forClass(WritableArray.class);
+    verify(eventEmitter).receiveEvents(events.capture());
+    assertThat(events.getValue().size()).isEqualTo(3);
+
+    ReadableArray receiveEvent = events.getValue().getArray(0);
+    assertThat(receiveEvent.size()).isEqualTo(4);
+    assertThat(receiveEvent.getInt(0)).isEqualTo(BatchingEventEmitter.RECEIVE_EVENT);
+    assertThat(receiveEvent.getInt(1)).isEqualTo(1);
+    assertThat(receiveEvent.getString(2)).isEqualTo("topChange");
+    assertThat(receiveEvent.getMap(3)).isSameAs(event);
+
+    ReadableArray receiveTouches = events.getValue().getArray(1);
+    assertThat(receiveTouches.size()).isEqualTo(4);
+    assertThat(receiveTouches.getInt(0)).isEqualTo(BatchingEventEmitter.RECEIVE_TOUCHES);
+    assertThat(receiveTouches.getString(1)).isEqualTo("topTouchStart");
+    assertThat(receiveTouches.getArray(2)).isSameAs(touches);
+    assertThat(receiveTouches.getArray(3)).isSameAs(changedIndices);
+
+    ReadableArray eventWithoutPayload = events.getValue().getArray(2);
+    assertThat(eventWithoutPayload.getInt(0)).isEqualTo(BatchingEventEmitter.RECEIVE_EVENT);
+    assertThat(eventWithoutPayload.getInt(1)).isEqualTo(2);
+    assertThat(eventWithoutPayload.isNull(3)).isTrue();
+  }
+
+  @Test
+  public void testFlushStartsANewBatch() {
+    BatchingEventEmitter batchingEventEmitter = new BatchingEventEmitter();
+    RCTBatchedEventEmitter eventEmitter = mock(RCTBatchedEventEmitter.class);
+
+    batchingEventEmitter.receiveEvent(1, "topChange", null);
+    batchingEventEmitter.flush(eventEmitter);
+    assertThat(batchingEventEmitter.getEventCount()).isEqualTo(0);
+
+    batchingEventEmitter.receiveEvent(2, "topChange", null);
+    batchingEventEmitter.flush(eventEmitter);
+
+    ArgumentCaptor<WritableArray> events = ArgumentCaptor.forClass(WritableArray.class);
+    verify(eventEmitter, times(2)).receiveEvents(events.capture());
+    assertThat(events.getAllValues().get(0)).isNotSameAs(events.getAllValues().get(1));
+    assertThat(events.getAllValues().get(1).size()).isEqualTo(1);
+    assertThat(events.getAllValues().get(1).getArray(0).getInt(1)).isEqualTo(2);
+  }
+
+  @Test
+  public void testFlushWithoutEventsDoesNotCallJS() {
+    RCTBatchedEventEmitter eventEmitter = mock(RCTBatchedEventEmitter.class);
+
+    new BatchingEventEmitter().flush(eventEmitter);
+
+    verify(eventEmitter, never()).receiveEvents(any(WritableArray.class));
+  }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link EventStagingRingBuffer}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class EventStagingRingBufferTest {
+
+  private static class TestEvent extends Event<TestEvent> {
+
+    private TestEvent(int viewTag) {
+      super(viewTag);
+    }
+
+    @Override
+    public String getEventName() {
+      return "topTest";
+    }
+
+    @Override
+    public void dispatch(RCTEventEmitter rctEventEmitter) {
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonPowerOfTwoCapacity() {
+    new EventStagingRingBuffer(6);
+  }
+
+  @Test
+  public void testPollsInOfferOrder() {
+    EventStagingRingBuffer buffer = new EventStagingRingBuffer(4);
+    assertThat(buffer.poll()).isNull();
+
+    for (int round = 0; round < 3; round++) {
+      TestEvent first = new TestEvent(1);
+      TestEvent second = new TestEvent(2);
+      buffer.offer(first);
+      buffer.offer(second);
+      assertThat(buffer.poll()).isSameAs(first);
+      assertThat(buffer.poll()).isSameAs(second);
+      assertThat(buffer.poll()).isNull();
+    }
+  }
+
+  @Test
+  public void testSpillsWhenFull() {
+    EventStagingRingBuffer buffer = new EventStagingRingBuffer(2);
+    Set<Event> offered = new HashSet<>();
+    for (int i = 0; i < 5; i++) {
+      TestEvent event = new TestEvent(i);
+      offered.add(event);
+      buffer.offer(event);
+    }
+
+    Set<Event> polled = new HashSet<>();
+    Event event;
+    while ((event = buffer.poll()) != null) {
+      polled.add(event);
+    }
+    assertThat(polled).isEqualTo(offered);
+  }
+
+  @Test
+  public void testKeepsOfferOrderAcrossSpills() {
+    EventStagingRingBuffer buffer = new EventStagingRingBuffer(2);
+    List<Event> offered = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      TestEvent event = new TestEvent(i);
+      offered.add(event);
+      buffer.offer(event);
+    }
+
+    // Frees a slot of the ring while older events are still spilled
+    List<Event> polled = new ArrayList<>();
+    polled.add(buffer.poll());
+    for (int i = 4; i < 6; i++) {
+      TestEvent event = new TestEvent(i);
+      offered.add(event);
+      buffer.offer(event);
+    }
+
+    Event event;
+    while ((event = buffer.poll()) != null) {
+      polled.add(event);
+    }
+    assertThat(polled).isEqualTo(offered);
+  }
+
+  @Test
+  public void testConcurrentProducers() throws Exception {
+    final int producerCount = 4;
+    final int eventsPerProducer = 1000;
+    final EventStagingRingBuffer buffer = new EventStagingRingBuffer(64);
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(producerCount);
+
+    for (int producer = 0; producer < producerCount; producer++) {
+      final int firstTag = producer * eventsPerProducer;
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+          for (int i = 0; i < eventsPerProducer; i++) {
+            buffer.offer(new TestEvent(firstTag + i));
+          }
+          done.countDown();
+        }
+      }).start();
+    }
+
+    Set<Integer> polledTags = new HashSet<>();
+    int[] lastTags = new int[producerCount];
+    Arrays.fill(lastTags, -1);
+    start.countDown();
+    while (done.getCount() > 0 || polledTags.size() < producerCount * eventsPerProducer) {
+      Event event = buffer.poll();
+      if (event != null) {
+        int tag = event.getViewTag();
+        assertThat(polledTags.add(tag)).isTrue();
+        // Events of each producer are polled in the order they were offered
+        int producer = tag / eventsPerProducer;
+        assertThat(tag).isGreaterThan(lastTags[producer]);
+        lastTags[producer] = tag;
+      }
+    }
+    assertThat(buffer.poll()).isNull();
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import android.graphics.Color;
+import android.text.Spannable;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.style.AbsoluteSizeSpan;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.RelativeSizeSpan;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Tests for {@link TextMeasureCache}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TextMeasureCacheTest {
+
+  @Before
+  public void setUp() {
+    TextMeasureCache.clear();
+  }
+
+  private static Spannable createText(String text, int fontSize) {
+    Spannable spannable = new SpannableString(text);
+    spannable.setSpan(
+        new AbsoluteSizeSpan(fontSize),
+        0,
+        text.length(),
+        Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+    return spannable;
+  }
+
+  private static String getContentKey(Spanned text) {
+    return TextMeasureCache.getContentKey(text, ReactBaseTextShadowNode.UNSET, true, 0);
+  }
+
+  @Test
+  public void testEqualTextsHaveEqualKeys() {
+    assertThat(getContentKey(createText("Hello", 14)))
+        .isEqualTo(getContentKey(createText("Hello", 14)));
+    assertThat(getContentKey(createText("Hello", 14)))
+        .isNotEqualTo(getContentKey(createText("Hello", 16)));
+    assertThat(getContentKey(createText("Hello", 14)))
+        .isNotEqualTo(getContentKey(createText("Hullo", 14)));
+    assertThat(TextMeasureCache.getContentKey(createText("Hello", 14), 1, true, 0))
+        .isNotEqualTo(getContentKey(createText("Hello", 14)));
+  }
+
+  @Test
+  public void testSpansThatDontAffectMetricsAreIgnored() {
+    Spannable colored = createText("Hello", 14);
+    colored.setSpan(new ForegroundColorSpan(Color.RED), 0, 2, Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+    assertThat(getContentKey(colored)).isEqualTo(getContentKey(createText("Hello", 14)));
+  }
+
+  @Test
+  public void testTextsWithUnknownMetricSpansAreNotCached() {
+    Spannable text = createText("Hello", 14);
+    text.setSpan(new RelativeSizeSpan(2), 0, 2, Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+    assertThat(getContentKey(text)).isNull();
+  }
+
+  @Test
+  public void testOutputsAreCachedPerWidth() {
+    String contentKey = getContentKey(createText("Hello", 14));
+    TextMeasureCache.put(contentKey, 100, 1L);
+    TextMeasureCache.put(contentKey, Float.NaN, 2L);
+
+    assertThat(TextMeasureCache.get(getContentKey(createText("Hello", 14)), 100)).isEqualTo(1L);
+    assertThat(TextMeasureCache.get(contentKey, Float.NaN)).isEqualTo(2L);
+    assertThat(TextMeasureCache.get(contentKey, 50)).isNull();
+  }
+}
@@ -123,7 +123,7 @@ public:
       const static auto ps = getpagesize();
       auto d  = lldiv(offset, ps);
 
-      m_mapOff  = d.quot;
+      m_mapOff  = d.quot * ps;
       m_pageOff = d.rem;
       m_size    = size + m_pageOff;
     } else {
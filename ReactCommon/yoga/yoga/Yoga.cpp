@@ -9,6 +9,7 @@
 #include <float.h>
 #include <string.h>
 #include <algorithm>
+#include <atomic>
 #include "Utils.h"
 #include "YGNode.h"
 #include "YGNodePrint.h"
@@ -953,7 +954,10 @@ bool YGNodeLayoutGetDidLegacyStretchFlagAffectLayout(const YGNodeRef node) {
   return node->getLayout().doesLegacyStretchFlagAffectsLayout;
 }
 
-uint32_t gCurrentGenerationCount = 0;
+// Layouts of separate trees may be calculated on different threads at the
+// same time. Every layout pass takes a generation that is unique across
+// threads, and passes it down the recursion along with the depth of the node.
+static std::atomic<uint32_t> gGenerationCount(0);
 
 bool YGLayoutNodeInternal(const YGNodeRef node,
                           const float availableWidth,
@@ -965,7 +969,9 @@ bool YGLayoutNodeInternal(const YGNodeRef node,
                           const float ownerHeight,
                           const bool performLayout,
                           const char *reason,
-                          const YGConfigRef config);
+                          const YGConfigRef config,
+                          const uint32_t depth,
+                          const uint32_t generationCount);
 
 static void YGNodePrintInternal(const YGNodeRef node,
                                 const YGPrintOptions options) {
@@ -1187,7 +1193,9 @@ static void YGNodeComputeFlexBasisForChild(const YGNodeRef node,
                                            const float ownerHeight,
                                            const YGMeasureMode heightMode,
                                            const YGDirection direction,
-                                           const YGConfigRef config) {
+                                           const YGConfigRef config,
+                                           const uint32_t depth,
+                                           const uint32_t generationCount) {
   const YGFlexDirection mainAxis =
       YGResolveFlexDirection(node->getStyle().flexDirection, direction);
   const bool isMainAxisRow = YGFlexDirectionIsRow(mainAxis);
@@ -1210,7 +1218,7 @@ static void YGNodeComputeFlexBasisForChild(const YGNodeRef node,
         (YGConfigIsExperimentalFeatureEnabled(
              child->getConfig(), YGExperimentalFeatureWebFlexBasis) &&
          child->getLayout().computedFlexBasisGeneration !=
-             gCurrentGenerationCount)) {
+             generationCount)) {
       child->setLayoutComputedFlexBasis(YGFloatMax(
           resolvedFlexBasis,
           YGNodePaddingAndBorderForAxis(child, mainAxis, ownerWidth)));
@@ -1336,13 +1344,15 @@ static void YGNodeComputeFlexBasisForChild(const YGNodeRef node,
                          ownerHeight,
                          false,
                          "measure",
-                         config);
+                         config,
+                         depth + 1,
+                         generationCount);
 
     child->setLayoutComputedFlexBasis(YGFloatMax(
         child->getLayout().measuredDimensions[dim[mainAxis]],
         YGNodePaddingAndBorderForAxis(child, mainAxis, ownerWidth)));
   }
-  child->setLayoutComputedFlexBasisGeneration(gCurrentGenerationCount);
+  child->setLayoutComputedFlexBasisGeneration(generationCount);
 }
 
 static void YGNodeAbsoluteLayoutChild(const YGNodeRef node,
@@ -1351,7 +1361,9 @@ static void YGNodeAbsoluteLayoutChild(const YGNodeRef node,
                                       const YGMeasureMode widthMode,
                                       const float height,
                                       const YGDirection direction,
-                                      const YGConfigRef config) {
+                                      const YGConfigRef config,
+                                      const uint32_t depth,
+                                      const uint32_t generationCount) {
   const YGFlexDirection mainAxis =
       YGResolveFlexDirection(node->getStyle().flexDirection, direction);
   const YGFlexDirection crossAxis = YGFlexDirectionCross(mainAxis, direction);
@@ -1445,7 +1457,9 @@ static void YGNodeAbsoluteLayoutChild(const YGNodeRef node,
                          childHeight,
                          false,
                          "abs-measure",
-                         config);
+                         config,
+                         depth + 1,
+                         generationCount);
     childWidth = child->getLayout().measuredDimensions[YGDimensionWidth] +
         child->getMarginForAxis(YGFlexDirectionRow, width);
     childHeight = child->getLayout().measuredDimensions[YGDimensionHeight] +
@@ -1462,7 +1476,9 @@ static void YGNodeAbsoluteLayoutChild(const YGNodeRef node,
                        childHeight,
                        true,
                        "abs-layout",
-                       config);
+                       config,
+                       depth + 1,
+                       generationCount);
 
   if (child->isTrailingPosDefined(mainAxis) &&
       !child->isLeadingPositionDefined(mainAxis)) {
@@ -1751,7 +1767,9 @@ static void YGNodeComputeFlexBasisForChildren(
     YGFlexDirection mainAxis,
     const YGConfigRef config,
     bool performLayout,
-    float& totalOuterFlexBasis) {
+    float& totalOuterFlexBasis,
+    const uint32_t depth,
+    const uint32_t generationCount) {
   YGNodeRef singleFlexChild = nullptr;
   YGVector children = node->getChildren();
   YGMeasureMode measureModeMainDim =
@@ -1800,7 +1818,7 @@ static void YGNodeComputeFlexBasisForChildren(
       continue;
     }
     if (child == singleFlexChild) {
-      child->setLayoutComputedFlexBasisGeneration(gCurrentGenerationCount);
+      child->setLayoutComputedFlexBasisGeneration(generationCount);
       child->setLayoutComputedFlexBasis(0);
     } else {
       YGNodeComputeFlexBasisForChild(
@@ -1813,7 +1831,9 @@ static void YGNodeComputeFlexBasisForChildren(
           availableInnerHeight,
           heightMeasureMode,
           direction,
-          config);
+          config,
+          depth,
+          generationCount);
     }
 
     totalOuterFlexBasis += child->getLayout().computedFlexBasis +
@@ -1920,7 +1940,9 @@ static float YGDistributeFreeSpaceSecondPass(
     const bool flexBasisOverflows,
     const YGMeasureMode measureModeCrossDim,
     const bool performLayout,
-    const YGConfigRef config) {
+    const YGConfigRef config,
+    const uint32_t depth,
+    const uint32_t generationCount) {
   float childFlexBasis = 0;
   float flexShrinkScaledFactor = 0;
   float flexGrowFactor = 0;
@@ -2080,7 +2102,9 @@ static float YGDistributeFreeSpaceSecondPass(
         availableInnerHeight,
         performLayout && !requiresStretchLayout,
         "flex",
-        config);
+        config,
+        depth + 1,
+        generationCount);
     node->setLayoutHadOverflow(
         node->getLayout().hadOverflow |
         currentRelativeChild->getLayout().hadOverflow);
@@ -2214,7 +2238,9 @@ static void YGResolveFlexibleLength(
     const bool flexBasisOverflows,
     const YGMeasureMode measureModeCrossDim,
     const bool performLayout,
-    const YGConfigRef config) {
+    const YGConfigRef config,
+    const uint32_t depth,
+    const uint32_t generationCount) {
   const float originalFreeSpace = collectedFlexItemsValues.remainingFreeSpace;
   // First pass: detect the flex items whose min/max constraints trigger
   YGDistributeFreeSpaceFirstPass(
@@ -2238,7 +2264,9 @@ static void YGResolveFlexibleLength(
       flexBasisOverflows,
       measureModeCrossDim,
       performLayout,
-      config);
+      config,
+      depth,
+      generationCount);
 
   collectedFlexItemsValues.remainingFreeSpace =
       originalFreeSpace - distributedFreeSpace;
@@ -2514,7 +2542,9 @@ static void YGNodelayoutImpl(const YGNodeRef node,
                              const float ownerWidth,
                              const float ownerHeight,
                              const bool performLayout,
-                             const YGConfigRef config) {
+                             const YGConfigRef config,
+                             const uint32_t depth,
+                             const uint32_t generationCount) {
   YGAssertWithNode(node,
                    YGFloatIsUndefined(availableWidth) ? widthMeasureMode == YGMeasureModeUndefined
                                                       : true,
@@ -2670,7 +2700,9 @@ static void YGNodelayoutImpl(const YGNodeRef node,
       mainAxis,
       config,
       performLayout,
-      totalOuterFlexBasis);
+      totalOuterFlexBasis,
+      depth,
+      generationCount);
 
   const bool flexBasisOverflows = measureModeMainDim == YGMeasureModeUndefined
       ? false
@@ -2775,7 +2807,9 @@ static void YGNodelayoutImpl(const YGNodeRef node,
           flexBasisOverflows,
           measureModeCrossDim,
           performLayout,
-          config);
+          config,
+          depth,
+          generationCount);
     }
 
     node->setLayoutHadOverflow(
@@ -2931,7 +2965,9 @@ static void YGNodelayoutImpl(const YGNodeRef node,
                   availableInnerHeight,
                   true,
                   "stretch",
-                  config);
+                  config,
+                  depth + 1,
+                  generationCount);
             }
           } else {
             const float remainingCrossDim = containerCrossAxis -
@@ -3127,7 +3163,9 @@ static void YGNodelayoutImpl(const YGNodeRef node,
                                          availableInnerHeight,
                                          true,
                                          "multiline-stretch",
-                                         config);
+                                         config,
+                                         depth + 1,
+                                         generationCount);
                   }
                 }
                 break;
@@ -3257,7 +3295,9 @@ static void YGNodelayoutImpl(const YGNodeRef node,
           isMainAxisRow ? measureModeMainDim : measureModeCrossDim,
           availableInnerHeight,
           direction,
-          config);
+          config,
+          depth,
+          generationCount);
     }
 
     // STEP 11: SETTING TRAILING POSITIONS FOR CHILDREN
@@ -3285,7 +3325,6 @@ static void YGNodelayoutImpl(const YGNodeRef node,
   }
 }
 
-uint32_t gDepth = 0;
 bool gPrintTree = false;
 bool gPrintChanges = false;
 bool gPrintSkips = false;
@@ -3453,13 +3492,14 @@ bool YGLayoutNodeInternal(const YGNodeRef node,
                           const float ownerHeight,
                           const bool performLayout,
                           const char *reason,
-                          const YGConfigRef config) {
+                          const YGConfigRef config,
+                          const uint32_t depth,
+                          const uint32_t generationCount) {
   YGLayout* layout = &node->getLayout();
 
-  gDepth++;
 
   const bool needToVisitNode =
-      (node->isDirty() && layout->generationCount != gCurrentGenerationCount) ||
+      (node->isDirty() && layout->generationCount != generationCount) ||
       layout->lastOwnerDirection != ownerDirection;
 
   if (needToVisitNode) {
@@ -3551,7 +3591,7 @@ bool YGLayoutNodeInternal(const YGNodeRef node,
     layout->measuredDimensions[YGDimensionHeight] = cachedResults->computedHeight;
 
     if (gPrintChanges && gPrintSkips) {
-      YGLog(node, YGLogLevelVerbose, "%s%d.{[skipped] ", YGSpacer(gDepth), gDepth);
+      YGLog(node, YGLogLevelVerbose, "%s%d.{[skipped] ", YGSpacer(depth), depth);
       if (node->getPrintFunc() != nullptr) {
         node->getPrintFunc()(node);
       }
@@ -3573,8 +3613,8 @@ bool YGLayoutNodeInternal(const YGNodeRef node,
           node,
           YGLogLevelVerbose,
           "%s%d.{%s",
-          YGSpacer(gDepth),
-          gDepth,
+          YGSpacer(depth),
+          depth,
           needToVisitNode ? "*" : "");
       if (node->getPrintFunc() != nullptr) {
         node->getPrintFunc()(node);
@@ -3599,15 +3639,17 @@ bool YGLayoutNodeInternal(const YGNodeRef node,
                      ownerWidth,
                      ownerHeight,
                      performLayout,
-                     config);
+                     config,
+                     depth,
+                     generationCount);
 
     if (gPrintChanges) {
       YGLog(
           node,
           YGLogLevelVerbose,
           "%s%d.}%s",
-          YGSpacer(gDepth),
-          gDepth,
+          YGSpacer(depth),
+          depth,
           needToVisitNode ? "*" : "");
       if (node->getPrintFunc() != nullptr) {
         node->getPrintFunc()(node);
@@ -3664,8 +3706,7 @@ bool YGLayoutNodeInternal(const YGNodeRef node,
     node->setDirty(false);
   }
 
-  gDepth--;
-  layout->generationCount = gCurrentGenerationCount;
+  layout->generationCount = generationCount;
   return (needToVisitNode || cachedResults == nullptr);
 }
 
@@ -3761,7 +3802,7 @@ void YGNodeCalculateLayout(
   // all dirty nodes at least once. Subsequent visits will be skipped if the
   // input
   // parameters don't change.
-  gCurrentGenerationCount++;
+  uint32_t generationCount = ++gGenerationCount;
   node->resolveDimension();
   float width = YGUndefined;
   YGMeasureMode widthMeasureMode = YGMeasureModeUndefined;
@@ -3813,7 +3854,9 @@ void YGNodeCalculateLayout(
           ownerHeight,
           true,
           "initial",
-          node->getConfig())) {
+          node->getConfig(),
+          0,
+          generationCount)) {
     node->setPosition(
         node->getLayout().direction, ownerWidth, ownerHeight, ownerWidth);
     YGRoundToPixelGrid(node, node->getConfig()->pointScaleFactor, 0.0f, 0.0f);
@@ -3840,7 +3883,7 @@ void YGNodeCalculateLayout(
     originalNode->resolveDimension();
     // Recursively mark nodes as dirty
     originalNode->markDirtyAndPropogateDownwards();
-    gCurrentGenerationCount++;
+    generationCount = ++gGenerationCount;
     // Rerun the layout, and calculate the diff
     originalNode->setAndPropogateUseLegacyFlag(false);
     if (YGLayoutNodeInternal(
@@ -3854,7 +3897,9 @@ void YGNodeCalculateLayout(
             ownerHeight,
             true,
             "initial",
-            originalNode->getConfig())) {
+            originalNode->getConfig(),
+            0,
+            generationCount)) {
       originalNode->setPosition(
           originalNode->getLayout().direction,
           ownerWidth,